@@ -0,0 +1,31 @@
+package lighthouse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lighthouse.breakout.BreakoutGame;
+import lighthouse.gameapi.Game;
+import lighthouse.puzzle.PuzzleGame;
+import lighthouse.snake.SnakeGame;
+import lighthouse.spaceinvaders.SpaceInvadersGame;
+
+/**
+ * The registry of games shared by the entry points.
+ */
+public final class Games {
+	private Games() {}
+	
+	/** Creates (uninitialized) instances of all games in menu order. */
+	public static List<Game> all() {
+		return Arrays.asList(new PuzzleGame(), new SnakeGame(), new BreakoutGame(), new SpaceInvadersGame());
+	}
+	
+	/** Creates (uninitialized) instances of the games that can run without a display. */
+	public static List<Game> headless() {
+		// Games with a custom view controller (i.e. the puzzle) are played through Swing, thus they require a display
+		return all().stream()
+			.filter(game -> !game.hasCustomGameViewController())
+			.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,103 @@
+package lighthouse;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lighthouse.gameapi.Game;
+import lighthouse.gameapi.GameInitializationContext;
+import lighthouse.gameapi.GameLoop;
+import lighthouse.gameapi.SceneInteractionFacade;
+import lighthouse.ui.AppContext;
+import lighthouse.ui.scene.SceneInteractionBackend;
+import lighthouse.ui.scene.SceneViewController;
+import lighthouse.ui.scene.input.SceneLighthouseInput;
+import lighthouse.ui.scene.view.RemoteLighthouseView;
+import lighthouse.ui.scene.view.lighthouseapi.LighthouseDisplayGroup;
+import lighthouse.util.ConfigFile;
+import lighthouse.util.ResourceConfigFile;
+import lighthouse.util.SLF4JExceptionHandler;
+
+/**
+ * An entry point for kiosk/server deployments that
+ * runs a game on the Lighthouse without a display.
+ * No window or look and feel is set up, the credentials
+ * are read from {@code authentication.txt} and input is
+ * only received from the Lighthouse's input stream.
+ *
+ * <p>Usage: {@code HeadlessMain [game]}, where the game
+ * defaults to Snake.</p>
+ */
+public class HeadlessMain {
+	private static final Logger LOG = LoggerFactory.getLogger(HeadlessMain.class);
+	private static final String DEFAULT_GAME = "Snake";
+
+	public static void main(String[] args) throws InterruptedException {
+		long startTime = System.currentTimeMillis();
+		// Has to be set before AWT is initialized
+		System.setProperty("java.awt.headless", "true");
+		Thread.setDefaultUncaughtExceptionHandler(new SLF4JExceptionHandler());
+
+		ConfigFile auth = new ResourceConfigFile("/authentication.txt");
+		if (!auth.has("username") || !auth.has("token")) {
+			LOG.error("Authentication did not contain 'username' and/or 'token'");
+			System.exit(1);
+		}
+
+		List<Game> games = Games.headless();
+		String gameName = (args.length > 0) ? args[0] : DEFAULT_GAME;
+		Game game = games.stream()
+			.filter(it -> normalize(it.getName()).equals(normalize(gameName)))
+			.findAny()
+			.orElse(null);
+
+		if (game == null) {
+			LOG.error("Unknown game '{}', available games: {}", gameName, games.stream().map(Game::getName).toArray());
+			System.exit(1);
+		}
+
+		// Setup the scene without a local view
+		SceneViewController scene = new SceneViewController(false);
+		SceneInteractionFacade interactionFacade = new SceneInteractionBackend(scene, scene.getResponder(), scene::render);
+		GameLoop gameLoop = new GameLoop("Game loop", scene::render);
+		game.initialize(new GameInitializationContext(new AppContext().getObservableStatus(), interactionFacade, gameLoop));
+		scene.getViewModel().setLayers(game.getGameLayer());
+		scene.setLighthouseTransforms(game.getLighthouseToGridSize(), game.getLighthouseToGridPos());
+
+		// Setup the Lighthouse as the only view and input
+		LighthouseDisplayGroup displays = new LighthouseDisplayGroup();
+		RemoteLighthouseView remoteView = new RemoteLighthouseView(displays);
+		SceneLighthouseInput lhInput = new SceneLighthouseInput();
+		lhInput.addResponder(scene.getResponder());
+		remoteView.addButtonInput(lhInput);
+		remoteView.addConnectListener(v -> scene.render());
+		scene.addLighthouseView(remoteView);
+
+		CountDownLatch shutdown = new CountDownLatch(1);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			LOG.info("Shutting down...");
+			game.onClose();
+			displays.close();
+			shutdown.countDown();
+		}));
+
+		try {
+			displays.add(auth.get("username"), auth.get("token"));
+		} catch (Exception e) {
+			LOG.error("An exception occurred while connecting to the Lighthouse: ", e);
+			System.exit(1);
+		}
+
+		game.onOpen();
+		scene.render();
+
+		LOG.info("Launched {} headlessly in {} ms", game.getName(), System.currentTimeMillis() - startTime);
+		shutdown.await();
+	}
+
+	private static String normalize(String gameName) {
+		return gameName.replace(" ", "").toLowerCase();
+	}
+}
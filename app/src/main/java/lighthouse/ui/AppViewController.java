@@ -12,15 +12,13 @@ import javax.swing.JToolBar;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import lighthouse.breakout.BreakoutGame;
+import lighthouse.Games;
 import lighthouse.gameapi.CustomGameViewController;
 import lighthouse.gameapi.Game;
 import lighthouse.gameapi.GameInitializationContext;
+import lighthouse.gameapi.GameLoop;
 import lighthouse.gameapi.SceneInteractionFacade;
 import lighthouse.model.AppModel;
-import lighthouse.puzzle.PuzzleGame;
-import lighthouse.snake.SnakeGame;
-import lighthouse.spaceinvaders.SpaceInvadersGame;
 import lighthouse.ui.discordrpc.DiscordRPCRunner;
 import lighthouse.ui.scene.SceneInteractionBackend;
 import lighthouse.ui.scene.SceneViewController;
@@ -44,6 +42,7 @@ public class AppViewController implements SwingViewController {
 	
 	private final AppContext context = new AppContext();
 	private final SceneInteractionFacade interactionFacade;
+	private final GameLoop gameLoop;
 	private final DiscordRPCRunner discordRPC = new DiscordRPCRunner();
 	
 	private final Set<Game> gameRegistry = new HashSet<>();
@@ -63,6 +62,7 @@ public class AppViewController implements SwingViewController {
 		
 		scene = new SceneViewController();
 		interactionFacade = new SceneInteractionBackend(scene, scene.getResponder(), this::update);
+		gameLoop = new GameLoop("Game loop", this::update);
 		contentPane = new SwapPanel(scene.getComponent());
 		centerPane.add(contentPane, BorderLayout.CENTER);
 		
@@ -88,10 +88,9 @@ public class AppViewController implements SwingViewController {
 	}
 	
 	private void registerGames() {
-		registerGame(new PuzzleGame());
-		registerGame(new SnakeGame());
-		registerGame(new BreakoutGame());
-		registerGame(new SpaceInvadersGame());
+		for (Game game : Games.all()) {
+			registerGame(game);
+		}
 	}
 	
 	private void update() {
@@ -103,7 +102,7 @@ public class AppViewController implements SwingViewController {
 	}
 	
 	public void registerGame(Game game) {
-		game.initialize(new GameInitializationContext(context.getObservableStatus(), interactionFacade));
+		game.initialize(new GameInitializationContext(context.getObservableStatus(), interactionFacade, gameLoop));
 		
 		// TODO: Toggle buttons to indicate the active tab
 		JButton tab = new JButton(game.getName());
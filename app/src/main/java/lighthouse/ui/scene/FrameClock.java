@@ -0,0 +1,129 @@
+package lighthouse.ui.scene;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A dedicated thread that invokes a tick at a fixed rate.
+ * Ticks are scheduled against absolute deadlines, thus
+ * the timing error does not accumulate. If the clock falls
+ * behind, missed ticks are skipped rather than bursted.
+ *
+ * <p>The clock only runs while it is requested: Any number
+ * of {@link #requestTick()} calls are coalesced into the next
+ * tick and a tick keeps the clock running by returning true
+ * (e.g. while animations are playing). Otherwise the thread
+ * sleeps until the next request.</p>
+ */
+public class FrameClock {
+	private static final Logger LOG = LoggerFactory.getLogger(FrameClock.class);
+	private static final int MAX_CONSECUTIVE_FAILURES = 5;
+	private final String name;
+	private final BooleanSupplier tick;
+	private final AtomicBoolean requested = new AtomicBoolean(false);
+	private final AtomicLong ticks = new AtomicLong();
+	private final AtomicLong failedTicks = new AtomicLong();
+
+	private volatile long periodNanos;
+	private volatile Thread thread = null;
+
+	/**
+	 * Creates a new clock. The tick returns whether
+	 * the clock should keep running without a request.
+	 */
+	public FrameClock(String name, int targetFPS, BooleanSupplier tick) {
+		this.name = name;
+		this.tick = tick;
+		setTargetFPS(targetFPS);
+	}
+
+	public synchronized void start() {
+		if (thread == null) {
+			Thread newThread = new Thread(this::run, name);
+			newThread.setDaemon(true);
+			thread = newThread;
+			newThread.start();
+		}
+	}
+
+	public synchronized void stop() {
+		Thread oldThread = thread;
+		thread = null;
+		LockSupport.unpark(oldThread);
+	}
+
+	/** Requests a tick. Requests are coalesced into at most one tick. */
+	public void requestTick() {
+		if (!requested.getAndSet(true)) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	private void run() {
+		Thread self = Thread.currentThread();
+		long nextTick = System.nanoTime();
+		boolean running = false;
+		int consecutiveFailures = 0;
+
+		while (thread == self) {
+			if (!running && !requested.get()) {
+				LockSupport.park(this);
+				continue;
+			}
+
+			long now = System.nanoTime();
+			long period = periodNanos;
+			if (now - nextTick < -period) {
+				// The target rate has been increased in the meantime
+				nextTick = now;
+			} else if (now < nextTick) {
+				LockSupport.parkNanos(this, nextTick - now);
+				continue;
+			}
+
+			requested.set(false);
+
+			try {
+				running = tick.getAsBoolean();
+				consecutiveFailures = 0;
+			} catch (RuntimeException e) {
+				failedTicks.incrementAndGet();
+				consecutiveFailures++;
+				LOG.warn("Error during tick of {}: {}", name, e.toString());
+				LOG.debug("Stack trace:", e);
+				// Retry in the next tick, unless the error is persistent
+				running = consecutiveFailures < MAX_CONSECUTIVE_FAILURES;
+			}
+
+			ticks.incrementAndGet();
+			nextTick += period;
+
+			if (now - nextTick > period) {
+				// Fallen behind (or woken up after idling), skip the missed ticks
+				nextTick = now + period;
+			}
+		}
+	}
+
+	public void setTargetFPS(int targetFPS) {
+		if (targetFPS <= 0) {
+			throw new IllegalArgumentException("The target FPS have to be positive: " + targetFPS);
+		}
+		periodNanos = 1_000_000_000L / targetFPS;
+	}
+
+	public int getTargetFPS() { return (int) (1_000_000_000L / periodNanos); }
+
+	/** Fetches the total number of ticks. */
+	public long getTicks() { return ticks.get(); }
+
+	/** Fetches the number of ticks that threw an exception. */
+	public long getFailedTicks() { return failedTicks.get(); }
+
+	public boolean isRunning() { return thread != null; }
+}
@@ -1,19 +1,15 @@
 package lighthouse.ui.scene;
 
 import java.awt.BorderLayout;
-import java.awt.event.ActionListener;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.swing.JComponent;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
-import javax.swing.Timer;
 
 import com.alee.extended.panel.CenterPanel;
 
@@ -31,6 +27,7 @@ import lighthouse.ui.scene.input.SceneMouseInput;
 import lighthouse.ui.scene.view.LighthouseView;
 import lighthouse.ui.scene.view.LocalSceneView;
 import lighthouse.ui.scene.view.SceneView;
+import lighthouse.ui.scene.viewmodel.LighthouseFrame;
 import lighthouse.ui.scene.viewmodel.LighthouseViewModel;
 import lighthouse.ui.scene.viewmodel.graphics.Animation;
 import lighthouse.ui.scene.viewmodel.graphics.AnimationPlayer;
@@ -41,153 +38,187 @@ import lighthouse.util.transform.DoubleVecBijection;
 
 /**
  * Manages a scene together with its views.
+ * 
+ * <p>Rendering happens on a dedicated {@link FrameClock}
+ * thread. Render requests are coalesced into at most one
+ * render per tick, layer transitions and animations keep
+ * the clock running and only the repaint of the local view
+ * is handed off to the event dispatch thread.</p>
  */
 public class SceneViewController implements SwingViewController, AnimationRunner {
 	private static final Logger LOG = LoggerFactory.getLogger(SceneViewController.class);
 	private final JComponent component;
 	
-	private final int maxFPS = 60;
+	private static final int DEFAULT_FPS = 60;
 	private final SceneViewModel viewModel;
-	private LighthouseViewModel lighthouseViewModel;
+	private volatile LighthouseViewModel lighthouseViewModel;
 	private SceneMouseInput mouseInput;
 	private SceneKeyInput keyInput;
 
 	private int fps = 0;
 	private long lastSecond = 0;
+	private long frameSequence = 0;
+	private volatile LighthouseFrame lastFrame = null;
 	
 	private final LocalSceneView localView;
-	private final List<SceneView> sceneViews = new ArrayList<>();
-	private final List<LighthouseView> lighthouseViews = new ArrayList<>();
+	private final List<SceneView> sceneViews = new CopyOnWriteArrayList<>();
+	private final List<LighthouseView> lighthouseViews = new CopyOnWriteArrayList<>();
 	private final DelegateResponder responder = new DelegateResponder(NoResponder.INSTANCE);
 	private final Set<AnimationPlayer> runningAnimations = Collections.newSetFromMap(new ConcurrentHashMap<>());
-	private final List<RenderListener> renderListeners = new ArrayList<>();
-	
-	private boolean hasRunningRenderTimer = false;
+	private final List<RenderListener> renderListeners = new CopyOnWriteArrayList<>();
+	private final FrameClock clock = new FrameClock("Scene frame clock", DEFAULT_FPS, this::tick);
 	
 	public SceneViewController() {
+		this(true);
+	}
+	
+	/**
+	 * Creates a new scene. Without the local view, no
+	 * Swing components are created, which is used for
+	 * headless deployments (see {@link #isHeadless()}).
+	 */
+	public SceneViewController(boolean localViewEnabled) {
 		viewModel = new SceneViewModel();
-		component = new JPanel(new BorderLayout());
-		component.setOpaque(false);
-		
-		localView = new LocalSceneView(DoubleVecBijection.IDENTITY.floor(), DoubleVecBijection.IDENTITY.floor());
-		sceneViews.add(localView);
-		component.add(new CenterPanel(localView.getComponent()), BorderLayout.CENTER);
-		
 		keyInput = new SceneKeyInput();
 		keyInput.addResponder(responder);
-		localView.addKeyInput(keyInput);
+		
+		if (localViewEnabled) {
+			component = new JPanel(new BorderLayout());
+			component.setOpaque(false);
+			
+			localView = new LocalSceneView(DoubleVecBijection.IDENTITY.floor(), DoubleVecBijection.IDENTITY.floor());
+			sceneViews.add(localView);
+			component.add(new CenterPanel(localView.getComponent()), BorderLayout.CENTER);
+			localView.addKeyInput(keyInput);
+		} else {
+			component = null;
+			localView = null;
+		}
+		
+		clock.start();
 	}
 	
-	/** Renders the scene to the output views. */
+	/**
+	 * Requests the scene to be rendered to the output views.
+	 * Any number of requests are coalesced into a single render
+	 * during the next tick of the frame clock.
+	 */
 	public void render() {
-		updateRenderTimer();
+		clock.requestTick();
+	}
+	
+	/**
+	 * Advances layer transitions and animations and renders
+	 * the scene. Returns whether the clock should keep running.
+	 */
+	private boolean tick() {
+		boolean updated = false;
 		
+		for (SceneLayer layer : viewModel) {
+			if (layer.hasNextTransitionFrame()) {
+				layer.nextTransitionFrame();
+				updated = true;
+			}
+		}
+		
+		if (!runningAnimations.isEmpty()) {
+			// Advance all animations
+			for (Iterator<AnimationPlayer> iterator = runningAnimations.iterator(); iterator.hasNext();) {
+				AnimationPlayer player = iterator.next();
+				if (player.hasNextFrame()) {
+					player.nextFrame();
+				} else {
+					viewModel.removeLayer(player);
+					iterator.remove();
+				}
+			}
+			
+			updated = true;
+		}
+		
+		renderNow();
+		return updated;
+	}
+	
+	/** Renders the scene to the output views on the calling thread. */
+	private void renderNow() {
 		for (SceneView view : sceneViews) {
 			view.draw(viewModel);
 		}
 		
+		LighthouseViewModel lighthouseViewModel = this.lighthouseViewModel;
 		if (lighthouseViewModel == null) {
 			LOG.warn("Could not render scene to lighthouse views without transformation functions");
-		} else {
+		} else if (!lighthouseViews.isEmpty()) {
+			// Render the Lighthouse grid once and share the frame among the views
+			LighthouseFrame frame = lighthouseViewModel.renderFrame(frameSequence + 1);
+			frameSequence = frame.getSequenceNumber();
+			lastFrame = frame;
+			
 			for (LighthouseView view : lighthouseViews) {
-				view.draw(lighthouseViewModel);
+				view.draw(frame);
 			}
 		}
 		
 		for (RenderListener listener : renderListeners) {
 			listener.onRender();
 		}
-		
-		SwingUtilities.invokeLater(component::repaint);
 
 		fps++;
 
 		long now = System.currentTimeMillis();
 		if ((now - lastSecond) > 1000) {
-			LOG.info("{} fps (max: {})", fps, maxFPS);
+			LOG.info("{} fps (max: {})", fps, clock.getTargetFPS());
 			fps = 1;
 			lastSecond = now;
 		}
 	}
 	
-	/** Ensure that there is a timer handling running animations and layer transitions. */
-	private void updateRenderTimer() {
-		LOG.debug("Updating the scene's transition timer...");
-		
-		if (!hasRunningRenderTimer) {
-			hasRunningRenderTimer = true;
-			Set<SceneLayer> removedLayers = new HashSet<>();
-			
-			LOG.debug("Starting new render timer...");
-			startRepeatingTimer(e -> {
-				removedLayers.clear();
-				boolean updated = false;
-				
-				for (SceneLayer layer : viewModel) {
-					if (layer.hasNextTransitionFrame()) {
-						layer.nextTransitionFrame();
-						updated = true;
-					}
-				}
-				
-				if (!runningAnimations.isEmpty()) {
-					// Advance all animations
-					for (Iterator<AnimationPlayer> iterator = runningAnimations.iterator(); iterator.hasNext();) {
-						AnimationPlayer player = iterator.next();
-						if (player.hasNextFrame()) {
-							player.nextFrame();
-						} else {
-							viewModel.removeLayer(player);
-							iterator.remove();
-						}
-					}
-					
-					updated = true;
-				}
-				
-				if (updated) {
-					render();
-				} else {
-					LOG.debug("Stopping render timer");
-					hasRunningRenderTimer = false;
-					((Timer) e.getSource()).stop();
-				}
-			});
-		}
-	}
-	
 	public void addLocalBackgroundLayer(Renderable renderable) {
-		localView.addBackgroundLayer(renderable);
+		if (!isHeadless()) {
+			localView.addBackgroundLayer(renderable);
+		}
 	}
 	
 	public void removeLocalBackgroundLayer(Renderable renderable) {
-		localView.removeBackgroundLayer(renderable);
+		if (!isHeadless()) {
+			localView.removeBackgroundLayer(renderable);
+		}
 	}
 	
 	public void setRenderBaseLayer(boolean renderBaseLayer) {
-		localView.setRenderBaseLayer(renderBaseLayer);
+		if (!isHeadless()) {
+			localView.setRenderBaseLayer(renderBaseLayer);
+		}
 	}
 	
 	@Override
 	public void play(Animation animation) {
+		animation.setFrameRate(clock.getTargetFPS());
 		AnimationPlayer player = new AnimationPlayer(animation);
 		viewModel.addLayer(player);
 		runningAnimations.add(player);
-		updateRenderTimer();
+		render();
 	}
 	
-	private void startRepeatingTimer(ActionListener action) {
-		Timer timer = new Timer(1000 / maxFPS, action);
-		timer.setRepeats(true);
-		timer.start();
-	}
+	/** Sets the maximum number of frames per second. */
+	public void setTargetFPS(int targetFPS) { clock.setTargetFPS(targetFPS); }
+	
+	public int getTargetFPS() { return clock.getTargetFPS(); }
+	
+	/** Fetches the clock that drives rendering (including its tick counters). */
+	public FrameClock getFrameClock() { return clock; }
 	
 	public void relayout(IntVec gridSize) {
-		localView.relayout(gridSize);
+		if (!isHeadless()) {
+			localView.relayout(gridSize);
+		}
 	}
 	
 	public void setGridTransforms(DoubleVecBijection gridPosToPixels, DoubleVecBijection gridSizeToPixels) {
-		if (mouseInput != null) {
+		if (isHeadless()) {
+			return;
+		} else if (mouseInput != null) {
 			localView.removeMouseInput(mouseInput);
 		}
 		mouseInput = new SceneMouseInput(gridPosToPixels);
@@ -219,14 +250,26 @@ public class SceneViewController implements SwingViewController, AnimationRunner
 		lighthouseViews.add(view);
 	}
 	
+	public void removeLighthouseView(LighthouseView view) {
+		lighthouseViews.remove(view);
+	}
+	
 	public void setResponder(SceneResponder responder) { this.responder.setDelegate(responder); }
 	
 	public DelegateResponder getResponder() { return responder; }
 	
+	/** Fetches the local view (or null if the scene is headless). */
 	public LocalSceneView getLocalView() { return localView; }
 	
+	/** Checks whether the scene has been created without the local view. */
+	public boolean isHeadless() { return localView == null; }
+	
+	/** Fetches the last frame that has been drawn to the Lighthouse views (or null). */
+	public LighthouseFrame getLastFrame() { return lastFrame; }
+	
 	public SceneViewModel getViewModel() { return viewModel; }
 	
+	/** Fetches the Swing component (or null if the scene is headless). */
 	@Override
 	public JComponent getComponent() { return component; }
 }
@@ -0,0 +1,117 @@
+package lighthouse.ui.scene.view;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects unchanged frames so that {@link LighthouseView}s
+ * can suppress redundant transmissions. Frames are compared
+ * against a copy of the last sent frame, which stops at the
+ * first difference. Byte and packed frames are tracked
+ * separately, thus one kind never suppresses the other.
+ *
+ * <p>An unchanged frame is still sent once the keep-alive
+ * interval has passed since the last transmission.</p>
+ */
+public class FrameDeduplicator {
+	private final AtomicLong sentFrames = new AtomicLong();
+	private final AtomicLong suppressedFrames = new AtomicLong();
+
+	private boolean enabled = true;
+	private long keepAliveIntervalMs;
+	private long lastSentTime = 0;
+
+	private boolean hasLastBytes = false;
+	private byte[] lastBytes = new byte[0];
+	private int lastLength = 0;
+	private boolean hasLastInts = false;
+	private int[] lastInts = new int[0];
+
+	/**
+	 * Creates a new deduplicator with the given keep-alive
+	 * interval (in milliseconds), 0 disables keep-alive frames.
+	 */
+	public FrameDeduplicator(long keepAliveIntervalMs) {
+		this.keepAliveIntervalMs = keepAliveIntervalMs;
+	}
+
+	/** Checks whether the given (encoded) frame should be sent and records it if so. */
+	public boolean shouldSend(byte[] frame, int length) {
+		boolean changed = !hasLastBytes
+			|| length != lastLength
+			|| !equalPrefixes(frame, lastBytes, length);
+
+		if (shouldSend(changed)) {
+			if (lastBytes.length < length) {
+				lastBytes = new byte[length];
+			}
+			System.arraycopy(frame, 0, lastBytes, 0, length);
+			lastLength = length;
+			hasLastBytes = true;
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	/** Checks whether the given (packed) frame should be sent and records it if so. */
+	public boolean shouldSend(int[] frame) {
+		boolean changed = !hasLastInts
+			|| !Arrays.equals(frame, lastInts);
+
+		if (shouldSend(changed)) {
+			if (lastInts.length != frame.length) {
+				lastInts = new int[frame.length];
+			}
+			System.arraycopy(frame, 0, lastInts, 0, frame.length);
+			hasLastInts = true;
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	private boolean shouldSend(boolean changed) {
+		long now = System.currentTimeMillis();
+		boolean keepAliveDue = keepAliveIntervalMs > 0 && (now - lastSentTime) >= keepAliveIntervalMs;
+
+		if (!enabled || changed || keepAliveDue) {
+			lastSentTime = now;
+			sentFrames.incrementAndGet();
+			return true;
+		} else {
+			suppressedFrames.incrementAndGet();
+			return false;
+		}
+	}
+
+	private boolean equalPrefixes(byte[] a, byte[] b, int length) {
+		for (int i = 0; i < length; i++) {
+			if (a[i] != b[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Forgets the last frames, thus the next frame will always be sent. */
+	public void reset() {
+		hasLastBytes = false;
+		hasLastInts = false;
+	}
+
+	/** Enables or disables the suppression of unchanged frames. */
+	public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+	public boolean isEnabled() { return enabled; }
+
+	public void setKeepAliveIntervalMs(long keepAliveIntervalMs) { this.keepAliveIntervalMs = keepAliveIntervalMs; }
+
+	public long getKeepAliveIntervalMs() { return keepAliveIntervalMs; }
+
+	/** Fetches the number of frames that have been let through. */
+	public long getSentFrames() { return sentFrames.get(); }
+
+	/** Fetches the number of unchanged frames that have been suppressed. */
+	public long getSuppressedFrames() { return suppressedFrames.get(); }
+}
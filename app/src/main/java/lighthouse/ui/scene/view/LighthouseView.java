@@ -1,10 +1,14 @@
 package lighthouse.ui.scene.view;
 
-import lighthouse.ui.scene.viewmodel.LighthouseViewModel;
+import lighthouse.ui.scene.viewmodel.LighthouseFrame;
 
 /**
  * The presentation component of the Lighthouse grid.
+ * 
+ * <p>Every view receives the same frame, which is
+ * rendered once per tick. Views that transmit frames
+ * should skip unchanged frames using a {@link FrameDeduplicator}.</p>
  */
 public interface LighthouseView {
-	void draw(LighthouseViewModel viewModel);
+	void draw(LighthouseFrame frame);
 }
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
@@ -12,14 +13,14 @@ import javax.swing.JComponent;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 
-import lighthouse.ui.scene.viewmodel.LighthouseViewModel;
+import lighthouse.ui.scene.viewmodel.LighthouseFrame;
 
 /**
  * A local (Swing-based) view of the Lighthouse grid.
  */
 public class LocalLighthouseView implements LighthouseView {
 	private final JComponent component;
-	private LighthouseViewModel viewModel = null;
+	private volatile LighthouseFrame frame = null;
 	private Color gridLineColor = Color.DARK_GRAY;
 	private boolean drawGrid = true;
 	
@@ -36,33 +37,35 @@ public class LocalLighthouseView implements LighthouseView {
 	}
 	
 	@Override
-	public void draw(LighthouseViewModel viewModel) {
-		this.viewModel = viewModel;
+	public void draw(LighthouseFrame frame) {
+		this.frame = frame;
 		// Redraw the component
 		SwingUtilities.invokeLater(component::repaint);
 	}
 	
 	/** Renders the model grid to the Swing Graphics canvas. */
 	private void render(Graphics2D g2d, Dimension canvasSize) {
-		if (viewModel == null) {
+		LighthouseFrame frame = this.frame;
+		
+		if (frame == null) {
 			g2d.setFont(g2d.getFont().deriveFont(18F)); // Make font larger
 			g2d.drawString("No Board model drawn", 30, 30);
 		} else {
-			viewModel.render();
-			
-			int cols = viewModel.getColumns();
-			int rows = viewModel.getRows();
+			int cols = frame.getColumns();
+			int rows = frame.getRows();
 			
 			int cellWidth = component.getPreferredSize().width / cols;
 			int cellHeight = component.getPreferredSize().height / rows;
 			
+			// Scale up the (cached) frame image instead of filling every cell separately
+			g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+			g2d.drawImage(frame.getImage(), 0, 0, cols * cellWidth, rows * cellHeight, null);
+			
 			// Draw the cell grid
-			for (int y = 0; y < rows; y++) {
-				for (int x = 0; x < cols; x++) {
-					g2d.setColor(viewModel.getColorAt(x, y));
-					g2d.fillRect(x * cellWidth, y * cellHeight, cellWidth, cellHeight);
-					if (drawGrid) {
-						g2d.setColor(gridLineColor);
+			if (drawGrid) {
+				g2d.setColor(gridLineColor);
+				for (int y = 0; y < rows; y++) {
+					for (int x = 0; x < cols; x++) {
 						g2d.drawRect(x * cellWidth, y * cellHeight, cellWidth, cellHeight);
 					}
 				}
@@ -26,17 +26,28 @@ import org.slf4j.LoggerFactory;
 import lighthouse.gameapi.Renderable;
 import lighthouse.ui.scene.input.SceneKeyInput;
 import lighthouse.ui.scene.input.SceneMouseInput;
+import lighthouse.ui.scene.viewmodel.graphics.DirtyRegion;
 import lighthouse.ui.scene.viewmodel.graphics.Graphics2DSceneRenderer;
+import lighthouse.ui.scene.viewmodel.graphics.SceneChangeTracker;
 import lighthouse.ui.scene.viewmodel.graphics.SceneLayer;
 import lighthouse.ui.scene.viewmodel.graphics.SceneShapeVisitor;
 import lighthouse.ui.scene.viewmodel.graphics.SceneViewModel;
+import lighthouse.util.DoubleRect;
 import lighthouse.util.DoubleVec;
 import lighthouse.util.IntVec;
 
+/**
+ * The Swing view of a scene. Only the regions that have
+ * changed since the last draw are repainted and nothing
+ * is repainted if the scene is unchanged.
+ */
 public class LocalSceneView implements SceneView {
 	private static final Logger LOG = LoggerFactory.getLogger(LocalSceneView.class);
+	/** The number of pixels around a dirty region that are repainted too (covering rounding and outlines). */
+	private static final int DIRTY_MARGIN = 2;
 	private final JComponent component;
-	private SceneViewModel scene;
+	private final SceneChangeTracker changeTracker = new SceneChangeTracker();
+	private volatile SceneViewModel scene;
 	
 	private final Color background = Color.BLACK;
 	private final Color gridLineColor = Color.LIGHT_GRAY;
@@ -109,16 +120,35 @@ public class LocalSceneView implements SceneView {
 	
 	public void setGridPosToPixels(Function<DoubleVec, IntVec> gridPosToPixels) {
 		this.gridPosToPixels = gridPosToPixels;
+		changeTracker.invalidate();
 	}
 	
 	public void setGridSizeToPixels(Function<DoubleVec, IntVec> gridSizeToPixels) {
 		this.gridSizeToPixels = gridSizeToPixels;
+		changeTracker.invalidate();
 	}
 	
 	@Override
 	public void draw(SceneViewModel scene) {
 		this.scene = scene;
-		SwingUtilities.invokeLater(component::repaint);
+		DirtyRegion dirty = changeTracker.update(scene);
+		
+		if (dirty.isEmpty()) {
+			LOG.trace("Not repainting unchanged scene");
+		} else if (dirty.isAll() || !backgroundLayers.isEmpty()) {
+			// Background layers are not tracked, thus they are always repainted entirely
+			SwingUtilities.invokeLater(component::repaint);
+		} else {
+			DoubleRect rect = dirty.getRect();
+			IntVec a = gridPosToPixels.apply(rect.getTopLeft());
+			IntVec b = gridPosToPixels.apply(rect.getBottomRight());
+			int minX = Math.min(a.getX(), b.getX()) - DIRTY_MARGIN;
+			int minY = Math.min(a.getY(), b.getY()) - DIRTY_MARGIN;
+			int maxX = Math.max(a.getX(), b.getX()) + DIRTY_MARGIN + 1;
+			int maxY = Math.max(a.getY(), b.getY()) + DIRTY_MARGIN + 1;
+			// Swing clips the painted graphics to the requested region
+			component.repaint(minX, minY, maxX - minX, maxY - minY);
+		}
 	}
 	
 	public void relayout(IntVec gridSize) {
@@ -141,14 +171,17 @@ public class LocalSceneView implements SceneView {
 	
 	public void addBackgroundLayer(Renderable renderable) {
 		backgroundLayers.add(renderable);
+		changeTracker.invalidate();
 	}
 	
 	public void removeBackgroundLayer(Renderable renderable) {
 		backgroundLayers.remove(renderable);
+		changeTracker.invalidate();
 	}
 	
 	public void setRenderBaseLayer(boolean renderBaseLayer) {
 		this.renderBaseLayer = renderBaseLayer;
+		changeTracker.invalidate();
 	}
 	
 	private void render(Graphics2D g2d, Dimension canvasSize) {
@@ -1,37 +1,53 @@
 package lighthouse.ui.scene.view;
 
-import java.awt.Color;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import lighthouse.ui.scene.input.SceneLighthouseInput;
-import lighthouse.ui.scene.view.lighthouseapi.LighthouseDisplay;
-import lighthouse.ui.scene.viewmodel.LighthouseViewModel;
+import lighthouse.ui.scene.view.lighthouseapi.LighthouseSink;
+import lighthouse.ui.scene.viewmodel.LighthouseFrame;
 import lighthouse.util.LighthouseConstants;
 import lighthouse.util.Listener;
 
 /**
  * The remote Lighthouse view that uses the API to draw a
- * color grid on the actual highriser.
+ * color grid on the actual highriser. The frame is encoded
+ * once (and cached on the {@link LighthouseFrame}), even if
+ * the sink is a group of several displays.
+ * 
+ * <p>In delta mode, only the changed part of a frame is
+ * transmitted. Since the Lighthouse always starts updating
+ * at the first window, a delta frame is the shortest prefix
+ * of the frame that covers every changed window. Full
+ * keyframes are sent periodically and after (re)connecting.</p>
+ * 
+ * <p>Unchanged frames are suppressed, except for periodic
+ * keep-alive frames.</p>
+ * 
+ * <p>Keyframes may be requested from any thread (e.g. the
+ * connect listeners), whereas the frame state is only touched
+ * by the thread that draws.</p>
  */
 public class RemoteLighthouseView implements LighthouseView {
 	private static final Logger LOG = LoggerFactory.getLogger(RemoteLighthouseView.class);
-	private static final int LIGHTHOUSE_BYTES = LighthouseConstants.ROWS * LighthouseConstants.COLS * 3; // RGB colors
-	private final LighthouseDisplay api;
+	private static final int BYTES_PER_WINDOW = 3; // RGB colors
+	private static final int LIGHTHOUSE_BYTES = LighthouseConstants.ROWS * LighthouseConstants.COLS * BYTES_PER_WINDOW;
+	private static final long DEFAULT_KEEP_ALIVE_MS = 1000;
+	private final LighthouseSink api;
+	private final FrameDeduplicator deduplicator = new FrameDeduplicator(DEFAULT_KEEP_ALIVE_MS);
+	
+	private byte[] lastSentFrame = new byte[LIGHTHOUSE_BYTES];
+	private volatile boolean deltaEnabled = false;
+	private final AtomicBoolean keyframeRequested = new AtomicBoolean(true);
+	private volatile int keyframeInterval = 60;
+	private int framesSinceKeyframe = 0;
 
-	public RemoteLighthouseView(LighthouseDisplay api) {
+	public RemoteLighthouseView(LighthouseSink api) {
 		this.api = api;
-	}
-	
-	/** Connects to the Lighthouse server. */
-	public void connect() {
-		try {
-			api.connect();
-		} catch (Exception e) {
-			LOG.error("An exception occurred while connecting to the Lighthouse: ", e);
-		}
+		api.addConnectListener(v -> requestKeyframe());
 	}
 	
 	public boolean isConnected() {
@@ -54,38 +70,94 @@ public class RemoteLighthouseView implements LighthouseView {
 		api.removeConnectListener(listener);
 	}
 	
+	/** Enables or disables the transmission of delta frames. */
+	public void setDeltaEnabled(boolean deltaEnabled) {
+		this.deltaEnabled = deltaEnabled;
+		requestKeyframe();
+	}
+	
+	public boolean isDeltaEnabled() { return deltaEnabled; }
+	
+	/** Sets the number of frames after which a full keyframe is sent in delta mode. */
+	public void setKeyframeInterval(int keyframeInterval) {
+		this.keyframeInterval = keyframeInterval;
+	}
+	
+	public int getKeyframeInterval() { return keyframeInterval; }
+	
+	/** Ensures that the next frame is transmitted in full. */
+	public void requestKeyframe() {
+		keyframeRequested.set(true);
+	}
+	
+	/** Fetches the facility that suppresses unchanged frames (including its counters). */
+	public FrameDeduplicator getDeduplicator() { return deduplicator; }
+	
 	@Override
-	public void draw(LighthouseViewModel viewModel) {
+	public void draw(LighthouseFrame lighthouseFrame) {
+		byte[] frame = encode(lighthouseFrame);
+		boolean keyframe = keyframeRequested.getAndSet(false);
+		
+		if (keyframe) {
+			// Resetting here (on the drawing thread) ensures that the keyframe is not suppressed
+			deduplicator.reset();
+		}
+		if (!deduplicator.shouldSend(frame, LIGHTHOUSE_BYTES)) {
+			LOG.trace("Not sending unchanged frame");
+			return;
+		}
+		
+		int length = (deltaEnabled && !keyframe) ? deltaLength(frame) : LIGHTHOUSE_BYTES;
+		if (length == 0) {
+			// An unchanged frame that got through is a keep-alive
+			length = LIGHTHOUSE_BYTES;
+		}
+		
 		try {
-			api.send(encode(viewModel));
+			api.send(frame, length);
+			
+			if (length == LIGHTHOUSE_BYTES) {
+				framesSinceKeyframe = 0;
+			} else {
+				framesSinceKeyframe++;
+			}
+			
+			// The encoded frame is immutable, thus it can serve as the next frame's reference
+			lastSentFrame = frame;
 		} catch (IOException e) {
 			LOG.error("An IOException occurred while sending the grid to the Lighthouse: ", e);
+			requestKeyframe();
 		}
 	}
 	
-	/** Encodes the colored grid in a byte array. */
-	private byte[] encode(LighthouseViewModel viewModel) {
-		if (viewModel.getRows() != LighthouseConstants.ROWS) {
-			throw new IllegalArgumentException("Colored grid has " + viewModel.getRows() + " rows, but should have " + LighthouseConstants.ROWS);
-		} else if (viewModel.getColumns() != LighthouseConstants.COLS) {
-			throw new IllegalArgumentException("Colored grid has " + viewModel.getColumns() + " columns, but should have " + LighthouseConstants.COLS);
+	/**
+	 * Computes the number of leading bytes that have to be sent
+	 * to update every changed window, falling back to the full
+	 * frame when a periodic keyframe is due.
+	 */
+	private int deltaLength(byte[] frame) {
+		if (framesSinceKeyframe >= keyframeInterval) {
+			return LIGHTHOUSE_BYTES;
 		}
 		
-		byte[] data = new byte[LIGHTHOUSE_BYTES];
-		int i = 0;
-		
-		viewModel.render();
-		
-		for (int y = 0; y < LighthouseConstants.ROWS; y++) {
-			for (int x = 0; x < LighthouseConstants.COLS; x++) {
-				Color cell = viewModel.getColorAt(x, y);
-				data[i] = (byte) cell.getRed();
-				data[i + 1] = (byte) cell.getGreen();
-				data[i + 2] = (byte) cell.getBlue();
-				i += 3;
+		for (int i = LIGHTHOUSE_BYTES - 1; i >= 0; i--) {
+			if (frame[i] != lastSentFrame[i]) {
+				// Round up to include the entire window
+				return ((i / BYTES_PER_WINDOW) + 1) * BYTES_PER_WINDOW;
 			}
 		}
 		
-		return data;
+		return 0;
+	}
+	
+	/** Fetches the (cached) RGB encoding of the frame. */
+	private byte[] encode(LighthouseFrame lighthouseFrame) {
+		if (lighthouseFrame.getRows() != LighthouseConstants.ROWS) {
+			throw new IllegalArgumentException("Frame has " + lighthouseFrame.getRows() + " rows, but should have " + LighthouseConstants.ROWS);
+		} else if (lighthouseFrame.getColumns() != LighthouseConstants.COLS) {
+			throw new IllegalArgumentException("Frame has " + lighthouseFrame.getColumns() + " columns, but should have " + LighthouseConstants.COLS);
+		}
+		
+		return lighthouseFrame.getRGBBytes();
 	}
 }
@@ -6,6 +6,7 @@ import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -20,8 +21,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import lighthouse.ui.scene.input.SceneKeyInput;
+import lighthouse.ui.scene.view.FrameDeduplicator;
 import lighthouse.ui.scene.view.LighthouseView;
-import lighthouse.ui.scene.viewmodel.LighthouseViewModel;
+import lighthouse.ui.scene.viewmodel.LighthouseFrame;
 import lighthouse.util.ConfigFile;
 import lighthouse.util.Listener;
 import lighthouse.util.ListenerList;
@@ -45,7 +47,9 @@ public class DiscordLighthouseView implements LighthouseView {
 	private final Map<String, DiscordCommand> commands = new HashMap<>();
 	private final Set<MessageChannel> activeChannels = new HashSet<>();
 	private final ListenerList<Void> readyListeners = new ListenerList<>("DiscordLighthouseView.readyListeners");
-	private final BufferedImage boardImage;
+	private final int imageWidth;
+	private final int imageHeight;
+	private final FrameDeduplicator deduplicator = new FrameDeduplicator(0);
 	
 	private final boolean streamAllStates;
 	private final Pattern commandPattern;
@@ -53,8 +57,10 @@ public class DiscordLighthouseView implements LighthouseView {
 	
 	public DiscordLighthouseView(ConfigFile config, SceneKeyInput input) {
 		streamAllStates = config.getBoolean("streamAllStates");
+		deduplicator.setEnabled(!streamAllStates);
 		commandPattern = Pattern.compile(Pattern.quote(config.get("prefix")) + "(\\w+)(?:\\s+(.+))?");
-		boardImage = new BufferedImage(config.getInt("imageWidth"), config.getInt("imageHeight"), BufferedImage.TYPE_INT_RGB);
+		imageWidth = config.getInt("imageWidth");
+		imageHeight = config.getInt("imageHeight");
 		
 		registerCommands(input);
 	}
@@ -128,6 +134,9 @@ public class DiscordLighthouseView implements LighthouseView {
 		return jda != null && jda.getStatus().equals(JDA.Status.CONNECTED);
 	}
 	
+	/** Fetches the facility that suppresses unchanged frames (including its counters). */
+	public FrameDeduplicator getDeduplicator() { return deduplicator; }
+	
 	public void addReadyListener(Listener<Void> listener) {
 		readyListeners.add(listener);
 	}
@@ -137,26 +146,38 @@ public class DiscordLighthouseView implements LighthouseView {
 	}
 	
 	@Override
-	public void draw(LighthouseViewModel viewModel) {
+	public void draw(LighthouseFrame frame) {
 		if (isConnected()) {
-			viewModel.render();
-			// TODO: Only draw if the state has changed or if 'streamAllStates' is set
-			
-			Graphics2D g2d = boardImage.createGraphics();
-			g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-			g2d.drawImage(viewModel.getImage(), 0, 0, boardImage.getWidth(), boardImage.getHeight(), null);
-			g2d.dispose();
+			byte[] rgb = frame.getRGBBytes();
+			if (!deduplicator.shouldSend(rgb, rgb.length)) {
+				return;
+			}
 			
-			try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-				ImageIO.write(boardImage, "jpg", baos);
-				byte[] imgBytes = baos.toByteArray();
+			try {
+				byte[] imgBytes = frame.getEncoding("jpg " + imageWidth + "x" + imageHeight, this::encodeJPEG);
 				
 				for (MessageChannel channel : activeChannels) {
 					channel.sendFile(imgBytes, "lighthouse.jpg").queue();
 				}
-			} catch (IOException e) {
+			} catch (UncheckedIOException e) {
 				LOG.error("Error while sending image to Discord:", e);
 			}
 		}
 	}
+	
+	/** Scales the frame up to the configured size and encodes it as a JPEG image. */
+	private byte[] encodeJPEG(LighthouseFrame frame) {
+		BufferedImage boardImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2d = boardImage.createGraphics();
+		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+		g2d.drawImage(frame.getImage(), 0, 0, imageWidth, imageHeight, null);
+		g2d.dispose();
+		
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			ImageIO.write(boardImage, "jpg", baos);
+			return baos.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
 }
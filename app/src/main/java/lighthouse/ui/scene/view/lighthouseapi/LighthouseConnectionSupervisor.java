@@ -0,0 +1,194 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lighthouse.util.Listener;
+
+/**
+ * Keeps a {@link LighthouseDisplay} connected. Dropped
+ * connections and failed attempts are retried after a
+ * jittered, exponentially growing delay until the supervisor
+ * is stopped. Every new connection re-subscribes to the input
+ * stream and replays the last frame (see {@link LighthouseDisplay}).
+ */
+public class LighthouseConnectionSupervisor implements AutoCloseable {
+	private static final Logger LOG = LoggerFactory.getLogger(LighthouseConnectionSupervisor.class);
+	private static final long DEFAULT_INITIAL_DELAY_MS = 500;
+	private static final long DEFAULT_MAX_DELAY_MS = 30_000;
+	private static final long DEFAULT_CONNECT_TIMEOUT_MS = 10_000;
+	/** Caps the exponent to prevent overflows. */
+	private static final int MAX_BACKOFF_EXPONENT = 20;
+
+	private final LighthouseDisplay display;
+	private final long initialDelayMs;
+	private final long maxDelayMs;
+	private final long connectTimeoutMs;
+	private final Listener<Void> connectListener = v -> onConnect();
+	private final Listener<Void> disconnectListener = v -> onDisconnect();
+	private final AtomicLong droppedConnections = new AtomicLong();
+	private final ScheduledExecutorService sharedExecutor;
+
+	private ScheduledExecutorService executor = null;
+	/** Either the next attempt or the timeout of the current one. */
+	private ScheduledFuture<?> pendingTask = null;
+	private volatile boolean active = false;
+	private int failedAttempts = 0;
+
+	public LighthouseConnectionSupervisor(LighthouseDisplay display) {
+		this(display, DEFAULT_INITIAL_DELAY_MS, DEFAULT_MAX_DELAY_MS, DEFAULT_CONNECT_TIMEOUT_MS);
+	}
+
+	public LighthouseConnectionSupervisor(LighthouseDisplay display, long initialDelayMs, long maxDelayMs, long connectTimeoutMs) {
+		this(display, initialDelayMs, maxDelayMs, connectTimeoutMs, null);
+	}
+
+	/**
+	 * Creates a supervisor that schedules its attempts on the given
+	 * executor, which is shared with others and thus not shut down.
+	 */
+	public LighthouseConnectionSupervisor(LighthouseDisplay display, long initialDelayMs, long maxDelayMs, long connectTimeoutMs, ScheduledExecutorService sharedExecutor) {
+		this.display = display;
+		this.sharedExecutor = sharedExecutor;
+		this.initialDelayMs = initialDelayMs;
+		this.maxDelayMs = maxDelayMs;
+		this.connectTimeoutMs = connectTimeoutMs;
+	}
+
+	/** Connects the display and keeps it connected until {@link #stop()} is called. */
+	public synchronized void start() {
+		if (active) {
+			return;
+		}
+
+		active = true;
+		failedAttempts = 0;
+		if (sharedExecutor == null) {
+			executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "Lighthouse connection supervisor");
+				thread.setDaemon(true);
+				return thread;
+			});
+		} else {
+			executor = sharedExecutor;
+		}
+		display.addConnectListener(connectListener);
+		display.addDisconnectListener(disconnectListener);
+		schedule(this::attemptConnect, 0);
+	}
+
+	/** Closes the connection on purpose, thus no reconnect is attempted. */
+	public void stop() {
+		synchronized (this) {
+			if (!active) {
+				return;
+			}
+
+			active = false;
+			display.removeConnectListener(connectListener);
+			display.removeDisconnectListener(disconnectListener);
+			if (pendingTask != null) {
+				pendingTask.cancel(false);
+				pendingTask = null;
+			}
+			if (executor != sharedExecutor) {
+				executor.shutdownNow();
+			}
+			executor = null;
+		}
+
+		display.close();
+	}
+
+	@Override
+	public void close() {
+		stop();
+	}
+
+	private synchronized void schedule(Runnable task, long delayMs) {
+		if (!active) {
+			return;
+		}
+		if (pendingTask != null) {
+			pendingTask.cancel(false);
+		}
+		pendingTask = executor.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+	}
+
+	private void attemptConnect() {
+		if (!active || display.isConnected()) {
+			return;
+		}
+
+		try {
+			display.reconnect();
+			// The connection is established asynchronously
+			schedule(this::checkConnected, connectTimeoutMs);
+		} catch (Exception e) {
+			LOG.warn("Could not connect to the Lighthouse: {}", e.getMessage());
+			scheduleRetry();
+		}
+	}
+
+	private void checkConnected() {
+		if (active && !display.isConnected()) {
+			LOG.warn("Connecting to the Lighthouse timed out");
+			scheduleRetry();
+		}
+	}
+
+	private synchronized void scheduleRetry() {
+		if (!active) {
+			return;
+		}
+
+		long delayMs = computeDelayMs(failedAttempts);
+		failedAttempts++;
+		LOG.info("Reconnecting to the Lighthouse in {} ms (attempt {})", delayMs, failedAttempts);
+		schedule(this::attemptConnect, delayMs);
+	}
+
+	private synchronized void onConnect() {
+		if (pendingTask != null) {
+			pendingTask.cancel(false);
+			pendingTask = null;
+		}
+		if (failedAttempts > 0 || droppedConnections.get() > 0) {
+			LOG.info("Resumed the Lighthouse connection");
+		}
+		failedAttempts = 0;
+	}
+
+	private synchronized void onDisconnect() {
+		if (active) {
+			LOG.warn("Lost the Lighthouse connection");
+			droppedConnections.incrementAndGet();
+			scheduleRetry();
+		}
+	}
+
+	/**
+	 * Computes the delay before the next attempt using "equal jitter",
+	 * i.e. a random delay between half and all of the exponential backoff.
+	 */
+	long computeDelayMs(int attempt) {
+		long backoff = Math.min(maxDelayMs, initialDelayMs << Math.min(attempt, MAX_BACKOFF_EXPONENT));
+		long half = backoff / 2;
+		return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+	}
+
+	public boolean isActive() { return active; }
+
+	/** Fetches the number of times the connection has been lost unintentionally. */
+	public long getDroppedConnections() { return droppedConnections.get(); }
+
+	/** Fetches the number of consecutive attempts that failed. */
+	public synchronized int getFailedAttempts() { return failedAttempts; }
+}
@@ -4,11 +4,9 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Future;
 
 import javax.management.InvalidAttributeValueException;
 
@@ -16,7 +14,6 @@ import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.eclipse.jetty.websocket.api.RemoteEndpoint;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.StatusCode;
-import org.eclipse.jetty.websocket.api.WriteCallback;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketError;
@@ -26,11 +23,6 @@ import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
 import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.msgpack.core.MessageBufferPacker;
 import org.msgpack.core.MessagePack;
-import org.msgpack.core.MessageStringCodingException;
-import org.msgpack.core.MessageTypeCastException;
-import org.msgpack.core.MessageUnpacker;
-import org.msgpack.value.Value;
-import org.msgpack.value.impl.ImmutableStringValueImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,14 +35,51 @@ import lighthouse.util.ListenerList;
  * interface. The network connection is configured upon object creation but
  * needs to manually connect. Afterwards data can be sent to the lighthouse.
  */
-public class LighthouseDisplay implements AutoCloseable {
+public class LighthouseDisplay implements LighthouseSink, AutoCloseable {
 	private static final Logger LOG = LoggerFactory.getLogger(LighthouseDisplay.class);
+	private static final int MAX_FRAME_BYTES = 64 * 1024;
+	/** The request id of the controller input stream. */
+	private static final int STREAM_REQUEST_ID = -1;
 	private final String username;
 	private final String token;
+	private final LighthouseSendQueue sendQueue;
 	private LighthouseDisplayHandler handler;
 	private WebSocketClient client;
+	/** Whether the client is owned by someone else (e.g. a {@link LighthouseDisplayGroup}). */
+	private final boolean sharedClient;
+	private boolean clientSelfSigned = false;
+	private Future<Session> pendingConnect = null;
+	private String destUri = null;
+	private boolean selfSigned = false;
 	
-	private final Set<ILighthouseInputListener> observers = new HashSet<>();
+	/** The last state of the windows, replayed after (re)connecting. */
+	private final byte[] lastFrame = new byte[MAX_FRAME_BYTES];
+	private int lastFrameLength = 0;
+	
+	private final Set<ILighthouseInputListener> observers = new CopyOnWriteArraySet<>();
+	private final ILighthouseInputListener inputDispatcher = new ILighthouseInputListener() {
+		@Override
+		public void keyboardEvent(int source, int button, boolean down) {
+			for (ILighthouseInputListener listener : observers) {
+				try {
+					listener.keyboardEvent(source, button, down);
+				} catch (Exception e) {
+					LOG.error("Error while delegating ILighthouseInputListener event:", e);
+				}
+			}
+		}
+		
+		@Override
+		public void controllerEvent(int source, int button, boolean down) {
+			for (ILighthouseInputListener listener : observers) {
+				try {
+					listener.controllerEvent(source, button, down);
+				} catch (Exception e) {
+					LOG.error("Error while delegating ILighthouseInputListener event:", e);
+				}
+			}
+		}
+	};
 	private final ListenerList<Void> connectListeners = new ListenerList<>("LighthouseDisplay.connectListeners");
 	private final ListenerList<Void> disconnectListeners = new ListenerList<>("LighthouseDisplay.disconnectListeners");
 	
@@ -58,9 +87,22 @@ public class LighthouseDisplay implements AutoCloseable {
 	 * Creates a new LighthouseDisplay with given user-name and access token
 	 */
 	public LighthouseDisplay(String username, String token) {
+		this(username, token, null);
+	}
+
+	/**
+	 * Creates a new LighthouseDisplay that connects using the given
+	 * (shared) web-socket-client, which is not stopped on close.
+	 * If the client is null, the display creates its own.
+	 */
+	public LighthouseDisplay(String username, String token, WebSocketClient sharedClient) {
 		handler = new LighthouseDisplayHandler(this);
 		this.username = username;
 		this.token = token;
+		this.client = sharedClient;
+		this.sharedClient = sharedClient != null;
+		sendQueue = new LighthouseSendQueue(username, token);
+		sendQueue.addWriteFailureListener(error -> resendAfterFailure());
 	}
 
 	/**
@@ -107,24 +149,65 @@ public class LighthouseDisplay implements AutoCloseable {
 	 * @throws Exception          if there is an error constructing a
 	 *                            web-socket-client
 	 */
-	public void connect(String destUri, boolean selfSigned) throws Exception {
-		if (selfSigned) {
-			// Since we use a self-signed certificate, we can't check the
-			// validity of the certificate (and we have to disable this check)
-			SslContextFactory sec = new SslContextFactory(true);
-			client = new WebSocketClient(sec);
-		} else {
-			client = new WebSocketClient();
+	public synchronized void connect(String destUri, boolean selfSigned) throws Exception {
+		URI targetUri = new URI(destUri);
+		setDestination(destUri, selfSigned);
+		
+		if (!sharedClient && client != null && clientSelfSigned != selfSigned) {
+			stopClient();
+		}
+		
+		if (client == null) {
+			if (selfSigned) {
+				// Since we use a self-signed certificate, we can't check the
+				// validity of the certificate (and we have to disable this check)
+				SslContextFactory sec = new SslContextFactory(true);
+				client = new WebSocketClient(sec);
+			} else {
+				client = new WebSocketClient();
+			}
+			clientSelfSigned = selfSigned;
+		}
+		
+		if (pendingConnect != null) {
+			// Abandon a previous attempt that did not complete
+			pendingConnect.cancel(true);
 		}
 
-		URI targetUri = new URI(destUri);
 		ClientUpgradeRequest upgrade = new ClientUpgradeRequest();
 
-		client.start();
-		client.connect(handler, targetUri, upgrade);
+		if (!client.isStarted()) {
+			client.start();
+		}
+		pendingConnect = client.connect(handler, targetUri, upgrade);
 		LOG.info("Connecting to: {}", targetUri);
 	}
 
+	/**
+	 * Sets the address that is used by {@link #reconnect()}. Since a
+	 * shared web-socket-client is configured by its owner, selfSigned
+	 * only applies to displays that own their client.
+	 */
+	public synchronized void setDestination(String destUri, boolean selfSigned) {
+		this.destUri = destUri;
+		this.selfSigned = selfSigned;
+	}
+
+	/**
+	 * Connects again to the address of the last connection,
+	 * reusing the web-socket-client. Falls back to the default
+	 * address if there has been no previous connection.
+	 * 
+	 * @throws Exception if there is an error while connecting
+	 */
+	public synchronized void reconnect() throws Exception {
+		if (destUri == null) {
+			connect();
+		} else {
+			connect(destUri, selfSigned);
+		}
+	}
+
 	/**
 	 * getter for the configured username
 	 * 
@@ -157,6 +240,20 @@ public class LighthouseDisplay implements AutoCloseable {
 		handler.send(data, 0, data.length);
 	}
 
+	/**
+	 * Sends the first bytes of a packet of data to the lighthouse server.
+	 * Since every transmission starts at the first window, only the
+	 * windows covered by these bytes are updated.
+	 *
+	 * @param data   The data to send
+	 * @param length The number of leading bytes to send
+	 * @throws IOException if some error occurs during sending of the data.
+	 */
+	@Override
+	public void send(byte[] data, int length) throws IOException {
+		handler.send(data, 0, length);
+	}
+
 	/**
 	 * returns if there is currently a connection open note: connection is
 	 * established asynchronous so this value might be false after a call of
@@ -164,31 +261,117 @@ public class LighthouseDisplay implements AutoCloseable {
 	 * 
 	 * @return if the connection is open
 	 */
+	@Override
 	public boolean isConnected() {
 		return handler.isConnected();
 	}
 
-	public void close() {
+	/**
+	 * Fetches the queue that decouples sending from rendering,
+	 * which provides the queue depth, drop count and write latency.
+	 * 
+	 * @return the send queue
+	 */
+	public LighthouseSendQueue getSendQueue() {
+		return sendQueue;
+	}
+
+	/**
+	 * Fetches the decoder of incoming messages, which
+	 * provides the decoded event count and parse latency.
+	 * 
+	 * @return the response decoder
+	 */
+	public LighthouseResponseDecoder getResponseDecoder() {
+		return handler.decoder;
+	}
+
+	public synchronized void close() {
 		handler.close();
-		try {
-			client.stop();
-		} catch (Exception e) {
-			e.printStackTrace();
+		if (pendingConnect != null) {
+			pendingConnect.cancel(true);
+			pendingConnect = null;
+		}
+		if (!sharedClient) {
+			stopClient();
+		}
+	}
+	
+	private void stopClient() {
+		if (client != null) {
+			try {
+				client.stop();
+			} catch (Exception e) {
+				LOG.error("Could not stop the web-socket-client:", e);
+			}
+			client = null;
+		}
+	}
+	
+	/**
+	 * Records the state of the windows after sending the given data.
+	 * Since a transmission starts at the first window, the data
+	 * overwrites the leading part of the last frame.
+	 */
+	private void recordFrame(byte[] data, int offset, int length) {
+		synchronized (lastFrame) {
+			int recorded = Math.min(length, lastFrame.length);
+			System.arraycopy(data, offset, lastFrame, 0, recorded);
+			lastFrameLength = Math.max(lastFrameLength, recorded);
+		}
+	}
+	
+	/**
+	 * Sends the leading bytes of the last recorded frame. If the send
+	 * queue replaces a frame that has not been sent yet, the replacement
+	 * covers at least as many windows, thus no (delta) update is lost.
+	 */
+	private void sendLastFrame(int length) {
+		synchronized (lastFrame) {
+			sendQueue.offer(lastFrame, 0, Math.max(length, sendQueue.getPendingLength()));
+		}
+	}
+	
+	/** Re-sends the last recorded frame, e.g. after resuming a connection. */
+	private void replayLastFrame() {
+		synchronized (lastFrame) {
+			if (lastFrameLength > 0) {
+				LOG.debug("Replaying the last frame ({} bytes)", lastFrameLength);
+				sendLastFrame(lastFrameLength);
+			}
+		}
+	}
+
+	/**
+	 * Re-sends the full last frame after a failed write, since
+	 * the windows covered by the failed (delta) frame are stale.
+	 * While disconnected, the replay on resume takes care of this.
+	 */
+	private void resendAfterFailure() {
+		synchronized (lastFrame) {
+			if (lastFrameLength > 0 && handler.isConnected()) {
+				LOG.debug("Re-sending the last frame ({} bytes) after a failed write", lastFrameLength);
+				sendLastFrame(lastFrameLength);
+			}
 		}
 	}
 
+	@Override
 	public void addButtonListener(ILighthouseInputListener listener) {
 		observers.add(listener);
 	}
 
+	@Override
 	public void removeButtonListener(ILighthouseInputListener listener) {
 		observers.remove(listener);
 	}
 	
+	@Override
 	public void addConnectListener(Listener<Void> listener) {
 		connectListeners.add(listener);
 	}
 	
+	@Override
 	public void removeConnectListener(Listener<Void> listener) {
 		connectListeners.remove(listener);
 	}
@@ -208,8 +391,9 @@ public class LighthouseDisplay implements AutoCloseable {
 	public static class LighthouseDisplayHandler {
 		private LighthouseDisplay parent;
 		private Session session;
-		private boolean connected = false;
+		private volatile boolean connected = false;
 		private RemoteEndpoint endpoint = null;
+		private final LighthouseResponseDecoder decoder = new LighthouseResponseDecoder(STREAM_REQUEST_ID);
 
 		private LighthouseDisplayHandler(LighthouseDisplay parent) {
 			this.parent = parent;
@@ -224,60 +408,13 @@ public class LighthouseDisplay implements AutoCloseable {
 		 * @throws IOException on errors while transmitting the data
 		 */
 		public void send(byte[] data, int offset, int length) throws IOException {
-			if (isConnected()) {
-				// Lighthouse request (as JSON/Type mix):
-				// {
-				// "VERB" => String // (GET, PUT, STREAM)
-				// "PATH" => [String] // (["user",<username>,"model"])
-				// "AUTH" => {"USER" => String, "TOKEN" => String}
-				// "META" => {* => *}
-				// "PAYL" => *
-				// "REID" => Int // Request-ID
-				// }
-				MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
-				packer.packMapHeader(6);
-				{
-					packer.packString("REID");
-					packer.packInt(0);
-
-					packer.packString("VERB");
-					packer.packString("PUT");
-
-					packer.packString("PATH");
-					packer.packArrayHeader(3);
-					{
-						packer.packString("user");
-						packer.packString(parent.getUsername());
-						packer.packString("model");
-					}
-
-					packer.packString("AUTH");
-					packer.packMapHeader(2);
-					{
-						packer.packString("USER");
-						packer.packString(parent.getUsername());
-
-						packer.packString("TOKEN");
-						packer.packString(parent.getToken());
-					}
-
-					packer.packString("META");
-					packer.packMapHeader(0);
-
-					packer.packString("PAYL");
-					packer.packBinaryHeader(length);
-					packer.addPayload(data, offset, length);
+			synchronized (parent.lastFrame) {
+				// Frames are recorded while disconnected too, thus the latest one is replayed on resume
+				parent.recordFrame(data, offset, length);
+				if (isConnected()) {
+					// Hand the frame to the sender thread, this never blocks
+					parent.sendLastFrame(Math.min(length, MAX_FRAME_BYTES));
 				}
-
-				endpoint.sendBytes(ByteBuffer.wrap(packer.toByteArray()), new WriteCallback() {
-					@Override
-					public void writeSuccess() {}
-					@Override
-					public void writeFailed(Throwable err) {
-						LOG.error("Sending image failed: ", err);
-					}
-				});
-				endpoint.flush();
 			}
 		}
 
@@ -286,6 +423,7 @@ public class LighthouseDisplay implements AutoCloseable {
 		 */
 		public void close() {
 			connected = false;
+			parent.sendQueue.stop();
 			parent.disconnectListeners.fire();
 			if (session != null) {
 				session.close(StatusCode.NORMAL, "end of data");
@@ -307,8 +445,11 @@ public class LighthouseDisplay implements AutoCloseable {
 		@OnWebSocketClose
 		public void onClose(int statusCode, String reason) {
 			connected = false;
+			parent.sendQueue.stop();
 			parent.disconnectListeners.fire();
 			LOG.info("Connection closed [{}]: {}", statusCode, reason);
+			LOG.info("Send statistics: {}", parent.sendQueue);
+			LOG.info("Receive statistics: {}", decoder);
 		}
 
 		/**
@@ -318,7 +459,6 @@ public class LighthouseDisplay implements AutoCloseable {
 		public void onConnect(Session session) {
 			// save session for usage in communication
 			this.session = session;
-			connected = true;
 			LOG.debug("Got connection: {}", session);
 			
 			// request stream for controller input
@@ -328,7 +468,7 @@ public class LighthouseDisplay implements AutoCloseable {
 				packer2.packMapHeader(6);
 				{
 					packer2.packString("REID");
-					packer2.packInt(-1);
+					packer2.packInt(STREAM_REQUEST_ID);
 	
 					packer2.packString("VERB");
 					packer2.packString("STREAM");
@@ -360,6 +500,13 @@ public class LighthouseDisplay implements AutoCloseable {
 	
 				endpoint.sendBytes(ByteBuffer.wrap(packer2.toByteArray()));
 				endpoint.flush();
+				parent.sendQueue.start(endpoint);
+				
+				synchronized (parent.lastFrame) {
+					// Frames recorded up to now are replayed, later ones are sent directly
+					connected = true;
+					parent.replayLastFrame();
+				}
 				
 				parent.connectListeners.fire();
 			} catch (IOException e) {
@@ -381,65 +528,15 @@ public class LighthouseDisplay implements AutoCloseable {
 				}
 				LOG.trace(builder.toString());
 			}
-			MessageUnpacker unp = MessagePack.newDefaultUnpacker(buf, offset, length);
-			try {
-				Value v = unp.unpackValue();
-				Map<Value,Value> vmap = v.asMapValue().map();
-				int rnum = vmap.get(new ImmutableStringValueImpl("RNUM")).asIntegerValue().toInt();
-				if (rnum == 200) {
-					int reid = vmap.get(new ImmutableStringValueImpl("REID")).asIntegerValue().toInt();
-					if (reid == -1) {
-						Value payload = vmap.get(new ImmutableStringValueImpl("PAYL"));
-						List<Value> entries; // list of event entries
-						if (payload.isArrayValue()) {
-							entries = payload.asArrayValue().list();
-						} else {
-							entries = new ArrayList<Value>(1);
-							entries.add(payload);
-						}
-						for (Value entry : entries) {
-							Map<Value,Value> payl = entry.asMapValue().map();
-							
-							boolean isKeyboard = true;
-							Value btn = payl.get(new ImmutableStringValueImpl("key"));
-							if (btn == null) {
-								btn = payl.get(new ImmutableStringValueImpl("btn"));
-								isKeyboard = false;
-							}
-							
-							boolean pressed = payl.get(new ImmutableStringValueImpl("dwn")).asBooleanValue().getBoolean();
-							int src = payl.get(new ImmutableStringValueImpl("src")).asIntegerValue().toInt();
-							int button = btn.asIntegerValue().toInt();
-							
-							for (ILighthouseInputListener listener : parent.observers) {
-								try {
-									if (isKeyboard) {
-										listener.keyboardEvent(src, button, pressed);
-									} else {
-										listener.controllerEvent(src, button, pressed);
-									}
-								} catch (Exception e) {
-									LOG.error("Error while delegating ILighthouseInputListener event:", e);
-								}
-							}
-						}
-					}
-				} else {
-					Value responseValue = vmap.get(new ImmutableStringValueImpl("RESPONSE"));
-					String response = "";
-					if (responseValue.isStringValue()) {
-						try {
-							response = responseValue.asStringValue().asString();
-						} catch (MessageStringCodingException ignored) {}
-					}
-					LOG.error("API Error: ({}) {}", rnum, response);
-				}
-			} catch (IOException e) {
-				LOG.error("IOException while receiving message", e);
-			} catch (NullPointerException ignored) { // in case of malformed message
-				LOG.debug("Got malformed message (though this exception is ignored):", ignored);
-			} catch (MessageTypeCastException ignored) { // in case of malformed message
-				LOG.debug("Got malformed message (though this exception is ignored):", ignored);
+			switch (decoder.decode(buf, offset, length, parent.inputDispatcher)) {
+				case ERROR:
+					LOG.error("API Error: ({}) {}", decoder.getResponseNumber(), decoder.getResponse());
+					break;
+				case MALFORMED:
+					LOG.debug("Got malformed message (which is ignored)");
+					break;
+				default:
+					break;
 			}
 		}
 
@@ -0,0 +1,204 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lighthouse.ui.scene.input.lighthouseapi.ILighthouseInputListener;
+import lighthouse.util.Listener;
+import lighthouse.util.ListenerList;
+
+/**
+ * Drives several Lighthouse displays (e.g. mirrored
+ * installations) from a single render. The members share
+ * one web-socket-client and one reconnect scheduler, while
+ * every member keeps its own send queue (backpressure)
+ * and connection supervisor (health).
+ *
+ * <p>A frame is encoded once by the caller and fanned out
+ * to every member, thus the rendering cost does not grow
+ * with the number of displays.</p>
+ */
+public class LighthouseDisplayGroup implements LighthouseSink, AutoCloseable {
+	private static final Logger LOG = LoggerFactory.getLogger(LighthouseDisplayGroup.class);
+	private static final long INITIAL_RECONNECT_DELAY_MS = 500;
+	private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+	private static final long CONNECT_TIMEOUT_MS = 10_000;
+	private final WebSocketClient client;
+	private final ScheduledExecutorService scheduler;
+	private final List<Member> members = new CopyOnWriteArrayList<>();
+	private final Set<ILighthouseInputListener> buttonListeners = new CopyOnWriteArraySet<>();
+	private final ListenerList<Void> connectListeners = new ListenerList<>("LighthouseDisplayGroup.connectListeners");
+	private final Listener<Void> connectForwarder = v -> connectListeners.fire();
+
+	public LighthouseDisplayGroup() {
+		// Since the Lighthouse uses a self-signed certificate, certificate validation is disabled
+		client = new WebSocketClient(new SslContextFactory(true));
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Lighthouse group supervisor");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/** Adds a display that connects to the default Lighthouse address of the user. */
+	public LighthouseDisplay add(String username, String token) throws Exception {
+		return add(username, token, null);
+	}
+
+	/**
+	 * Adds a display that connects to the given web-socket address
+	 * (or the default address if null) and keeps it connected.
+	 */
+	public synchronized LighthouseDisplay add(String username, String token, String destUri) throws Exception {
+		if (!client.isStarted()) {
+			client.start();
+		}
+
+		LighthouseDisplay display = new LighthouseDisplay(username, token, client);
+		if (destUri != null) {
+			display.setDestination(destUri, true);
+		}
+
+		for (ILighthouseInputListener listener : buttonListeners) {
+			display.addButtonListener(listener);
+		}
+		display.addConnectListener(connectForwarder);
+
+		LighthouseConnectionSupervisor supervisor = new LighthouseConnectionSupervisor(display, INITIAL_RECONNECT_DELAY_MS, MAX_RECONNECT_DELAY_MS, CONNECT_TIMEOUT_MS, scheduler);
+		members.add(new Member(display, supervisor));
+		supervisor.start();
+
+		LOG.info("Added Lighthouse display for {} ({} display(s))", username, members.size());
+		return display;
+	}
+
+	/** Disconnects and removes the given display. */
+	public synchronized void remove(LighthouseDisplay display) {
+		for (Member member : members) {
+			if (member.display == display) {
+				members.remove(member);
+				member.close();
+			}
+		}
+	}
+
+	/** Disconnects and removes every display. */
+	public synchronized void clear() {
+		for (Member member : members) {
+			member.close();
+		}
+		members.clear();
+	}
+
+	/**
+	 * Hands the frame to every member. Since every member has its own
+	 * send queue, a slow or disconnected display does not hold up others.
+	 */
+	@Override
+	public void send(byte[] data, int length) throws IOException {
+		for (Member member : members) {
+			try {
+				member.display.send(data, length);
+			} catch (IOException e) {
+				LOG.warn("Could not send frame to the display of {}: {}", member.display.getUsername(), e.getMessage());
+			}
+		}
+	}
+
+	/** Checks whether any of the displays is connected. */
+	@Override
+	public boolean isConnected() {
+		for (Member member : members) {
+			if (member.display.isConnected()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Fetches the current displays. */
+	public List<LighthouseDisplay> getDisplays() {
+		List<LighthouseDisplay> displays = new ArrayList<>();
+		for (Member member : members) {
+			displays.add(member.display);
+		}
+		return displays;
+	}
+
+	/** Fetches the supervisor of the given display (or null if it is not a member). */
+	public LighthouseConnectionSupervisor getSupervisor(LighthouseDisplay display) {
+		for (Member member : members) {
+			if (member.display == display) {
+				return member.supervisor;
+			}
+		}
+		return null;
+	}
+
+	public int size() { return members.size(); }
+
+	/** Adds a listener that receives the input of every display. */
+	@Override
+	public void addButtonListener(ILighthouseInputListener listener) {
+		buttonListeners.add(listener);
+		for (Member member : members) {
+			member.display.addButtonListener(listener);
+		}
+	}
+
+	@Override
+	public void removeButtonListener(ILighthouseInputListener listener) {
+		buttonListeners.remove(listener);
+		for (Member member : members) {
+			member.display.removeButtonListener(listener);
+		}
+	}
+
+	/** Adds a listener that is notified whenever any of the displays (re)connects. */
+	@Override
+	public void addConnectListener(Listener<Void> listener) {
+		connectListeners.add(listener);
+	}
+
+	@Override
+	public void removeConnectListener(Listener<Void> listener) {
+		connectListeners.remove(listener);
+	}
+
+	@Override
+	public synchronized void close() {
+		clear();
+		scheduler.shutdownNow();
+		try {
+			client.stop();
+		} catch (Exception e) {
+			LOG.error("Could not stop the web-socket-client:", e);
+		}
+	}
+
+	private static class Member {
+		private final LighthouseDisplay display;
+		private final LighthouseConnectionSupervisor supervisor;
+
+		public Member(LighthouseDisplay display, LighthouseConnectionSupervisor supervisor) {
+			this.display = display;
+			this.supervisor = supervisor;
+		}
+
+		public void close() {
+			// Stopping the supervisor closes the display as well
+			supervisor.stop();
+		}
+	}
+}
@@ -0,0 +1,240 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Encodes Lighthouse PUT requests using a pre-serialized
+ * request header. The constant parts of the request (VERB,
+ * PATH, AUTH and META) are packed once, so that encoding
+ * a frame only copies the header, the request id and the
+ * payload into one of a small ring of reusable direct buffers.
+ *
+ * <p>Since buffers are handed to the (asynchronous) web-socket,
+ * every encoded request has to be released once it has been
+ * written. This happens automatically if the request is used
+ * as the write callback.</p>
+ */
+public class LighthouseRequestEncoder {
+	private static final Logger LOG = LoggerFactory.getLogger(LighthouseRequestEncoder.class);
+	private static final int DEFAULT_RING_SIZE = 4;
+	private static final int DEFAULT_PAYLOAD_CAPACITY = 64 * 1024;
+	private static final byte INT32 = (byte) 0xd2;
+	private static final byte BIN8 = (byte) 0xc4;
+	private static final byte BIN16 = (byte) 0xc5;
+	private static final byte BIN32 = (byte) 0xc6;
+	/** The REID value is always packed as a (fixed-width) int32. */
+	private static final int REID_BYTES = 5;
+	/** The largest possible binary header (a bin32 header). */
+	private static final int MAX_BIN_HEADER_BYTES = 5;
+
+	private final byte[] headerPrefix;
+	private final byte[] headerSuffix;
+	private final EncodedRequest[] ring;
+	private final AtomicIntegerArray used;
+	private int nextSlot = 0;
+	private volatile WriteListener writeListener = null;
+
+	public LighthouseRequestEncoder(String username, String token) {
+		this(username, token, DEFAULT_RING_SIZE);
+	}
+
+	public LighthouseRequestEncoder(String username, String token, int ringSize) {
+		try {
+			headerPrefix = packHeaderPrefix();
+			headerSuffix = packHeaderSuffix(username, token);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not pack the request header", e);
+		}
+
+		ring = new EncodedRequest[ringSize];
+		used = new AtomicIntegerArray(ringSize);
+
+		for (int i = 0; i < ringSize; i++) {
+			ring[i] = new EncodedRequest(i, ByteBuffer.allocateDirect(getHeaderSize() + MAX_BIN_HEADER_BYTES + DEFAULT_PAYLOAD_CAPACITY));
+		}
+	}
+
+	private static byte[] packHeaderPrefix() throws IOException {
+		MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+		packer.packMapHeader(6);
+		packer.packString("REID");
+		return packer.toByteArray();
+	}
+
+	private static byte[] packHeaderSuffix(String username, String token) throws IOException {
+		// Lighthouse request (as JSON/Type mix):
+		// {
+		// "REID" => Int // Request-ID
+		// "VERB" => String // (GET, PUT, STREAM)
+		// "PATH" => [String] // (["user",<username>,"model"])
+		// "AUTH" => {"USER" => String, "TOKEN" => String}
+		// "META" => {* => *}
+		// "PAYL" => *
+		// }
+		MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+
+		packer.packString("VERB");
+		packer.packString("PUT");
+
+		packer.packString("PATH");
+		packer.packArrayHeader(3);
+		{
+			packer.packString("user");
+			packer.packString(username);
+			packer.packString("model");
+		}
+
+		packer.packString("AUTH");
+		packer.packMapHeader(2);
+		{
+			packer.packString("USER");
+			packer.packString(username);
+
+			packer.packString("TOKEN");
+			packer.packString(token);
+		}
+
+		packer.packString("META");
+		packer.packMapHeader(0);
+
+		packer.packString("PAYL");
+
+		return packer.toByteArray();
+	}
+
+	/**
+	 * Encodes a PUT request into the next free buffer of the
+	 * ring. Returns null if all buffers are still in use.
+	 */
+	public EncodedRequest encode(int requestId, byte[] data, int offset, int length) {
+		int slot = nextSlot;
+
+		for (int i = 0; i < ring.length; i++) {
+			if (used.compareAndSet(slot, 0, 1)) {
+				nextSlot = (slot + 1) % ring.length;
+				EncodedRequest request = ring[slot];
+				request.fill(requestId, data, offset, length);
+				return request;
+			}
+			slot = (slot + 1) % ring.length;
+		}
+
+		return null;
+	}
+
+	/** Marks the request's buffer as reusable. */
+	public void release(EncodedRequest request) {
+		used.set(request.slot, 0);
+	}
+
+	/** Fetches the number of buffers that are currently in use. */
+	public int getUsedBuffers() {
+		int count = 0;
+		for (int i = 0; i < ring.length; i++) {
+			count += used.get(i);
+		}
+		return count;
+	}
+
+	public int getRingSize() { return ring.length; }
+
+	/** Sets a listener that is notified after an encoded request has been written (and released). */
+	public void setWriteListener(WriteListener writeListener) { this.writeListener = writeListener; }
+
+	/** Fetches the size of the request header (excluding the payload's binary header). */
+	public int getHeaderSize() { return headerPrefix.length + REID_BYTES + headerSuffix.length; }
+
+	/**
+	 * Listens for completed writes.
+	 */
+	@FunctionalInterface
+	public interface WriteListener {
+		/** Invoked after a request has been written. The error is null if the write succeeded. */
+		void onWritten(EncodedRequest request, Throwable error);
+	}
+
+	/**
+	 * A request that has been encoded into a pooled buffer.
+	 */
+	public class EncodedRequest implements WriteCallback {
+		private final int slot;
+		private ByteBuffer buffer;
+		private int payloadLength = 0;
+		private long sentNanos = 0;
+
+		private EncodedRequest(int slot, ByteBuffer buffer) {
+			this.slot = slot;
+			this.buffer = buffer;
+		}
+
+		private void fill(int requestId, byte[] data, int offset, int length) {
+			int required = getHeaderSize() + MAX_BIN_HEADER_BYTES + length;
+			if (buffer.capacity() < required) {
+				buffer = ByteBuffer.allocateDirect(required);
+			}
+
+			// The header is copied every time, since the web-socket
+			// client masks the written buffer in place
+			buffer.clear();
+			buffer.put(headerPrefix);
+			buffer.put(INT32);
+			buffer.putInt(requestId);
+			buffer.put(headerSuffix);
+
+			if (length < (1 << 8)) {
+				buffer.put(BIN8);
+				buffer.put((byte) length);
+			} else if (length < (1 << 16)) {
+				buffer.put(BIN16);
+				buffer.putShort((short) length);
+			} else {
+				buffer.put(BIN32);
+				buffer.putInt(length);
+			}
+
+			buffer.put(data, offset, length);
+			buffer.flip();
+			payloadLength = length;
+		}
+
+		/** Fetches the encoded request, ready to be written. */
+		public ByteBuffer getBuffer() { return buffer; }
+
+		/** Fetches the number of payload bytes. */
+		public int getPayloadLength() { return payloadLength; }
+
+		/** Records the time at which the request has been handed to the web-socket. */
+		public void markSent() { sentNanos = System.nanoTime(); }
+
+		public long getSentNanos() { return sentNanos; }
+
+		@Override
+		public void writeSuccess() {
+			release(this);
+			notifyWritten(null);
+		}
+
+		@Override
+		public void writeFailed(Throwable err) {
+			release(this);
+			LOG.error("Sending image failed: ", err);
+			notifyWritten(err);
+		}
+
+		private void notifyWritten(Throwable error) {
+			WriteListener listener = writeListener;
+			if (listener != null) {
+				listener.onWritten(this, error);
+			}
+		}
+	}
+}
@@ -0,0 +1,351 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePackException;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.core.buffer.ArrayBufferInput;
+import org.msgpack.core.buffer.MessageBuffer;
+import org.msgpack.value.ValueType;
+
+import lighthouse.ui.scene.input.lighthouseapi.ILighthouseInputListener;
+
+/**
+ * Decodes messages from the Lighthouse server by walking
+ * them with a reused {@link MessageUnpacker} instead of
+ * materializing a value tree. Keys are compared against
+ * pre-encoded constants and input events are dispatched
+ * directly, thus decoding input events does not allocate.
+ *
+ * <p>Malformed messages are detected by checking the format
+ * of every value before reading it. Only truncated messages
+ * and out-of-range integers surface as exceptions, which are
+ * reported as {@link Result#MALFORMED}.</p>
+ *
+ * <p>A decoder is not thread-safe, which suits a web-socket
+ * session since it delivers its messages one after another.</p>
+ */
+public class LighthouseResponseDecoder {
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int MAX_KEY_BYTES = 16;
+
+	private static final int KEY_UNKNOWN = -1;
+	private static final int KEY_REID = 0;
+	private static final int KEY_RNUM = 1;
+	private static final int KEY_RESPONSE = 2;
+	private static final int KEY_PAYL = 3;
+	private static final int KEY_SRC = 4;
+	private static final int KEY_KEY = 5;
+	private static final int KEY_BTN = 6;
+	private static final int KEY_DWN = 7;
+	private static final byte[][] KEYS = encodeKeys("REID", "RNUM", "RESPONSE", "PAYL", "src", "key", "btn", "dwn");
+
+	/** The outcome of decoding a message. */
+	public enum Result {
+		/** A message of the input stream (possibly without any events). */
+		INPUT,
+		/** A successful response to any other request. */
+		RESPONSE,
+		/** A response with an error code, see {@link #getResponseNumber()} and {@link #getResponse()}. */
+		ERROR,
+		/** A message that could not be decoded. */
+		MALFORMED
+	}
+
+	private final int streamRequestId;
+	private final byte[] key = new byte[MAX_KEY_BYTES];
+	private byte[] message = new byte[INITIAL_CAPACITY];
+	private MessageBuffer messageBuffer = MessageBuffer.wrap(message);
+	private final ArrayBufferInput input = new ArrayBufferInput(messageBuffer);
+	private final MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(input);
+	private int messageLength = 0;
+
+	private int requestId;
+	private int responseNumber;
+	private String response = "";
+
+	private final AtomicLong decodedMessages = new AtomicLong();
+	private final AtomicLong malformedMessages = new AtomicLong();
+	private final AtomicLong inputEvents = new AtomicLong();
+	private final AtomicLong totalDecodeNanos = new AtomicLong();
+	private volatile long lastDecodeNanos = 0;
+	private volatile long maxDecodeNanos = 0;
+
+	/** Creates a decoder that dispatches the events of the stream with the given request id. */
+	public LighthouseResponseDecoder(int streamRequestId) {
+		this.streamRequestId = streamRequestId;
+	}
+
+	private static byte[][] encodeKeys(String... keys) {
+		byte[][] encoded = new byte[keys.length][];
+		for (int i = 0; i < keys.length; i++) {
+			encoded[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+		}
+		return encoded;
+	}
+
+	/**
+	 * Decodes a message and dispatches contained input
+	 * events to the given listener (on the calling thread).
+	 */
+	public Result decode(byte[] buf, int offset, int length, ILighthouseInputListener listener) {
+		long start = System.nanoTime();
+		Result result;
+
+		try {
+			result = decodeMessage(buf, offset, length, listener);
+		} catch (IOException | MessagePackException e) {
+			result = Result.MALFORMED;
+		}
+
+		if (result == Result.MALFORMED) {
+			malformedMessages.incrementAndGet();
+		}
+
+		long duration = System.nanoTime() - start;
+		decodedMessages.incrementAndGet();
+		totalDecodeNanos.addAndGet(duration);
+		lastDecodeNanos = duration;
+		if (duration > maxDecodeNanos) {
+			maxDecodeNanos = duration;
+		}
+
+		return result;
+	}
+
+	private Result decodeMessage(byte[] buf, int offset, int length, ILighthouseInputListener listener) throws IOException {
+		load(buf, offset, length);
+
+		// The first pass reads the header fields, since the keys may appear in any order
+		if (!scanHeader()) {
+			return Result.MALFORMED;
+		}
+
+		if (responseNumber != 200) {
+			rewind();
+			response = (seek(KEY_RESPONSE) && nextType() == ValueType.STRING) ? unpacker.unpackString() : "";
+			return Result.ERROR;
+		} else if (requestId != streamRequestId) {
+			return Result.RESPONSE;
+		}
+
+		rewind();
+		if (seek(KEY_PAYL) && !dispatchEvents(listener)) {
+			return Result.MALFORMED;
+		}
+		return Result.INPUT;
+	}
+
+	/** Copies the message into the reused buffer. */
+	private void load(byte[] buf, int offset, int length) throws IOException {
+		if (length > message.length) {
+			message = new byte[Math.max(length, message.length * 2)];
+			messageBuffer = MessageBuffer.wrap(message);
+		}
+		System.arraycopy(buf, offset, message, 0, length);
+		messageLength = length;
+		rewind();
+	}
+
+	private void rewind() throws IOException {
+		input.reset(messageBuffer);
+		unpacker.reset(input);
+	}
+
+	/** Reads REID and RNUM while walking the entire message. */
+	private boolean scanHeader() throws IOException {
+		if (nextType() != ValueType.MAP) {
+			return false;
+		}
+
+		boolean hasResponseNumber = false;
+		requestId = 0;
+		responseNumber = 0;
+		int entries = unpacker.unpackMapHeader();
+
+		for (int i = 0; i < entries; i++) {
+			int k = readKey();
+			ValueType type = nextType();
+			if (k == KEY_REID && type == ValueType.INTEGER) {
+				requestId = unpacker.unpackInt();
+			} else if (k == KEY_RNUM && type == ValueType.INTEGER) {
+				responseNumber = unpacker.unpackInt();
+				hasResponseNumber = true;
+			} else if (type == null) {
+				return false;
+			} else {
+				unpacker.skipValue();
+			}
+		}
+
+		// The reused buffer may contain stale bytes past the end of a truncated message
+		return hasResponseNumber && unpacker.getTotalReadBytes() <= messageLength;
+	}
+
+	/** Positions the unpacker at the value of the given top-level key. */
+	private boolean seek(int wanted) throws IOException {
+		int entries = unpacker.unpackMapHeader();
+		for (int i = 0; i < entries; i++) {
+			if (readKey() == wanted) {
+				return true;
+			}
+			unpacker.skipValue();
+		}
+		return false;
+	}
+
+	/** Dispatches the events of a payload, which is a single event, an array of events or nil. */
+	private boolean dispatchEvents(ILighthouseInputListener listener) throws IOException {
+		ValueType type = nextType();
+		if (type == ValueType.NIL) {
+			unpacker.unpackNil();
+			return true;
+		} else if (type == ValueType.ARRAY) {
+			int count = unpacker.unpackArrayHeader();
+			boolean valid = true;
+			for (int i = 0; i < count; i++) {
+				valid &= dispatchEvent(listener);
+			}
+			return valid;
+		} else {
+			return dispatchEvent(listener);
+		}
+	}
+
+	private boolean dispatchEvent(ILighthouseInputListener listener) throws IOException {
+		ValueType eventType = nextType();
+		if (eventType != ValueType.MAP) {
+			if (eventType != null) {
+				// Skip the invalid event, thus the following ones can still be dispatched
+				unpacker.skipValue();
+			}
+			return false;
+		}
+
+		int source = 0;
+		int button = 0;
+		boolean down = false;
+		boolean keyboard = false;
+		int found = 0;
+		int entries = unpacker.unpackMapHeader();
+
+		for (int i = 0; i < entries; i++) {
+			int k = readKey();
+			ValueType type = nextType();
+			if (k == KEY_SRC && type == ValueType.INTEGER) {
+				source = unpacker.unpackInt();
+				found |= 1;
+			} else if ((k == KEY_KEY || k == KEY_BTN) && type == ValueType.INTEGER) {
+				button = unpacker.unpackInt();
+				keyboard = k == KEY_KEY;
+				found |= 2;
+			} else if (k == KEY_DWN && type == ValueType.BOOLEAN) {
+				down = unpacker.unpackBoolean();
+				found |= 4;
+			} else if (type == null) {
+				return false;
+			} else {
+				unpacker.skipValue();
+			}
+		}
+
+		if (found != 7) {
+			return false;
+		}
+
+		inputEvents.incrementAndGet();
+		if (keyboard) {
+			listener.keyboardEvent(source, button, down);
+		} else {
+			listener.controllerEvent(source, button, down);
+		}
+		return true;
+	}
+
+	/** Reads a key and returns its index in {@link #KEYS} or {@link #KEY_UNKNOWN}. */
+	private int readKey() throws IOException {
+		ValueType type = nextType();
+		if (type == null) {
+			return KEY_UNKNOWN;
+		} else if (type != ValueType.STRING) {
+			unpacker.skipValue();
+			return KEY_UNKNOWN;
+		}
+
+		int length = unpacker.unpackRawStringHeader();
+		if (length > key.length) {
+			// Consume the (unknown) key in chunks
+			for (int remaining = length; remaining > 0; remaining -= key.length) {
+				unpacker.readPayload(key, 0, Math.min(remaining, key.length));
+			}
+			return KEY_UNKNOWN;
+		}
+
+		unpacker.readPayload(key, 0, length);
+		for (int i = 0; i < KEYS.length; i++) {
+			if (keyEquals(KEYS[i], length)) {
+				return i;
+			}
+		}
+		return KEY_UNKNOWN;
+	}
+
+	private boolean keyEquals(byte[] expected, int length) {
+		if (expected.length != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (key[i] != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Fetches the type of the next value or null if there is no valid value. */
+	private ValueType nextType() throws IOException {
+		if (unpacker.getTotalReadBytes() >= messageLength) {
+			return null;
+		}
+		MessageFormat format = unpacker.getNextFormat();
+		return (format == MessageFormat.NEVER_USED) ? null : format.getValueType();
+	}
+
+	/** Fetches the request id of the last decoded message. */
+	public int getRequestId() { return requestId; }
+
+	/** Fetches the response number (an HTTP-like status code) of the last decoded message. */
+	public int getResponseNumber() { return responseNumber; }
+
+	/** Fetches the response text of the last erroneous message. */
+	public String getResponse() { return response; }
+
+	public long getDecodedMessages() { return decodedMessages.get(); }
+
+	public long getMalformedMessages() { return malformedMessages.get(); }
+
+	/** Fetches the number of dispatched input events. */
+	public long getInputEvents() { return inputEvents.get(); }
+
+	/** Fetches the time spent on the last message (including the dispatch) in microseconds. */
+	public double getLastDecodeMicros() { return lastDecodeNanos / 1000.0; }
+
+	/** Fetches the longest time spent on a message in microseconds. */
+	public double getMaxDecodeMicros() { return maxDecodeNanos / 1000.0; }
+
+	/** Fetches the average time spent on a message in microseconds. */
+	public double getAverageDecodeMicros() {
+		long decoded = decodedMessages.get();
+		return (decoded == 0) ? 0 : (totalDecodeNanos.get() / (double) decoded) / 1000.0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("LighthouseResponseDecoder [decoded=%d, malformed=%d, events=%d, avgDecode=%.2f us, maxDecode=%.2f us]",
+			getDecodedMessages(), getMalformedMessages(), getInputEvents(), getAverageDecodeMicros(), getMaxDecodeMicros());
+	}
+}
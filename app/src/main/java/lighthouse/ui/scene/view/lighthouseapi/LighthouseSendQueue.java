@@ -0,0 +1,238 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lighthouse.ui.scene.view.lighthouseapi.LighthouseRequestEncoder.EncodedRequest;
+import lighthouse.util.IDGenerator;
+import lighthouse.util.Listener;
+import lighthouse.util.ListenerList;
+
+/**
+ * A bounded, latest-frame-wins mailbox between the rendering
+ * thread (the single producer) and a dedicated sender thread
+ * (the single consumer).
+ *
+ * <p>Offering a frame never blocks: A frame that is still
+ * waiting to be sent is replaced (and counted as dropped) by
+ * a newer one. The sender only hands a frame to the web-socket
+ * while fewer than the maximum number of writes are in flight,
+ * thus a stalled network cannot pile up frames inside Jetty.</p>
+ *
+ * <p>Since the windows updated by a failed write are lost, the
+ * failure is reported to the write failure listeners, which
+ * can re-offer the full frame.</p>
+ */
+public class LighthouseSendQueue {
+	private static final Logger LOG = LoggerFactory.getLogger(LighthouseSendQueue.class);
+	private static final int DEFAULT_MAX_IN_FLIGHT = 2;
+	private final LighthouseRequestEncoder encoder;
+	private final int maxInFlight;
+
+	private final AtomicReference<EncodedRequest> pending = new AtomicReference<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong sentFrames = new AtomicLong();
+	private final AtomicLong droppedFrames = new AtomicLong();
+	private final AtomicLong failedWrites = new AtomicLong();
+	private final AtomicLong totalLatencyNanos = new AtomicLong();
+	private volatile long lastLatencyNanos = 0;
+	private volatile long maxLatencyNanos = 0;
+	private final ListenerList<Throwable> writeFailureListeners = new ListenerList<>("LighthouseSendQueue.writeFailureListeners");
+
+	private volatile RemoteEndpoint endpoint = null;
+	private volatile Thread sender = null;
+	private int nextRequestId = 0;
+
+	public LighthouseSendQueue(String username, String token) {
+		this(username, token, DEFAULT_MAX_IN_FLIGHT);
+	}
+
+	public LighthouseSendQueue(String username, String token, int maxInFlight) {
+		this.maxInFlight = maxInFlight;
+		// One additional buffer for the pending and one for the currently encoded frame
+		encoder = new LighthouseRequestEncoder(username, token, maxInFlight + 2);
+		encoder.setWriteListener(this::onWritten);
+	}
+
+	/** Starts a sender thread that writes to the given endpoint. */
+	public synchronized void start(RemoteEndpoint endpoint) {
+		stop();
+		this.endpoint = endpoint;
+
+		Thread thread = new Thread(this::runSender, "Lighthouse sender " + IDGenerator.INSTANCE.nextID());
+		thread.setDaemon(true);
+		sender = thread;
+		thread.start();
+	}
+
+	/** Stops the sender thread and discards the pending frame. */
+	public synchronized void stop() {
+		Thread thread = sender;
+		sender = null;
+		endpoint = null;
+
+		if (thread != null) {
+			thread.interrupt();
+		}
+
+		EncodedRequest discarded = pending.getAndSet(null);
+		if (discarded != null) {
+			encoder.release(discarded);
+		}
+	}
+
+	/**
+	 * Offers a frame to the sender thread. This method never
+	 * blocks and replaces any frame that has not been sent yet.
+	 */
+	public void offer(byte[] data, int offset, int length) {
+		EncodedRequest request = encoder.encode(nextRequestId, data, offset, length);
+
+		if (request == null) {
+			// All buffers are taken, free the one held by the stale pending frame (if any)
+			EncodedRequest stale = pending.getAndSet(null);
+			if (stale != null) {
+				encoder.release(stale);
+				droppedFrames.incrementAndGet();
+				request = encoder.encode(nextRequestId, data, offset, length);
+			}
+		}
+
+		if (request == null) {
+			LOG.debug("Dropping frame since the maximum number of writes is in flight");
+			droppedFrames.incrementAndGet();
+			return;
+		}
+
+		nextRequestId++;
+		EncodedRequest stale = pending.getAndSet(request);
+		if (stale != null) {
+			encoder.release(stale);
+			droppedFrames.incrementAndGet();
+		}
+
+		LockSupport.unpark(sender);
+	}
+
+	private void runSender() {
+		Thread self = Thread.currentThread();
+
+		while (sender == self) {
+			EncodedRequest request = null;
+
+			if (inFlight.get() < maxInFlight) {
+				// Count the write before taking the frame, thus it is always part of the queue depth
+				inFlight.incrementAndGet();
+				request = pending.getAndSet(null);
+				if (request == null) {
+					inFlight.decrementAndGet();
+				}
+			}
+
+			if (request == null) {
+				LockSupport.park(this);
+				// Clear the interrupt flag, stopping is signalled through the sender field
+				Thread.interrupted();
+			} else {
+				write(request);
+			}
+		}
+
+		LOG.debug("Stopped Lighthouse sender");
+	}
+
+	private void write(EncodedRequest request) {
+		RemoteEndpoint target = endpoint;
+		if (target == null) {
+			encoder.release(request);
+			inFlight.decrementAndGet();
+			return;
+		}
+
+		request.markSent();
+
+		try {
+			target.sendBytes(request.getBuffer(), request);
+			target.flush();
+		} catch (IOException e) {
+			LOG.warn("Could not flush frame to the Lighthouse: {}", e.getMessage());
+		} catch (RuntimeException e) {
+			// Jetty throws if the session has been closed in the meantime
+			request.writeFailed(e);
+		}
+	}
+
+	private void onWritten(EncodedRequest request, Throwable error) {
+		long latency = System.nanoTime() - request.getSentNanos();
+		inFlight.decrementAndGet();
+
+		if (error == null) {
+			sentFrames.incrementAndGet();
+			totalLatencyNanos.addAndGet(latency);
+			lastLatencyNanos = latency;
+			if (latency > maxLatencyNanos) {
+				maxLatencyNanos = latency;
+			}
+		} else {
+			failedWrites.incrementAndGet();
+			writeFailureListeners.fire(error);
+		}
+
+		LockSupport.unpark(sender);
+	}
+
+	/**
+	 * Adds a listener that is notified (on the thread completing
+	 * the write) whenever a frame could not be written. Listeners
+	 * should be added before the queue is started.
+	 */
+	public void addWriteFailureListener(Listener<? super Throwable> listener) {
+		writeFailureListeners.add(listener);
+	}
+
+	/** Fetches the number of frames that are either waiting or being written. */
+	public int getQueueDepth() { return inFlight.get() + ((pending.get() == null) ? 0 : 1); }
+
+	/** Fetches the payload length of the frame that is waiting to be sent or 0. */
+	public int getPendingLength() {
+		EncodedRequest request = pending.get();
+		return (request == null) ? 0 : request.getPayloadLength();
+	}
+
+	/** Fetches the number of writes that have not completed yet. */
+	public int getInFlightWrites() { return inFlight.get(); }
+
+	/** Fetches the number of frames that have been written successfully. */
+	public long getSentFrames() { return sentFrames.get(); }
+
+	/** Fetches the number of frames that have been replaced by newer ones before being sent. */
+	public long getDroppedFrames() { return droppedFrames.get(); }
+
+	/** Fetches the number of writes that failed. */
+	public long getFailedWrites() { return failedWrites.get(); }
+
+	/** Fetches the latency of the last completed write in milliseconds. */
+	public double getLastWriteLatencyMs() { return lastLatencyNanos / 1_000_000.0; }
+
+	/** Fetches the highest write latency in milliseconds. */
+	public double getMaxWriteLatencyMs() { return maxLatencyNanos / 1_000_000.0; }
+
+	/** Fetches the average write latency in milliseconds. */
+	public double getAverageWriteLatencyMs() {
+		long sent = sentFrames.get();
+		return (sent == 0) ? 0 : (totalLatencyNanos.get() / (double) sent) / 1_000_000.0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("LighthouseSendQueue [depth=%d, sent=%d, dropped=%d, failed=%d, avgLatency=%.2f ms, maxLatency=%.2f ms]",
+			getQueueDepth(), getSentFrames(), getDroppedFrames(), getFailedWrites(), getAverageWriteLatencyMs(), getMaxWriteLatencyMs());
+	}
+}
@@ -0,0 +1,28 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import java.io.IOException;
+
+import lighthouse.ui.scene.input.lighthouseapi.ILighthouseInputListener;
+import lighthouse.util.Listener;
+
+/**
+ * A destination for Lighthouse frames, either a single
+ * {@link LighthouseDisplay} or a {@link LighthouseDisplayGroup}.
+ */
+public interface LighthouseSink {
+	/**
+	 * Sends the first bytes of an RGB frame. Since every transmission
+	 * starts at the first window, only the covered windows are updated.
+	 */
+	void send(byte[] data, int length) throws IOException;
+	
+	boolean isConnected();
+	
+	void addButtonListener(ILighthouseInputListener listener);
+	
+	void removeButtonListener(ILighthouseInputListener listener);
+	
+	void addConnectListener(Listener<Void> listener);
+	
+	void removeConnectListener(Listener<Void> listener);
+}
@@ -0,0 +1,110 @@
+package lighthouse.ui.scene.viewmodel;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import lighthouse.model.grid.ColorGrid;
+import lighthouse.util.ColorUtils;
+
+/**
+ * An immutable, rendered frame of the Lighthouse grid.
+ * A frame is rendered once per tick and shared by every
+ * {@link lighthouse.ui.scene.view.LighthouseView}.
+ *
+ * <p>Encodings of the frame (such as the raw RGB bytes
+ * or a compressed image) are computed lazily and cached,
+ * thus each encoding is computed at most once per frame,
+ * regardless of the number of views that need it. Cached
+ * encodings are shared and thus must not be modified.</p>
+ */
+public class LighthouseFrame implements ColorGrid {
+	private static final int BYTES_PER_WINDOW = 3; // RGB colors
+	private final long sequenceNumber;
+	private final int columns;
+	private final int rows;
+	private final int[] pixels;
+	private final Map<String, Object> encodings = new ConcurrentHashMap<>();
+
+	/** Creates a frame from packed RGB pixels (in row-major order), which are copied. */
+	public LighthouseFrame(long sequenceNumber, int columns, int rows, int[] pixels) {
+		if (pixels.length < columns * rows) {
+			throw new IllegalArgumentException("A " + columns + "x" + rows + " frame requires " + (columns * rows) + " pixels, but got " + pixels.length);
+		}
+		this.sequenceNumber = sequenceNumber;
+		this.columns = columns;
+		this.rows = rows;
+		this.pixels = new int[columns * rows];
+		System.arraycopy(pixels, 0, this.pixels, 0, this.pixels.length);
+	}
+
+	/** Fetches the number of the frame, which increases with every rendered frame. */
+	public long getSequenceNumber() { return sequenceNumber; }
+
+	public int getColumns() { return columns; }
+
+	public int getRows() { return rows; }
+
+	@Override
+	public int getRGBAt(int x, int y) {
+		return pixels[(y * columns) + x];
+	}
+
+	@Override
+	public Color getColorAt(int x, int y) {
+		return new Color(getRGBAt(x, y));
+	}
+
+	@Override
+	public void copyRGB(int columns, int rows, int[] dest, int offset) {
+		for (int y = 0; y < rows; y++) {
+			System.arraycopy(pixels, y * this.columns, dest, offset + (y * columns), columns);
+		}
+	}
+
+	@Override
+	public void copyRGBBytes(int columns, int rows, byte[] dest, int offset) {
+		for (int y = 0; y < rows; y++) {
+			ColorUtils.unpackRGB(pixels, y * this.columns, dest, offset + (y * columns * BYTES_PER_WINDOW), columns);
+		}
+	}
+
+	/**
+	 * Fetches the frame as RGB bytes (in row-major order),
+	 * which is the format expected by the Lighthouse API.
+	 */
+	public byte[] getRGBBytes() {
+		return getEncoding("rgb", frame -> {
+			byte[] data = new byte[pixels.length * BYTES_PER_WINDOW];
+			ColorUtils.unpackRGB(pixels, 0, data, 0, pixels.length);
+			return data;
+		});
+	}
+
+	/** Fetches the frame as an image with one pixel per window. */
+	public BufferedImage getImage() {
+		return getEncoding("image", frame -> {
+			BufferedImage image = new BufferedImage(columns, rows, BufferedImage.TYPE_INT_RGB);
+			copyRGB(columns, rows, ((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0);
+			return image;
+		});
+	}
+
+	/**
+	 * Fetches a cached encoding of this frame or computes it
+	 * using the given encoder (which is called at most once
+	 * per key, unless it throws).
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getEncoding(String key, Function<LighthouseFrame, T> encoder) {
+		return (T) encodings.computeIfAbsent(key, k -> encoder.apply(this));
+	}
+
+	@Override
+	public String toString() {
+		return "LighthouseFrame #" + sequenceNumber + " (" + columns + "x" + rows + ")";
+	}
+}
@@ -1,16 +1,19 @@
 package lighthouse.ui.scene.viewmodel;
 
 import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
+import java.util.function.Function;
 
 import lighthouse.model.grid.ColorGrid;
-import lighthouse.ui.scene.viewmodel.graphics.Graphics2DSceneRenderer;
+import lighthouse.ui.scene.viewmodel.graphics.DirtyRegion;
+import lighthouse.ui.scene.viewmodel.graphics.PixelSceneRenderer;
+import lighthouse.ui.scene.viewmodel.graphics.SceneChangeTracker;
 import lighthouse.ui.scene.viewmodel.graphics.SceneLayer;
-import lighthouse.ui.scene.viewmodel.graphics.SceneShapeVisitor;
 import lighthouse.ui.scene.viewmodel.graphics.SceneViewModel;
+import lighthouse.util.ColorUtils;
+import lighthouse.util.DoubleRect;
+import lighthouse.util.DoubleVec;
 import lighthouse.util.IntVec;
 import lighthouse.util.LighthouseConstants;
 import lighthouse.util.transform.DoubleVecBijection;
@@ -18,12 +21,22 @@ import lighthouse.util.transform.DoubleVecBijection;
 /**
  * A class that wraps the grid preparing it for the big screen (the Lighthouse)
  * by scaling and translating the grid positions.
+ * 
+ * <p>Only the regions of the scene that have changed since
+ * the last render are redrawn.</p>
  */
 public class LighthouseViewModel implements ColorGrid {
+	/** The number of pixels around a dirty region that are redrawn too (covering rounding and outlines). */
+	private static final int DIRTY_MARGIN = 2;
 	private final int columns;
 	private final int rows;
 	private final SceneViewModel scene;
 	private final BufferedImage image;
+	private final int[] pixels;
+	private final PixelSceneRenderer renderer;
+	private final Function<DoubleVec, IntVec> gridPosToPixels;
+	private final SceneChangeTracker changeTracker = new SceneChangeTracker();
+	private LighthouseFrame lastFrame = null;
 	// TODO: Move these to the puzzle module:
 	private final DoubleVecBijection lighthouseSizeToGrid;
 	private final DoubleVecBijection lighthousePosToGrid;
@@ -40,6 +53,13 @@ public class LighthouseViewModel implements ColorGrid {
 		this.columns = columns;
 		this.rows = rows;
 		image = new BufferedImage(columns, rows, BufferedImage.TYPE_INT_RGB);
+		pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		gridPosToPixels = lighthousePosToGrid.inverse().floor();
+		renderer = new PixelSceneRenderer(pixels, columns, rows,
+			lighthousePosToGrid.inverse(),
+			lighthouseSizeToGrid.inverse(),
+			true
+		);
 	}
 
 	/** Fetches the Lighthouse grid's columns. */
@@ -52,43 +72,92 @@ public class LighthouseViewModel implements ColorGrid {
 		return rows;
 	}
 
-	public void render() {
-		int[] imgBuffer = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+	/**
+	 * Renders the changed regions of the scene into the backing pixels,
+	 * using integer math instead of Java2D. Returns whether anything
+	 * has been redrawn.
+	 */
+	public boolean render() {
+		DirtyRegion dirty = changeTracker.update(scene);
 		
-		for (int y = 0; y < rows; y++) {
-			for (int x = 0; x < columns; x++) {
-				imgBuffer[(y * columns) + x] = 0;
-			}
+		if (dirty.isEmpty()) {
+			return false;
+		} else if (!dirty.isAll()) {
+			DoubleRect rect = dirty.getRect();
+			IntVec a = gridPosToPixels.apply(rect.getTopLeft());
+			IntVec b = gridPosToPixels.apply(rect.getBottomRight());
+			int minX = Math.min(a.getX(), b.getX()) - DIRTY_MARGIN;
+			int minY = Math.min(a.getY(), b.getY()) - DIRTY_MARGIN;
+			int maxX = Math.max(a.getX(), b.getX()) + DIRTY_MARGIN + 1;
+			int maxY = Math.max(a.getY(), b.getY()) + DIRTY_MARGIN + 1;
+			renderer.setClip(minX, minY, maxX - minX, maxY - minY);
 		}
 		
-		Graphics2D g2d = image.createGraphics();
-		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasingEnabled ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
-		
-		SceneShapeVisitor renderer = new Graphics2DSceneRenderer(g2d,
-			lighthousePosToGrid.inverse().floor(),
-			lighthouseSizeToGrid.inverse().ceil()
-		);
+		renderer.setAntialiasingEnabled(antialiasingEnabled);
+		renderer.fill(Color.BLACK);
 		
 		for (SceneLayer layer : scene) {
 			if (layer.hasBackground()) {
-				g2d.setColor(layer.getBackground());
-				g2d.fillRect(0, 0, columns, rows);
+				renderer.fill(layer.getBackground());
 			}
 			
 			layer.acceptForAllShapes(renderer);
 		}
 		
-		g2d.dispose();
+		renderer.resetClip();
+		return true;
 	}
 	
-	@Override
-	public Color getColorAt(IntVec gridPos) {
-		return new Color(image.getRGB(gridPos.getX(), gridPos.getY()));
+	/** Forces the next render to redraw the entire scene. */
+	public void invalidate() {
+		changeTracker.invalidate();
+	}
+	
+	/**
+	 * Renders the scene into a new immutable frame. If
+	 * nothing has changed, the previous frame is returned.
+	 */
+	public LighthouseFrame renderFrame(long sequenceNumber) {
+		if (render() || lastFrame == null) {
+			lastFrame = new LighthouseFrame(sequenceNumber, columns, rows, pixels);
+		}
+		return lastFrame;
 	}
 	
 	@Override
 	public Color getColorAt(int x, int y) {
-		return getColorAt(new IntVec(x, y));
+		return new Color(getRGBAt(x, y));
+	}
+	
+	@Override
+	public int getRGBAt(int x, int y) {
+		return pixels[(y * columns) + x];
+	}
+	
+	/**
+	 * Fetches the backing array of packed (A)RGB pixels (in row-major
+	 * order), which is overwritten by every render and must not be modified.
+	 */
+	public int[] getPixels() {
+		return pixels;
+	}
+	
+	@Override
+	public void copyRGB(int columns, int rows, int[] dest, int offset) {
+		if (columns == this.columns) {
+			System.arraycopy(pixels, 0, dest, offset, columns * rows);
+		} else {
+			for (int y = 0; y < rows; y++) {
+				System.arraycopy(pixels, y * this.columns, dest, offset + (y * columns), columns);
+			}
+		}
+	}
+	
+	@Override
+	public void copyRGBBytes(int columns, int rows, byte[] dest, int offset) {
+		for (int y = 0; y < rows; y++) {
+			ColorUtils.unpackRGB(pixels, y * this.columns, dest, offset + (y * columns * 3), columns);
+		}
 	}
 	
 	public BufferedImage getImage() {
@@ -1,18 +1,22 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.util.function.Function;
 
 import lighthouse.util.DoubleVec;
 import lighthouse.util.IntVec;
 
 /**
- * A {@link Graphics2D}-based shape renderer.
+ * A {@link Graphics2D}-based shape renderer. Images
+ * are prescaled using a {@link SpriteCache}.
  */
 public class Graphics2DSceneRenderer implements SceneShapeVisitor {
 	private final Graphics2D g2d;
 	private final Function<DoubleVec, IntVec> gridPosToPixels;
 	private final Function<DoubleVec, IntVec> gridSizeToPixels;
+	private SpriteCache spriteCache = SpriteCache.SHARED;
 
 	public Graphics2DSceneRenderer(Graphics2D g2d, Function<DoubleVec, IntVec> gridToPixels) {
 		this(g2d, gridToPixels, gridToPixels);
@@ -27,6 +31,8 @@ public class Graphics2DSceneRenderer implements SceneShapeVisitor {
 		this.gridPosToPixels = gridPosToPixels;
 		this.gridSizeToPixels = gridSizeToPixels;
 	}
+	
+	public void setSpriteCache(SpriteCache spriteCache) { this.spriteCache = spriteCache; }
 
 	@Override
 	public void visitRect(SceneRect rect) {
@@ -76,7 +82,11 @@ public class Graphics2DSceneRenderer implements SceneShapeVisitor {
 		IntVec topLeft = gridPosToPixels.apply(image.getTopLeft());
 		IntVec size = gridSizeToPixels.apply(image.getImageSize());
 		
-		g2d.drawImage(image.getImage(), topLeft.getX(), topLeft.getY(), size.getX(), size.getY(), null);
+		if (size.getX() > 0 && size.getY() > 0) {
+			Object interpolation = g2d.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+			BufferedImage sprite = spriteCache.get(image.getImage(), size.getX(), size.getY(), interpolation);
+			g2d.drawImage(sprite, topLeft.getX(), topLeft.getY(), null);
+		}
 	}
 	
 	private void drawOval(IntVec topLeft, IntVec size, Shading shading) {
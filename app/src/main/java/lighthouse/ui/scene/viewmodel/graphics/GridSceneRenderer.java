@@ -15,7 +15,7 @@ import lighthouse.util.MathUtils;
  * A reference implementation of an {@link SceneShapeVisitor}
  * that renders the shape to a {@link WritableColorGrid}.
  * 
- * @deprecated {@link Graphics2DSceneRenderer} provides a more complete implementation.
+ * @deprecated {@link PixelSceneRenderer} provides a more complete (and faster) implementation.
  */
 @Deprecated
 public class GridSceneRenderer implements SceneShapeVisitor {
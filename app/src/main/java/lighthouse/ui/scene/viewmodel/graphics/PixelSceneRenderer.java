@@ -0,0 +1,341 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import java.awt.Color;
+
+import lighthouse.util.DoubleVec;
+import lighthouse.util.transform.DoubleVecBijection;
+
+/**
+ * A shape renderer that rasterizes directly into an array
+ * of packed RGB pixels (in row-major order) using integer
+ * math, thus avoiding the fixed overhead of Java2D, which
+ * dominates when rendering small targets like the Lighthouse.
+ *
+ * <p>Shapes are mapped to pixels exactly like
+ * {@link Graphics2DSceneRenderer} does. Translucent colors
+ * are blended over the existing pixels. If antialiasing is
+ * enabled, the edges of ovals are smoothed by sampling
+ * the coverage of each pixel on a {@link #SUBSAMPLES}x{@link #SUBSAMPLES}
+ * grid, otherwise a pixel is covered if its center is.</p>
+ *
+ * <p>Drawing can be restricted to a clip rectangle, which
+ * is used to only redraw the changed regions of a scene.
+ * Images are prescaled using a {@link SpriteCache}.</p>
+ *
+ * <p>The transforms have to be affine and axis-aligned (like
+ * compositions of {@code Scaling}s and {@code Translation}s), since
+ * they are sampled once (see {@link #updateTransforms()}) to map
+ * shapes to pixels without allocating any vectors. Positions
+ * are rounded down, sizes are rounded down or up.</p>
+ */
+public class PixelSceneRenderer implements SceneShapeVisitor {
+	/** The number of samples per pixel and axis when antialiasing. */
+	public static final int SUBSAMPLES = 4;
+	/** Tolerates rounding errors of the transforms, e.g. 0.6 / 0.2 is slightly less than 3. */
+	private static final double EPSILON = 1e-9;
+	private final int[] pixels;
+	private final int width;
+	private final int height;
+	private final DoubleVecBijection gridPosToPixels;
+	private final DoubleVecBijection gridSizeToPixels;
+	private final boolean roundSizesUp;
+	private double posScaleX;
+	private double posScaleY;
+	private double posOffsetX;
+	private double posOffsetY;
+	private double sizeScaleX;
+	private double sizeScaleY;
+	private double sizeOffsetX;
+	private double sizeOffsetY;
+	private boolean antialiasingEnabled = false;
+	private SpriteCache spriteCache = SpriteCache.SHARED;
+	private int clipMinX;
+	private int clipMinY;
+	private int clipMaxX;
+	private int clipMaxY;
+
+	/** Creates a renderer that rounds both positions and sizes down. */
+	public PixelSceneRenderer(int[] pixels, int width, int height, DoubleVecBijection gridToPixels) {
+		this(pixels, width, height, gridToPixels, gridToPixels, false);
+	}
+
+	public PixelSceneRenderer(
+		int[] pixels,
+		int width,
+		int height,
+		DoubleVecBijection gridPosToPixels,
+		DoubleVecBijection gridSizeToPixels,
+		boolean roundSizesUp
+	) {
+		if (pixels.length < width * height) {
+			throw new IllegalArgumentException("A " + width + "x" + height + " target requires " + (width * height) + " pixels, but got " + pixels.length);
+		}
+		this.pixels = pixels;
+		this.width = width;
+		this.height = height;
+		this.gridPosToPixels = gridPosToPixels;
+		this.gridSizeToPixels = gridSizeToPixels;
+		this.roundSizesUp = roundSizesUp;
+		updateTransforms();
+		resetClip();
+	}
+
+	/** Samples the scales and offsets of the transforms, which is required after they change. */
+	public void updateTransforms() {
+		DoubleVec posOrigin = gridPosToPixels.apply(DoubleVec.ZERO);
+		DoubleVec posUnit = gridPosToPixels.apply(new DoubleVec(1, 1));
+		posOffsetX = posOrigin.getX();
+		posOffsetY = posOrigin.getY();
+		posScaleX = posUnit.getX() - posOffsetX;
+		posScaleY = posUnit.getY() - posOffsetY;
+
+		DoubleVec sizeOrigin = gridSizeToPixels.apply(DoubleVec.ZERO);
+		DoubleVec sizeUnit = gridSizeToPixels.apply(new DoubleVec(1, 1));
+		sizeOffsetX = sizeOrigin.getX();
+		sizeOffsetY = sizeOrigin.getY();
+		sizeScaleX = sizeUnit.getX() - sizeOffsetX;
+		sizeScaleY = sizeUnit.getY() - sizeOffsetY;
+	}
+
+	private int toPixelX(double gridX) {
+		return (int) Math.floor((gridX * posScaleX) + posOffsetX + EPSILON);
+	}
+
+	private int toPixelY(double gridY) {
+		return (int) Math.floor((gridY * posScaleY) + posOffsetY + EPSILON);
+	}
+
+	private int toPixelWidth(double gridWidth) {
+		return roundSize((gridWidth * sizeScaleX) + sizeOffsetX);
+	}
+
+	private int toPixelHeight(double gridHeight) {
+		return roundSize((gridHeight * sizeScaleY) + sizeOffsetY);
+	}
+
+	private int roundSize(double size) {
+		return (int) (roundSizesUp ? Math.ceil(size - EPSILON) : Math.floor(size + EPSILON));
+	}
+
+	public void setAntialiasingEnabled(boolean antialiasingEnabled) { this.antialiasingEnabled = antialiasingEnabled; }
+
+	public boolean isAntialiasingEnabled() { return antialiasingEnabled; }
+
+	public void setSpriteCache(SpriteCache spriteCache) { this.spriteCache = spriteCache; }
+
+	/** Restricts drawing to the given rectangle (in pixels). */
+	public void setClip(int x, int y, int w, int h) {
+		clipMinX = Math.max(x, 0);
+		clipMinY = Math.max(y, 0);
+		clipMaxX = Math.min(x + w, width);
+		clipMaxY = Math.min(y + h, height);
+	}
+	
+	/** Allows drawing to the entire target. */
+	public void resetClip() {
+		setClip(0, 0, width, height);
+	}
+	
+	/** Fills the entire target (within the clip) with the given color. */
+	public void fill(Color color) {
+		fillRect(0, 0, width, height, color.getRGB());
+	}
+
+	@Override
+	public void visitRect(SceneRect rect) {
+		DoubleVec topLeft = rect.getTopLeft();
+		visitRect(topLeft.getX(), topLeft.getY(), rect.getWidth(), rect.getHeight(), rect.getColor().getRGB(), rect.getShading());
+	}
+
+	@Override
+	public void visitRect(double gridX, double gridY, double gridWidth, double gridHeight, int argb, Shading shading) {
+		int x = toPixelX(gridX);
+		int y = toPixelY(gridY);
+		int w = toPixelWidth(gridWidth);
+		int h = toPixelHeight(gridHeight);
+
+		switch (shading) {
+		case FILLED:
+			fillRect(x, y, w, h, argb);
+			break;
+		case OUTLINED:
+			// Like Java2D, the outline covers (w + 1) x (h + 1) pixels
+			if (w < 0 || h < 0) {
+				break;
+			} else if (w < 2 || h < 2) {
+				fillRect(x, y, w + 1, h + 1, argb);
+			} else {
+				fillRect(x, y, w + 1, 1, argb);
+				fillRect(x, y + h, w + 1, 1, argb);
+				fillRect(x, y + 1, 1, h - 1, argb);
+				fillRect(x + w, y + 1, 1, h - 1, argb);
+			}
+			break;
+		default:
+			throw invalidShading(shading);
+		}
+	}
+
+	@Override
+	public void visitFixedCircle(SceneFixedCircle circle) {
+		DoubleVec center = circle.getCenter();
+		double gridRadius = circle.getRadius();
+		// The circle uses the smaller of both radii (in pixels)
+		int radius = Math.min(toPixelWidth(gridRadius), toPixelHeight(gridRadius));
+		int x = toPixelX(center.getX() - gridRadius);
+		int y = toPixelY(center.getY() - gridRadius);
+
+		drawOval(x, y, radius * 2, radius * 2, circle.getShading(), circle.getColor().getRGB());
+	}
+
+	@Override
+	public void visitOval(SceneOval oval) {
+		DoubleVec center = oval.getCenter();
+		visitOval(center.getX(), center.getY(), oval.getXRadius(), oval.getYRadius(), oval.getColor().getRGB(), oval.getShading());
+	}
+
+	@Override
+	public void visitOval(double centerX, double centerY, double radiusX, double radiusY, int argb, Shading shading) {
+		int x = toPixelX(centerX - radiusX);
+		int y = toPixelY(centerY - radiusY);
+		int w = toPixelWidth(radiusX * 2);
+		int h = toPixelHeight(radiusY * 2);
+
+		drawOval(x, y, w, h, shading, argb);
+	}
+
+	@Override
+	public void visitImage(SceneImage sceneImage) {
+		DoubleVec topLeft = sceneImage.getTopLeft();
+		DoubleVec size = sceneImage.getImageSize();
+		int x = toPixelX(topLeft.getX());
+		int y = toPixelY(topLeft.getY());
+		int w = toPixelWidth(size.getX());
+		int h = toPixelHeight(size.getY());
+
+		if (w <= 0 || h <= 0) {
+			return;
+		}
+
+		int startX = Math.max(x, clipMinX);
+		int startY = Math.max(y, clipMinY);
+		int endX = Math.min(x + w, clipMaxX);
+		int endY = Math.min(y + h, clipMaxY);
+
+		if (startX >= endX || startY >= endY) {
+			return;
+		}
+
+		// The sprite is scaled to the target size, thus it maps 1:1 to pixels
+		int[] sprite = SpriteCache.getPixels(spriteCache.get(sceneImage.getImage(), w, h));
+		
+		for (int py = startY; py < endY; py++) {
+			int row = (py - y) * w - x;
+			for (int px = startX; px < endX; px++) {
+				blend(py * width + px, sprite[row + px], 255);
+			}
+		}
+	}
+
+	private void drawOval(int x, int y, int w, int h, Shading shading, int argb) {
+		if (w <= 0 || h <= 0) {
+			return;
+		}
+
+		int s = antialiasingEnabled ? SUBSAMPLES : 1;
+		int samples = s * s;
+		boolean outlined;
+
+		switch (shading) {
+		case FILLED:
+			outlined = false;
+			break;
+		case OUTLINED:
+			outlined = true;
+			break;
+		default:
+			throw invalidShading(shading);
+		}
+
+		// Positions are measured in units of 1 / (2 * s) pixels, thus
+		// the center of every sample has integer coordinates. Like Java2D
+		// (with normalized strokes), strokes and aliased fills are shifted
+		// by half a pixel.
+		long shift = (outlined || !antialiasingEnabled) ? s : 0;
+		long centerX = (2L * x + w) * s + shift;
+		long centerY = (2L * y + h) * s + shift;
+		long radiusX = (long) w * s;
+		long radiusY = (long) h * s;
+		// An outline is a stroke of width 1 centered on the ellipse
+		long outerRadiusX = outlined ? radiusX + s : radiusX;
+		long outerRadiusY = outlined ? radiusY + s : radiusY;
+		long innerRadiusX = radiusX - s;
+		long innerRadiusY = radiusY - s;
+		boolean hasInner = outlined && innerRadiusX > 0 && innerRadiusY > 0;
+
+		int startX = Math.max(x - 1, clipMinX);
+		int startY = Math.max(y - 1, clipMinY);
+		int endX = Math.min(x + w + 2, clipMaxX);
+		int endY = Math.min(y + h + 2, clipMaxY);
+
+		for (int py = startY; py < endY; py++) {
+			for (int px = startX; px < endX; px++) {
+				int covered = 0;
+
+				for (int sy = 0; sy < s; sy++) {
+					long dy = (2L * (py * s + sy) + 1) - centerY;
+					for (int sx = 0; sx < s; sx++) {
+						long dx = (2L * (px * s + sx) + 1) - centerX;
+						if (insideEllipse(dx, dy, outerRadiusX, outerRadiusY) && !(hasInner && insideEllipse(dx, dy, innerRadiusX, innerRadiusY))) {
+							covered++;
+						}
+					}
+				}
+
+				if (covered > 0) {
+					blend(py * width + px, argb, (covered * 255) / samples);
+				}
+			}
+		}
+	}
+
+	private static boolean insideEllipse(long dx, long dy, long radiusX, long radiusY) {
+		long a = dx * radiusY;
+		long b = dy * radiusX;
+		long r = radiusX * radiusY;
+		return (a * a) + (b * b) < r * r;
+	}
+
+	private void fillRect(int x, int y, int w, int h, int argb) {
+		int startX = Math.max(x, clipMinX);
+		int startY = Math.max(y, clipMinY);
+		int endX = Math.min(x + w, clipMaxX);
+		int endY = Math.min(y + h, clipMaxY);
+
+		for (int py = startY; py < endY; py++) {
+			int row = py * width;
+			for (int px = startX; px < endX; px++) {
+				blend(row + px, argb, 255);
+			}
+		}
+	}
+
+	/** Blends the color over the pixel, scaling its alpha by the given coverage (0-255). */
+	private void blend(int index, int argb, int coverage) {
+		int alpha = ((argb >>> 24) * coverage + 127) / 255;
+		if (alpha == 255) {
+			pixels[index] = argb & 0xFFFFFF;
+		} else if (alpha > 0) {
+			int dst = pixels[index];
+			int inverse = 255 - alpha;
+			int r = ((((argb >> 16) & 0xFF) * alpha) + (((dst >> 16) & 0xFF) * inverse) + 127) / 255;
+			int g = ((((argb >> 8) & 0xFF) * alpha) + (((dst >> 8) & 0xFF) * inverse) + 127) / 255;
+			int b = (((argb & 0xFF) * alpha) + ((dst & 0xFF) * inverse) + 127) / 255;
+			pixels[index] = (r << 16) | (g << 8) | b;
+		}
+	}
+
+	private RuntimeException invalidShading(Shading shading) {
+		return new IllegalArgumentException("Invalid shading: " + shading);
+	}
+}
@@ -0,0 +1,206 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A cache of images that have been scaled to a target
+ * size (in pixels), which avoids downsampling large images
+ * (e.g. GIF frames) on every frame. Sprites are stored
+ * as {@code TYPE_INT_ARGB} images, thus their packed pixels
+ * can be used directly by the {@link PixelSceneRenderer}.
+ *
+ * <p>Sprites are evicted in least-recently-used order once
+ * their total size exceeds the memory budget. Since images
+ * are identified by reference, they must not be modified
+ * after being drawn. Source images are only weakly referenced,
+ * thus the sprites of an image that is no longer used elsewhere
+ * (e.g. evicted from an image loader) are dropped too.</p>
+ */
+public class SpriteCache {
+	/** The cache shared by the local and the Lighthouse renderers. */
+	public static final SpriteCache SHARED = new SpriteCache(16 * 1024 * 1024);
+	private static final int BYTES_PER_PIXEL = 4;
+	private final long budgetBytes;
+	private final Map<Key, BufferedImage> sprites = new LinkedHashMap<>(16, 0.75F, true);
+	private final ReferenceQueue<BufferedImage> collectedImages = new ReferenceQueue<>();
+	private long usedBytes = 0;
+	private long hits = 0;
+	private long misses = 0;
+
+	public SpriteCache(long budgetBytes) {
+		this.budgetBytes = budgetBytes;
+	}
+
+	/**
+	 * Fetches the image scaled to the given size using nearest-neighbor
+	 * interpolation, which matches Java2D's default.
+	 */
+	public BufferedImage get(BufferedImage image, int width, int height) {
+		return get(image, width, height, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+	}
+
+	/**
+	 * Fetches the image scaled to the given (positive) size
+	 * using the given interpolation (a value of
+	 * {@link RenderingHints#KEY_INTERPOLATION} or null for the default).
+	 */
+	public BufferedImage get(BufferedImage image, int width, int height, Object interpolation) {
+		if (interpolation == null) {
+			interpolation = RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+		}
+
+		Key key = new Key(image, width, height, interpolation, null);
+		synchronized (this) {
+			expungeCollected();
+			BufferedImage sprite = sprites.get(key);
+			if (sprite != null) {
+				hits++;
+				return sprite;
+			}
+			misses++;
+		}
+
+		// Scale outside of the lock, concurrent misses may scale twice
+		BufferedImage sprite = scale(image, width, height, interpolation);
+		long bytes = (long) width * height * BYTES_PER_PIXEL;
+
+		if (bytes <= budgetBytes) {
+			synchronized (this) {
+				// Only stored keys are registered, thus they are expunged once the image is collected
+				BufferedImage previous = sprites.put(new Key(image, width, height, interpolation, collectedImages), sprite);
+				if (previous == null) {
+					usedBytes += bytes;
+					evict();
+				}
+			}
+		}
+
+		return sprite;
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<Key, BufferedImage>> iterator = sprites.entrySet().iterator();
+		while (usedBytes > budgetBytes && iterator.hasNext()) {
+			usedBytes -= iterator.next().getKey().getBytes();
+			iterator.remove();
+		}
+	}
+
+	/** Removes the sprites of source images that have been garbage collected. */
+	private void expungeCollected() {
+		Reference<? extends BufferedImage> collected;
+		while ((collected = collectedImages.poll()) != null) {
+			Key key = (Key) collected;
+			if (sprites.remove(key) != null) {
+				usedBytes -= key.getBytes();
+			}
+		}
+	}
+
+	private static BufferedImage scale(BufferedImage image, int width, int height, Object interpolation) {
+		BufferedImage sprite = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+		if (interpolation == RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR) {
+			int[] pixels = ((DataBufferInt) sprite.getRaster().getDataBuffer()).getData();
+			int imageWidth = image.getWidth();
+			int imageHeight = image.getHeight();
+			// Samples the source at the center of each target pixel.
+			// Like Java2D, the source is stepped through in 32.32 fixed point.
+			long stepX = ((long) imageWidth << 32) / width;
+			long stepY = ((long) imageHeight << 32) / height;
+
+			for (int y = 0; y < height; y++) {
+				int sy = (int) (((stepY >> 1) + y * stepY) >> 32);
+				for (int x = 0; x < width; x++) {
+					int sx = (int) (((stepX >> 1) + x * stepX) >> 32);
+					pixels[(y * width) + x] = image.getRGB(sx, sy);
+				}
+			}
+		} else {
+			Graphics2D g2d = sprite.createGraphics();
+			g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+			g2d.drawImage(image, 0, 0, width, height, null);
+			g2d.dispose();
+		}
+
+		return sprite;
+	}
+
+	/** Fetches the packed ARGB pixels of a sprite (in row-major order). */
+	public static int[] getPixels(BufferedImage sprite) {
+		return ((DataBufferInt) sprite.getRaster().getDataBuffer()).getData();
+	}
+
+	public synchronized int getSize() {
+		expungeCollected();
+		return sprites.size();
+	}
+
+	/** Fetches the total size of the cached sprites in bytes. */
+	public synchronized long getUsedBytes() {
+		expungeCollected();
+		return usedBytes;
+	}
+
+	public long getBudgetBytes() { return budgetBytes; }
+
+	public synchronized long getHits() { return hits; }
+
+	public synchronized long getMisses() { return misses; }
+
+	public synchronized void clear() {
+		expungeCollected();
+		sprites.clear();
+		usedBytes = 0;
+	}
+
+	/**
+	 * Identifies a sprite by its (weakly referenced) source image.
+	 * A key whose image has been collected only equals itself.
+	 */
+	private static class Key extends WeakReference<BufferedImage> {
+		private final int width;
+		private final int height;
+		private final Object interpolation;
+		private final int hash;
+
+		public Key(BufferedImage image, int width, int height, Object interpolation, ReferenceQueue<BufferedImage> queue) {
+			super(image, queue);
+			this.width = width;
+			this.height = height;
+			this.interpolation = interpolation;
+			hash = Objects.hash(System.identityHashCode(image), width, height, interpolation);
+		}
+
+		public long getBytes() { return (long) width * height * BYTES_PER_PIXEL; }
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null) return false;
+			if (this == obj) return true;
+			if (!getClass().equals(obj.getClass())) return false;
+			Key other = (Key) obj;
+			BufferedImage image = get();
+			return (image != null)
+				&& (image == other.get())
+				&& (width == other.width)
+				&& (height == other.height)
+				&& interpolation.equals(other.interpolation);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -2,6 +2,7 @@ package lighthouse.ui.sidebar;
 
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -14,7 +15,7 @@ import lighthouse.ui.SwingViewController;
 import lighthouse.ui.scene.SceneViewController;
 import lighthouse.ui.scene.input.SceneLighthouseInput;
 import lighthouse.ui.scene.view.RemoteLighthouseView;
-import lighthouse.ui.scene.view.lighthouseapi.LighthouseDisplay;
+import lighthouse.ui.scene.view.lighthouseapi.LighthouseDisplayGroup;
 import lighthouse.util.ConfigFile;
 import lighthouse.util.ResourceConfigFile;
 
@@ -26,20 +27,17 @@ public class LighthouseConnectorViewController implements SwingViewController {
 	private static final Logger LOG = LoggerFactory.getLogger(LighthouseConnectorViewController.class);
 	private final JComponent component;
 	private final SceneViewController scene;
-	private LighthouseDisplay api;
-	private boolean connected = false;
+	private final LighthouseDisplayGroup displays = new LighthouseDisplayGroup();
+	private RemoteLighthouseView remoteView;
+	private boolean deltaEnabled = false;
 	
 	public LighthouseConnectorViewController(SceneViewController scene) {
 		this.scene = scene;
 		component = new JPanel();
 		component.setLayout(new BoxLayout(component, BoxLayout.Y_AXIS));
 		
-		// Close the API connection on shutdown if present
-		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-			if (api != null) {
-				api.close();
-			}
-		}));
+		// Close the API connections on shutdown
+		Runtime.getRuntime().addShutdownHook(new Thread(displays::close));
 		
 		// Assemble connector GUI
 		JTextField usernameField = new JTextField();
@@ -50,10 +48,19 @@ public class LighthouseConnectorViewController implements SwingViewController {
 		tokenField.setColumns(15);
 		component.add(labelled("Token", tokenField));
 		
+		JCheckBox deltaCheckBox = new JCheckBox("Send delta frames");
+		deltaCheckBox.addActionListener(l -> setDeltaEnabled(deltaCheckBox.isSelected()));
+		component.add(deltaCheckBox);
+		
 		JButton connectButton = new JButton("Connect");
-		connectButton.addActionListener(l -> connect(usernameField.getText(), tokenField.getText()));
+		connectButton.addActionListener(l -> connect(usernameField.getText(), tokenField.getText(), true));
 		component.add(connectButton);
 		
+		JButton addButton = new JButton("Add display");
+		addButton.setToolTipText("Mirrors the scene to another account/installation");
+		addButton.addActionListener(l -> connect(usernameField.getText(), tokenField.getText(), false));
+		component.add(addButton);
+		
 		// Initialize login fields with config file data
 		ConfigFile auth = new ResourceConfigFile("/authentication.txt");
 		if (auth.has("username") && auth.has("token")) {
@@ -64,25 +71,37 @@ public class LighthouseConnectorViewController implements SwingViewController {
 		}
 	}
 	
-	private void connect(String username, String token) {
-		if (connected) {
-			api.close();
-			LOG.info("Reconnecting to Lighthouse...");
+	private void connect(String username, String token, boolean replace) {
+		if (remoteView == null) {
+			// A single view renders the scene once for every display
+			remoteView = new RemoteLighthouseView(displays);
+			remoteView.setDeltaEnabled(deltaEnabled);
+			SceneLighthouseInput lhInput = new SceneLighthouseInput();
+			
+			lhInput.addResponder(scene.getResponder());
+			scene.addLighthouseView(remoteView);
+			
+			remoteView.addButtonInput(lhInput);
+			remoteView.addConnectListener(v -> scene.render());
 		}
 		
-		api = new LighthouseDisplay(username, token);
-		
-		RemoteLighthouseView remoteView = new RemoteLighthouseView(api);
-		SceneLighthouseInput lhInput = new SceneLighthouseInput();
-		
-		lhInput.addResponder(scene.getResponder());
-		scene.addLighthouseView(remoteView);
-		
-		remoteView.addButtonInput(lhInput);
-		remoteView.addConnectListener(v -> scene.render());
-		remoteView.connect();
+		if (replace && displays.size() > 0) {
+			displays.clear();
+			LOG.info("Reconnecting to Lighthouse...");
+		}
 		
-		connected = true;
+		try {
+			displays.add(username, token);
+		} catch (Exception e) {
+			LOG.error("An exception occurred while connecting to the Lighthouse: ", e);
+		}
+	}
+	
+	private void setDeltaEnabled(boolean deltaEnabled) {
+		this.deltaEnabled = deltaEnabled;
+		if (remoteView != null) {
+			remoteView.setDeltaEnabled(deltaEnabled);
+		}
 	}
 	
 	private JPanel labelled(String label, JComponent component) {
@@ -0,0 +1,25 @@
+package lighthouse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import lighthouse.gameapi.Game;
+
+public class GamesTest {
+	@Test
+	public void testHeadlessGamesExcludeCustomViewControllers() {
+		List<String> all = Games.all().stream().map(Game::getName).collect(Collectors.toList());
+		List<Game> headless = Games.headless();
+
+		assertFalse(headless.stream().anyMatch(Game::hasCustomGameViewController));
+		assertEquals(
+			all.stream().filter(name -> !name.equals("Puzzle")).collect(Collectors.toList()),
+			headless.stream().map(Game::getName).collect(Collectors.toList())
+		);
+	}
+}
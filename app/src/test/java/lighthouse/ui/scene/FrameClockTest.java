@@ -0,0 +1,54 @@
+package lighthouse.ui.scene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class FrameClockTest {
+	@Test
+	public void testRequestsAreCoalesced() throws Exception {
+		AtomicInteger ticks = new AtomicInteger();
+		FrameClock clock = new FrameClock("Test clock", 20, () -> {
+			ticks.incrementAndGet();
+			return false;
+		});
+		clock.start();
+
+		for (int i = 0; i < 100; i++) {
+			clock.requestTick();
+		}
+		Thread.sleep(300);
+		clock.stop();
+
+		// The first request may tick immediately, the remaining ones are merged into (at most) one more tick
+		assertTrue("Ticks: " + ticks.get(), ticks.get() >= 1 && ticks.get() <= 2);
+	}
+
+	@Test
+	public void testRunsAtTargetRate() throws Exception {
+		FrameClock clock = new FrameClock("Test clock", 50, () -> true);
+		clock.start();
+		clock.requestTick();
+		Thread.sleep(1000);
+		clock.stop();
+
+		long ticks = clock.getTicks();
+		assertTrue("Ticks: " + ticks, ticks >= 25 && ticks <= 55);
+	}
+
+	@Test
+	public void testFailingTicksStopTheClock() throws Exception {
+		FrameClock clock = new FrameClock("Test clock", 100, () -> {
+			throw new IllegalStateException("Test");
+		});
+		clock.start();
+		clock.requestTick();
+		Thread.sleep(300);
+		clock.stop();
+
+		assertEquals(5, clock.getFailedTicks());
+	}
+}
@@ -0,0 +1,38 @@
+package lighthouse.ui.scene.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FrameDeduplicatorTest {
+	@Test
+	public void testSuppressesUnchangedFrames() {
+		FrameDeduplicator deduplicator = new FrameDeduplicator(0);
+		byte[] frame = {1, 2, 3, 4};
+
+		assertTrue(deduplicator.shouldSend(frame, 4));
+		assertFalse(deduplicator.shouldSend(frame.clone(), 4));
+		assertTrue("A shorter frame should be sent", deduplicator.shouldSend(frame, 3));
+
+		frame[2] = 5;
+		assertTrue(deduplicator.shouldSend(frame, 3));
+		assertEquals(1, deduplicator.getSuppressedFrames());
+
+		deduplicator.reset();
+		assertTrue(deduplicator.shouldSend(frame, 3));
+	}
+
+	@Test
+	public void testByteAndPackedFramesAreTrackedSeparately() {
+		FrameDeduplicator deduplicator = new FrameDeduplicator(0);
+		byte[] bytes = {1, 2, 3};
+		int[] ints = {1, 2, 3};
+
+		assertTrue(deduplicator.shouldSend(bytes, bytes.length));
+		assertTrue("The first packed frame should be sent", deduplicator.shouldSend(ints));
+		assertFalse(deduplicator.shouldSend(bytes, bytes.length));
+		assertFalse(deduplicator.shouldSend(ints.clone()));
+	}
+}
@@ -0,0 +1,67 @@
+package lighthouse.ui.scene.view;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import lighthouse.ui.scene.input.lighthouseapi.ILighthouseInputListener;
+import lighthouse.ui.scene.view.lighthouseapi.LighthouseSink;
+import lighthouse.ui.scene.viewmodel.LighthouseFrame;
+import lighthouse.util.LighthouseConstants;
+import lighthouse.util.Listener;
+import lighthouse.util.ListenerList;
+
+public class RemoteLighthouseViewTest {
+	private static final int FRAME_BYTES = LighthouseConstants.ROWS * LighthouseConstants.COLS * 3;
+
+	@Test
+	public void testReconnectSendsKeyframe() throws Exception {
+		FakeSink sink = new FakeSink();
+		RemoteLighthouseView view = new RemoteLighthouseView(sink);
+		view.setDeltaEnabled(true);
+		int[] pixels = new int[LighthouseConstants.ROWS * LighthouseConstants.COLS];
+
+		view.draw(new LighthouseFrame(0, LighthouseConstants.COLS, LighthouseConstants.ROWS, pixels));
+		pixels[0] = 0xFFFF0000;
+		view.draw(new LighthouseFrame(1, LighthouseConstants.COLS, LighthouseConstants.ROWS, pixels.clone()));
+		view.draw(new LighthouseFrame(2, LighthouseConstants.COLS, LighthouseConstants.ROWS, pixels.clone()));
+		assertEquals(FRAME_BYTES, (int) sink.lengths.get(0));
+		assertEquals(3, (int) sink.lengths.get(1));
+		assertEquals(2, sink.lengths.size()); // The unchanged frame is suppressed
+
+		// Connect listeners are fired from the connection's thread
+		Thread connector = new Thread(() -> sink.connectListeners.fire());
+		connector.start();
+		connector.join();
+
+		view.draw(new LighthouseFrame(3, LighthouseConstants.COLS, LighthouseConstants.ROWS, pixels.clone()));
+		assertEquals(3, sink.lengths.size());
+		assertEquals(FRAME_BYTES, (int) sink.lengths.get(2));
+	}
+
+	private static class FakeSink implements LighthouseSink {
+		private final List<Integer> lengths = new ArrayList<>();
+		private final ListenerList<Void> connectListeners = new ListenerList<>("FakeSink.connectListeners");
+
+		@Override
+		public void send(byte[] data, int length) { lengths.add(length); }
+
+		@Override
+		public boolean isConnected() { return true; }
+
+		@Override
+		public void addButtonListener(ILighthouseInputListener listener) {}
+
+		@Override
+		public void removeButtonListener(ILighthouseInputListener listener) {}
+
+		@Override
+		public void addConnectListener(Listener<Void> listener) { connectListeners.add(listener); }
+
+		@Override
+		public void removeConnectListener(Listener<Void> listener) { connectListeners.remove(listener); }
+	}
+}
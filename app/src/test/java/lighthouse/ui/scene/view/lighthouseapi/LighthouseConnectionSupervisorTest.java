@@ -0,0 +1,202 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import lighthouse.util.Listener;
+import lighthouse.util.ListenerList;
+
+public class LighthouseConnectionSupervisorTest {
+	@Test
+	public void testBackoffIsJitteredAndBounded() {
+		LighthouseConnectionSupervisor supervisor = new LighthouseConnectionSupervisor(new LighthouseDisplay("user", "token"), 100, 5000, 1000);
+		
+		for (int attempt = 0; attempt < 100; attempt++) {
+			long backoff = Math.min(5000, 100L << Math.min(attempt, 20));
+			long delay = supervisor.computeDelayMs(attempt);
+			assertTrue("Delay " + delay + " below half the backoff", delay >= backoff / 2);
+			assertTrue("Delay " + delay + " exceeds the backoff", delay <= backoff);
+		}
+	}
+
+	@Test
+	public void testRetriesUntilConnected() throws Exception {
+		FakeDisplay display = new FakeDisplay(3, 0);
+		LighthouseConnectionSupervisor supervisor = new LighthouseConnectionSupervisor(display, 10, 40, 1000);
+
+		try {
+			supervisor.start();
+			assertTrue("Not connected", display.awaitConnects(1));
+			assertEquals(4, display.getAttempts());
+			assertEquals(0, supervisor.getFailedAttempts());
+
+			// A dropped connection is resumed
+			display.drop();
+			assertTrue("Not reconnected", display.awaitConnects(2));
+			assertEquals(5, display.getAttempts());
+			assertEquals(1, supervisor.getDroppedConnections());
+		} finally {
+			supervisor.stop();
+		}
+	}
+
+	@Test
+	public void testStopsReconnectingDuringBackoff() throws Exception {
+		FakeDisplay display = new FakeDisplay(Integer.MAX_VALUE, 0);
+		LighthouseConnectionSupervisor supervisor = new LighthouseConnectionSupervisor(display, 200, 200, 1000);
+
+		supervisor.start();
+		// The first attempt happens immediately, the next one after at least 100 ms
+		assertTrue("No attempt", display.awaitAttempts(1));
+		supervisor.stop();
+		Thread.sleep(400);
+
+		assertFalse(supervisor.isActive());
+		assertEquals(1, display.getAttempts());
+		assertTrue(display.isClosed());
+
+		// Disconnects after stopping are not handled anymore
+		display.drop();
+		Thread.sleep(100);
+		assertEquals(1, display.getAttempts());
+	}
+
+	@Test
+	public void testRetriesAfterConnectTimeout() throws Exception {
+		FakeDisplay display = new FakeDisplay(0, 1);
+		LighthouseConnectionSupervisor supervisor = new LighthouseConnectionSupervisor(display, 10, 10, 50);
+
+		try {
+			supervisor.start();
+			assertTrue("No attempt", display.awaitAttempts(1));
+			assertFalse(display.isConnected());
+
+			// The first attempt never completes, thus the timeout triggers another one
+			assertTrue("Not connected after the timeout", display.awaitConnects(1));
+			assertEquals(2, display.getAttempts());
+			assertEquals(0, supervisor.getFailedAttempts());
+		} finally {
+			supervisor.stop();
+		}
+	}
+
+	@Test
+	public void testSharedExecutor() throws Exception {
+		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+		FakeDisplay first = new FakeDisplay(2, 0);
+		FakeDisplay second = new FakeDisplay(1, 1);
+		LighthouseConnectionSupervisor firstSupervisor = new LighthouseConnectionSupervisor(first, 10, 40, 50, executor);
+		LighthouseConnectionSupervisor secondSupervisor = new LighthouseConnectionSupervisor(second, 10, 40, 50, executor);
+
+		try {
+			firstSupervisor.start();
+			secondSupervisor.start();
+			assertTrue("First display not connected", first.awaitConnects(1));
+			assertTrue("Second display not connected", second.awaitConnects(1));
+
+			// Stopping a supervisor neither stops the other one nor the shared executor
+			firstSupervisor.stop();
+			assertFalse(executor.isShutdown());
+			second.drop();
+			assertTrue("Second display not reconnected", second.awaitConnects(2));
+
+			secondSupervisor.stop();
+			assertFalse(executor.isShutdown());
+			assertEquals(3, first.getAttempts());
+		} finally {
+			firstSupervisor.stop();
+			secondSupervisor.stop();
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * A display that refuses a number of connection attempts,
+	 * then never completes a number of attempts and connects
+	 * (synchronously) afterwards.
+	 */
+	private static class FakeDisplay extends LighthouseDisplay {
+		private static final long TIMEOUT_MS = 5000;
+		private final ListenerList<Void> connectListeners = new ListenerList<>("FakeDisplay.connectListeners");
+		private final ListenerList<Void> disconnectListeners = new ListenerList<>("FakeDisplay.disconnectListeners");
+		private final int refusedAttempts;
+		private final int hangingAttempts;
+		private final AtomicInteger attempts = new AtomicInteger();
+		private final AtomicInteger connects = new AtomicInteger();
+		private volatile boolean connected = false;
+		private volatile boolean closed = false;
+
+		public FakeDisplay(int refusedAttempts, int hangingAttempts) {
+			super("user", "token");
+			this.refusedAttempts = refusedAttempts;
+			this.hangingAttempts = hangingAttempts;
+		}
+
+		@Override
+		public synchronized void reconnect() throws Exception {
+			int attempt = attempts.incrementAndGet();
+			if (attempt <= refusedAttempts) {
+				throw new IOException("Connection refused");
+			} else if (attempt > refusedAttempts + hangingAttempts) {
+				connected = true;
+				connects.incrementAndGet();
+				connectListeners.fire();
+			}
+		}
+
+		/** Drops the connection unintentionally. */
+		public void drop() {
+			connected = false;
+			disconnectListeners.fire();
+		}
+
+		@Override
+		public boolean isConnected() { return connected; }
+
+		@Override
+		public synchronized void close() {
+			connected = false;
+			closed = true;
+		}
+
+		public boolean isClosed() { return closed; }
+
+		public int getAttempts() { return attempts.get(); }
+
+		public boolean awaitAttempts(int count) throws InterruptedException { return await(attempts, count); }
+
+		public boolean awaitConnects(int count) throws InterruptedException { return await(connects, count); }
+
+		private boolean await(AtomicInteger counter, int count) throws InterruptedException {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS);
+			while (counter.get() < count) {
+				if (System.nanoTime() > deadline) {
+					return false;
+				}
+				Thread.sleep(5);
+			}
+			return true;
+		}
+
+		@Override
+		public void addConnectListener(Listener<Void> listener) { connectListeners.add(listener); }
+
+		@Override
+		public void removeConnectListener(Listener<Void> listener) { connectListeners.remove(listener); }
+
+		@Override
+		public void addDisconnectListener(Listener<Void> listener) { disconnectListeners.add(listener); }
+
+		@Override
+		public void removeDisconnectListener(Listener<Void> listener) { disconnectListeners.remove(listener); }
+	}
+}
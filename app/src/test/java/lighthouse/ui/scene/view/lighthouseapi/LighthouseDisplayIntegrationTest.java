@@ -0,0 +1,186 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lighthouse.mockserver.MockLighthouseServer;
+import lighthouse.mockserver.ReceivedFrame;
+import lighthouse.ui.scene.input.lighthouseapi.ILighthouseInputListener;
+
+/**
+ * End-to-end tests of the frame pipeline against
+ * a local {@link MockLighthouseServer}.
+ */
+public class LighthouseDisplayIntegrationTest {
+	private static final Logger LOG = LoggerFactory.getLogger(LighthouseDisplayIntegrationTest.class);
+	private static final long TIMEOUT_MS = 5000;
+	private static final int FRAME_BYTES = 1176;
+	private MockLighthouseServer server;
+	private LighthouseDisplay display;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new MockLighthouseServer();
+		server.addUser("alice", "secret");
+		server.start();
+		display = new LighthouseDisplay("alice", "secret");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		display.close();
+		server.stop();
+	}
+
+	@Test
+	public void testFramesArrive() throws Exception {
+		display.connect(server.getUri("alice").toString());
+		waitUntil(display::isConnected);
+
+		int frameCount = 200;
+		long start = System.nanoTime();
+		for (int i = 0; i < frameCount; i++) {
+			display.send(frame(i));
+			// Pace the frames slightly, since the queue only keeps the latest one
+			Thread.sleep(1);
+		}
+
+		waitUntil(() -> server.getLastFrame() != null && server.getLastFrame().getPayload()[0] == (byte) (frameCount - 1));
+		double seconds = (System.nanoTime() - start) / 1e9;
+		LighthouseSendQueue queue = display.getSendQueue();
+		LOG.info("Received {} of {} frames in {} s ({})", server.getReceivedFrames(), frameCount, seconds, queue);
+
+		assertArrayEquals(frame(frameCount - 1), server.getLastFrame().getPayload());
+		// Every frame has either been sent or replaced by a newer one
+		waitUntil(() -> queue.getQueueDepth() == 0);
+		assertEquals(server.getReceivedFrames(), queue.getSentFrames());
+		assertEquals(frameCount, queue.getSentFrames() + queue.getDroppedFrames());
+	}
+
+	@Test
+	public void testInputEvents() throws Exception {
+		BlockingQueue<String> events = new LinkedBlockingQueue<>();
+		display.addButtonListener(new ILighthouseInputListener() {
+			@Override
+			public void keyboardEvent(int source, int button, boolean down) {
+				events.add("key " + source + " " + button + " " + down);
+			}
+
+			@Override
+			public void controllerEvent(int source, int button, boolean down) {
+				events.add("btn " + source + " " + button + " " + down);
+			}
+		});
+
+		display.connect(server.getUri("alice").toString());
+		waitUntil(() -> server.getStreamingConnections() == 1);
+
+		server.injectKeyEvent(3, 37, true);
+		server.injectControllerEvent(4, 13, false);
+
+		assertEquals("key 3 37 true", events.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		assertEquals("btn 4 13 false", events.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void testReconnectReplaysLastFrame() throws Exception {
+		display.connect(server.getUri("alice").toString());
+		waitUntil(display::isConnected);
+		
+		try (LighthouseConnectionSupervisor supervisor = new LighthouseConnectionSupervisor(display, 10, 100, 1000)) {
+			supervisor.start();
+
+			display.send(frame(42));
+			assertTrue(server.awaitFrames(1, TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+			server.setLatency(5, 5);
+			server.clearFrames();
+			server.disconnectAll(true);
+
+			waitUntil(() -> server.getConnections() == 2 && server.getLastFrame() != null);
+			assertArrayEquals("The last frame should be replayed", frame(42), server.getLastFrame().getPayload());
+			assertEquals(1, supervisor.getDroppedConnections());
+			waitUntil(() -> server.getStreamingConnections() == 1);
+		}
+	}
+
+	@Test
+	public void testDroppedDeltasAreCovered() throws Exception {
+		display.connect(server.getUri("alice").toString());
+		waitUntil(display::isConnected);
+		server.setLatency(10, 0);
+
+		byte[] expected = frame(0);
+		display.send(expected);
+		for (int i = 1; i <= 20; i++) {
+			// Delta frames that only cover the leading windows, most of them replace each other in the queue
+			int length = (FRAME_BYTES / 3 - i * 10) * 3;
+			byte[] delta = frame(i);
+			System.arraycopy(delta, 0, expected, 0, length);
+			display.send(delta, length);
+		}
+
+		waitUntil(() -> display.getSendQueue().getQueueDepth() == 0 && server.getReceivedFrames() == display.getSendQueue().getSentFrames());
+		byte[] windows = new byte[FRAME_BYTES];
+		for (ReceivedFrame received : server.getFrames()) {
+			System.arraycopy(received.getPayload(), 0, windows, 0, received.getPayload().length);
+		}
+		assertArrayEquals(expected, windows);
+	}
+
+	@Test
+	public void testGroupFansOut() throws Exception {
+		server.addUser("bob", "token");
+
+		try (LighthouseDisplayGroup group = new LighthouseDisplayGroup()) {
+			LighthouseDisplay alice = group.add("alice", "secret", server.getUri("alice").toString());
+			LighthouseDisplay bob = group.add("bob", "token", server.getUri("bob").toString());
+			waitUntil(() -> alice.isConnected() && bob.isConnected());
+
+			group.send(frame(7), FRAME_BYTES);
+			assertTrue(server.awaitFrames(2, TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+			List<ReceivedFrame> frames = server.getFrames();
+			assertEquals(2, frames.size());
+			assertEquals(new HashSet<>(Arrays.asList("alice", "bob")), new HashSet<>(Arrays.asList(frames.get(0).getUsername(), frames.get(1).getUsername())));
+
+			// A display that drops out does not affect the others
+			group.remove(bob);
+			group.send(frame(8), FRAME_BYTES);
+			assertTrue(server.awaitFrames(3, TIMEOUT_MS, TimeUnit.MILLISECONDS));
+			assertEquals("alice", server.getLastFrame().getUsername());
+			assertEquals(1, group.size());
+		}
+	}
+
+	private byte[] frame(int index) {
+		byte[] frame = new byte[FRAME_BYTES];
+		for (int i = 0; i < frame.length; i++) {
+			frame[i] = (byte) (index + i);
+		}
+		return frame;
+	}
+
+	private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while (!condition.getAsBoolean()) {
+			assertTrue("Timed out", System.currentTimeMillis() < deadline);
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.junit.Test;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.Value;
+import org.msgpack.value.ValueFactory;
+
+import lighthouse.ui.scene.view.lighthouseapi.LighthouseRequestEncoder.EncodedRequest;
+
+public class LighthouseRequestEncoderTest {
+	@Test
+	public void testEncode() throws IOException {
+		LighthouseRequestEncoder encoder = new LighthouseRequestEncoder("alice", "secret", 2);
+		byte[] data = new byte[1176];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+
+		for (int reid = 0; reid < 3; reid++) {
+			EncodedRequest request = encoder.encode(reid, data, 0, data.length);
+			Map<Value, Value> decoded = decode(request.getBuffer());
+
+			assertEquals(6, decoded.size());
+			assertEquals(reid, decoded.get(ValueFactory.newString("REID")).asIntegerValue().toInt());
+			assertEquals("PUT", decoded.get(ValueFactory.newString("VERB")).asStringValue().asString());
+			assertEquals("[\"user\",\"alice\",\"model\"]", decoded.get(ValueFactory.newString("PATH")).toJson());
+			assertEquals("{\"USER\":\"alice\",\"TOKEN\":\"secret\"}", decoded.get(ValueFactory.newString("AUTH")).toJson());
+			assertEquals(0, decoded.get(ValueFactory.newString("META")).asMapValue().size());
+			assertArrayEquals(data, decoded.get(ValueFactory.newString("PAYL")).asBinaryValue().asByteArray());
+
+			encoder.release(request);
+		}
+	}
+
+	@Test
+	public void testShortAndLargePayloads() throws IOException {
+		LighthouseRequestEncoder encoder = new LighthouseRequestEncoder("bob", "token", 1);
+		byte[] small = {1, 2, 3};
+		byte[] large = new byte[100 * 1024];
+		large[large.length - 1] = 42;
+
+		EncodedRequest request = encoder.encode(7, small, 1, 2);
+		assertArrayEquals(new byte[] {2, 3}, decode(request.getBuffer()).get(ValueFactory.newString("PAYL")).asBinaryValue().asByteArray());
+		encoder.release(request);
+
+		request = encoder.encode(8, large, 0, large.length);
+		assertArrayEquals(large, decode(request.getBuffer()).get(ValueFactory.newString("PAYL")).asBinaryValue().asByteArray());
+		encoder.release(request);
+	}
+
+	@Test
+	public void testReuseOfOverwrittenBuffer() throws IOException {
+		LighthouseRequestEncoder encoder = new LighthouseRequestEncoder("dave", "token", 1);
+		byte[] data = {4, 5, 6};
+
+		// Clients mask web-socket frames in place, thus a written buffer contains garbage
+		EncodedRequest request = encoder.encode(0, data, 0, data.length);
+		ByteBuffer buffer = request.getBuffer();
+		for (int i = 0; i < buffer.limit(); i++) {
+			buffer.put(i, (byte) (buffer.get(i) ^ 0x5A));
+		}
+		request.writeSuccess();
+
+		request = encoder.encode(1, data, 0, data.length);
+		Map<Value, Value> decoded = decode(request.getBuffer());
+		assertEquals("PUT", decoded.get(ValueFactory.newString("VERB")).asStringValue().asString());
+		assertArrayEquals(data, decoded.get(ValueFactory.newString("PAYL")).asBinaryValue().asByteArray());
+	}
+
+	@Test
+	public void testRingExhaustion() {
+		LighthouseRequestEncoder encoder = new LighthouseRequestEncoder("carol", "token", 2);
+		byte[] data = new byte[16];
+
+		EncodedRequest first = encoder.encode(0, data, 0, data.length);
+		EncodedRequest second = encoder.encode(1, data, 0, data.length);
+		assertNotNull(first);
+		assertNotNull(second);
+		assertNull("All buffers should be in use", encoder.encode(2, data, 0, data.length));
+		assertEquals(2, encoder.getUsedBuffers());
+
+		first.writeSuccess();
+		assertNotNull(encoder.encode(3, data, 0, data.length));
+	}
+
+	private Map<Value, Value> decode(ByteBuffer buffer) throws IOException {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(bytes)) {
+			Map<Value, Value> decoded = unpacker.unpackValue().asMapValue().map();
+			assertEquals("Request should not contain trailing bytes", false, unpacker.hasNext());
+			return decoded;
+		}
+	}
+}
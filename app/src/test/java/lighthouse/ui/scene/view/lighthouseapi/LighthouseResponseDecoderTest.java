@@ -0,0 +1,142 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+
+import lighthouse.ui.scene.input.lighthouseapi.ILighthouseInputListener;
+import lighthouse.ui.scene.view.lighthouseapi.LighthouseResponseDecoder.Result;
+
+public class LighthouseResponseDecoderTest {
+	private final LighthouseResponseDecoder decoder = new LighthouseResponseDecoder(-1);
+	private final List<String> events = new ArrayList<>();
+	private final ILighthouseInputListener listener = new ILighthouseInputListener() {
+		@Override
+		public void keyboardEvent(int source, int button, boolean down) {
+			events.add("key " + source + " " + button + " " + down);
+		}
+
+		@Override
+		public void controllerEvent(int source, int button, boolean down) {
+			events.add("btn " + source + " " + button + " " + down);
+		}
+	};
+
+	@Test
+	public void testInputEvents() throws IOException {
+		MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+		packResponseHeader(packer, -1, 200);
+		packEvent(packer, "key", 1, 37, true);
+		assertEquals(Result.INPUT, decode(packer));
+
+		packer = MessagePack.newDefaultBufferPacker();
+		packResponseHeader(packer, -1, 200);
+		packer.packArrayHeader(2);
+		packEvent(packer, "btn", 2, 13, false);
+		packEvent(packer, "key", 3, 40, true);
+		assertEquals(Result.INPUT, decode(packer));
+
+		assertEquals(Arrays.asList("key 1 37 true", "btn 2 13 false", "key 3 40 true"), events);
+		assertEquals(3, decoder.getInputEvents());
+	}
+
+	@Test
+	public void testKeyOrderAndUnknownKeys() throws IOException {
+		MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+		packer.packMapHeader(4);
+		packer.packString("PAYL");
+		packer.packMapHeader(4);
+		packer.packString("dwn").packBoolean(false);
+		packer.packString("a rather long unknown key").packString("ignored");
+		packer.packString("btn").packInt(7);
+		packer.packString("src").packInt(5);
+		packer.packString("META").packMapHeader(1).packString("x").packArrayHeader(1).packNil();
+		packer.packString("RNUM").packInt(200);
+		packer.packString("REID").packInt(-1);
+
+		assertEquals(Result.INPUT, decode(packer));
+		assertEquals(Arrays.asList("btn 5 7 false"), events);
+	}
+
+	@Test
+	public void testResponses() throws IOException {
+		MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+		packResponseHeader(packer, 12, 200);
+		packer.packNil();
+		assertEquals(Result.RESPONSE, decode(packer));
+		assertEquals(12, decoder.getRequestId());
+
+		packer = MessagePack.newDefaultBufferPacker();
+		packResponseHeader(packer, 13, 401);
+		packer.packNil();
+		assertEquals(Result.ERROR, decode(packer));
+		assertEquals(401, decoder.getResponseNumber());
+		assertEquals("Unauthorized", decoder.getResponse());
+		assertEquals(0, events.size());
+	}
+
+	@Test
+	public void testMalformedMessages() throws IOException {
+		MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+		packer.packArrayHeader(0);
+		assertEquals(Result.MALFORMED, decode(packer));
+
+		// Missing the response number
+		packer = MessagePack.newDefaultBufferPacker();
+		packer.packMapHeader(1).packString("REID").packInt(-1);
+		assertEquals(Result.MALFORMED, decode(packer));
+
+		// An event with a mistyped field
+		packer = MessagePack.newDefaultBufferPacker();
+		packResponseHeader(packer, -1, 200);
+		packer.packMapHeader(3);
+		packer.packString("src").packString("1");
+		packer.packString("key").packInt(1);
+		packer.packString("dwn").packBoolean(true);
+		assertEquals(Result.MALFORMED, decode(packer));
+
+		// A valid message that has been truncated
+		packer = MessagePack.newDefaultBufferPacker();
+		packResponseHeader(packer, -1, 200);
+		packEvent(packer, "key", 1, 2, true);
+		byte[] message = packer.toByteArray();
+		for (int length = 0; length < message.length; length++) {
+			assertEquals("Length " + length, Result.MALFORMED, decoder.decode(message, 0, length, listener));
+		}
+
+		assertEquals(0, events.size());
+		assertEquals(decoder.getDecodedMessages(), decoder.getMalformedMessages());
+	}
+
+	private Result decode(MessageBufferPacker packer) throws IOException {
+		// Embed the message in a larger array to test the offset
+		byte[] message = packer.toByteArray();
+		byte[] buf = new byte[message.length + 6];
+		Arrays.fill(buf, (byte) 0xC1);
+		System.arraycopy(message, 0, buf, 3, message.length);
+		return decoder.decode(buf, 3, message.length, listener);
+	}
+
+	private void packResponseHeader(MessageBufferPacker packer, int requestId, int responseNumber) throws IOException {
+		packer.packMapHeader(5);
+		packer.packString("REID").packInt(requestId);
+		packer.packString("RNUM").packInt(responseNumber);
+		packer.packString("RESPONSE").packString((responseNumber == 200) ? "OK" : "Unauthorized");
+		packer.packString("META").packMapHeader(0);
+		packer.packString("PAYL");
+	}
+
+	private void packEvent(MessageBufferPacker packer, String buttonKey, int source, int button, boolean down) throws IOException {
+		packer.packMapHeader(3);
+		packer.packString("src").packInt(source);
+		packer.packString(buttonKey).packInt(button);
+		packer.packString("dwn").packBoolean(down);
+	}
+}
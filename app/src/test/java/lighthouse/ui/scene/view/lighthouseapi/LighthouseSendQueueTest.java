@@ -0,0 +1,122 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.junit.Test;
+
+public class LighthouseSendQueueTest {
+	private static final long TIMEOUT_MS = 2000;
+
+	@Test
+	public void testLatestFrameWins() throws InterruptedException {
+		BlockingQueue<PendingWrite> writes = new LinkedBlockingQueue<>();
+		LighthouseSendQueue queue = new LighthouseSendQueue("user", "token", 1);
+		queue.start(endpointRecordingTo(writes));
+
+		try {
+			queue.offer(new byte[] {1}, 0, 1);
+			PendingWrite first = writes.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+			assertEquals(1, lastByteOf(first.buffer));
+
+			// The single write slot is occupied, thus these frames coalesce
+			queue.offer(new byte[] {2}, 0, 1);
+			queue.offer(new byte[] {3}, 0, 1);
+			queue.offer(new byte[] {4}, 0, 1);
+			assertEquals(2, queue.getQueueDepth());
+			assertEquals(2, queue.getDroppedFrames());
+
+			first.callback.writeSuccess();
+			PendingWrite second = writes.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+			assertEquals("Only the latest frame should be written", 4, lastByteOf(second.buffer));
+			second.callback.writeSuccess();
+
+			waitUntil(() -> queue.getQueueDepth() == 0);
+			assertEquals(2, queue.getSentFrames());
+			assertTrue(queue.getMaxWriteLatencyMs() >= 0);
+		} finally {
+			queue.stop();
+		}
+	}
+
+	@Test
+	public void testFailedWritesReleaseBuffers() throws InterruptedException {
+		BlockingQueue<PendingWrite> writes = new LinkedBlockingQueue<>();
+		LighthouseSendQueue queue = new LighthouseSendQueue("user", "token", 1);
+		queue.start(endpointRecordingTo(writes));
+
+		try {
+			for (int i = 0; i < 10; i++) {
+				queue.offer(new byte[] {(byte) i}, 0, 1);
+				writes.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS).callback.writeFailed(new Exception("Test failure"));
+			}
+
+			waitUntil(() -> queue.getFailedWrites() == 10);
+			assertEquals(0, queue.getInFlightWrites());
+		} finally {
+			queue.stop();
+		}
+	}
+
+	@Test
+	public void testFailedWritesAreReported() throws InterruptedException {
+		BlockingQueue<PendingWrite> writes = new LinkedBlockingQueue<>();
+		BlockingQueue<Throwable> failures = new LinkedBlockingQueue<>();
+		LighthouseSendQueue queue = new LighthouseSendQueue("user", "token", 1);
+		queue.addWriteFailureListener(failures::add);
+		queue.start(endpointRecordingTo(writes));
+
+		try {
+			queue.offer(new byte[] {1}, 0, 1);
+			writes.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS).callback.writeSuccess();
+			assertTrue(failures.isEmpty());
+
+			Exception error = new Exception("Test failure");
+			queue.offer(new byte[] {2}, 0, 1);
+			writes.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS).callback.writeFailed(error);
+			assertSame(error, failures.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		} finally {
+			queue.stop();
+		}
+	}
+
+	private int lastByteOf(ByteBuffer buffer) {
+		return buffer.get(buffer.limit() - 1);
+	}
+
+	private void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while (!condition.getAsBoolean()) {
+			assertTrue("Timed out", System.currentTimeMillis() < deadline);
+			Thread.sleep(5);
+		}
+	}
+
+	private RemoteEndpoint endpointRecordingTo(BlockingQueue<PendingWrite> writes) {
+		return (RemoteEndpoint) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {RemoteEndpoint.class}, (proxy, method, args) -> {
+			if (method.getName().equals("sendBytes") && args.length == 2) {
+				writes.add(new PendingWrite((ByteBuffer) args[0], (WriteCallback) args[1]));
+			}
+			return null;
+		});
+	}
+
+	private static class PendingWrite {
+		final ByteBuffer buffer;
+		final WriteCallback callback;
+
+		PendingWrite(ByteBuffer buffer, WriteCallback callback) {
+			this.buffer = buffer;
+			this.callback = callback;
+		}
+	}
+}
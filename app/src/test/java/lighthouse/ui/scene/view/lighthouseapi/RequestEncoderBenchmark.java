@@ -0,0 +1,107 @@
+package lighthouse.ui.scene.view.lighthouseapi;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+
+import lighthouse.ui.scene.view.lighthouseapi.LighthouseRequestEncoder.EncodedRequest;
+
+/**
+ * Compares the throughput and the allocations of encoding
+ * Lighthouse PUT requests using a {@link MessageBufferPacker}
+ * per request (as the display used to) and using the
+ * {@link LighthouseRequestEncoder}. Run using
+ * {@code gradle :app:benchmarkEncoder}.
+ */
+public class RequestEncoderBenchmark {
+	private static final String USERNAME = "alice";
+	private static final String TOKEN = "API-TOK_abcd-efgh-ijkl-mnop-qrst";
+	/** The size of an RGB frame of the Lighthouse (28x14 windows). */
+	private static final int PAYLOAD_BYTES = 28 * 14 * 3;
+	private static final int WARMUP_REQUESTS = 200_000;
+	private static final int MEASURED_REQUESTS = 1_000_000;
+	/** Accumulates the encoded sizes, thus the encoding cannot be optimized away. */
+	private static long checksum = 0;
+
+	public static void main(String[] args) throws IOException {
+		byte[] payload = new byte[PAYLOAD_BYTES];
+		for (int i = 0; i < payload.length; i++) {
+			payload[i] = (byte) i;
+		}
+		LighthouseRequestEncoder encoder = new LighthouseRequestEncoder(USERNAME, TOKEN);
+
+		benchmark("Packer per request", reid -> packRequest(reid, payload));
+		benchmark("Template and ring", reid -> {
+			EncodedRequest request = encoder.encode(reid, payload, 0, payload.length);
+			int size = request.getBuffer().remaining();
+			// Completes the write immediately, which returns the buffer to the ring
+			request.writeSuccess();
+			return size;
+		});
+		System.out.printf("(checksum %d)%n", checksum);
+	}
+
+	/** Packs a request like the display did before the encoder was introduced. */
+	private static int packRequest(int reid, byte[] payload) throws IOException {
+		MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+		packer.packMapHeader(6);
+		packer.packString("REID");
+		packer.packInt(reid);
+		packer.packString("VERB");
+		packer.packString("PUT");
+		packer.packString("PATH");
+		packer.packArrayHeader(3);
+		packer.packString("user");
+		packer.packString(USERNAME);
+		packer.packString("model");
+		packer.packString("AUTH");
+		packer.packMapHeader(2);
+		packer.packString("USER");
+		packer.packString(USERNAME);
+		packer.packString("TOKEN");
+		packer.packString(TOKEN);
+		packer.packString("META");
+		packer.packMapHeader(0);
+		packer.packString("PAYL");
+		packer.packBinaryHeader(payload.length);
+		packer.addPayload(payload, 0, payload.length);
+		packer.close();
+		return ByteBuffer.wrap(packer.toByteArray()).remaining();
+	}
+
+	private static void benchmark(String name, RequestEncoding encoding) throws IOException {
+		for (int reid = 0; reid < WARMUP_REQUESTS; reid++) {
+			checksum += encoding.encode(reid);
+		}
+
+		long startBytes = allocatedBytes();
+		long startNanos = System.nanoTime();
+		for (int reid = 0; reid < MEASURED_REQUESTS; reid++) {
+			checksum += encoding.encode(reid);
+		}
+		long nanos = System.nanoTime() - startNanos;
+		long bytes = allocatedBytes() - startBytes;
+
+		System.out.printf("%-20s %8.1f ns/request, %10.0f requests/s, %8.1f bytes allocated/request%n",
+			name, nanos / (double) MEASURED_REQUESTS, MEASURED_REQUESTS / (nanos / 1e9), bytes / (double) MEASURED_REQUESTS);
+	}
+
+	/** Fetches the number of bytes allocated by the current thread (or 0 if unsupported). */
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		} else {
+			return 0;
+		}
+	}
+
+	@FunctionalInterface
+	private interface RequestEncoding {
+		/** Encodes a request and returns its size in bytes. */
+		int encode(int reid) throws IOException;
+	}
+}
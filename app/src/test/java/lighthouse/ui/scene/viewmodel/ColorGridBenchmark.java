@@ -0,0 +1,99 @@
+package lighthouse.ui.scene.viewmodel;
+
+import java.awt.Color;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import lighthouse.util.LighthouseConstants;
+
+/**
+ * Compares reading a rendered Lighthouse frame cell by cell
+ * (using {@code getColorAt}) with the bulk {@code copyRGB}
+ * and {@code copyRGBBytes} methods. Run using
+ * {@code gradle :app:benchmarkColorGrid}.
+ */
+public class ColorGridBenchmark {
+	private static final int COLUMNS = LighthouseConstants.COLS;
+	private static final int ROWS = LighthouseConstants.ROWS;
+	private static final int WARMUP_COPIES = 50_000;
+	private static final int MEASURED_COPIES = 200_000;
+	/** Accumulates the copied colors, thus the copies cannot be optimized away. */
+	private static long checksum = 0;
+
+	public static void main(String[] args) {
+		Random random = new Random(42);
+		int[] pixels = new int[COLUMNS * ROWS];
+		for (int i = 0; i < pixels.length; i++) {
+			pixels[i] = random.nextInt() & 0xFFFFFF;
+		}
+		LighthouseFrame frame = new LighthouseFrame(0, COLUMNS, ROWS, pixels);
+		int[] rgb = new int[COLUMNS * ROWS];
+		byte[] bytes = new byte[COLUMNS * ROWS * 3];
+
+		benchmark("getColorAt (ints)", () -> {
+			int i = 0;
+			for (int y = 0; y < ROWS; y++) {
+				for (int x = 0; x < COLUMNS; x++) {
+					rgb[i] = frame.getColorAt(x, y).getRGB();
+					i++;
+				}
+			}
+			return rgb[rgb.length - 1];
+		});
+		benchmark("copyRGB", () -> {
+			frame.copyRGB(COLUMNS, ROWS, rgb, 0);
+			return rgb[rgb.length - 1];
+		});
+		benchmark("getColorAt (bytes)", () -> {
+			int i = 0;
+			for (int y = 0; y < ROWS; y++) {
+				for (int x = 0; x < COLUMNS; x++) {
+					Color color = frame.getColorAt(x, y);
+					bytes[i] = (byte) color.getRed();
+					bytes[i + 1] = (byte) color.getGreen();
+					bytes[i + 2] = (byte) color.getBlue();
+					i += 3;
+				}
+			}
+			return bytes[bytes.length - 1];
+		});
+		benchmark("copyRGBBytes", () -> {
+			frame.copyRGBBytes(COLUMNS, ROWS, bytes, 0);
+			return bytes[bytes.length - 1];
+		});
+		System.out.printf("(checksum %d)%n", checksum);
+	}
+
+	private static void benchmark(String name, FrameCopy copy) {
+		for (int i = 0; i < WARMUP_COPIES; i++) {
+			checksum += copy.run();
+		}
+
+		long startBytes = allocatedBytes();
+		long startNanos = System.nanoTime();
+		for (int i = 0; i < MEASURED_COPIES; i++) {
+			checksum += copy.run();
+		}
+		long nanos = System.nanoTime() - startNanos;
+		long bytes = allocatedBytes() - startBytes;
+
+		System.out.printf("%-20s %8.1f ns/frame, %8.1f bytes allocated/frame%n",
+			name, nanos / (double) MEASURED_COPIES, bytes / (double) MEASURED_COPIES);
+	}
+
+	/** Fetches the number of bytes allocated by the current thread (or 0 if unsupported). */
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		} else {
+			return 0;
+		}
+	}
+
+	@FunctionalInterface
+	private interface FrameCopy {
+		/** Copies the frame once and returns one of the copied values. */
+		int run();
+	}
+}
@@ -0,0 +1,71 @@
+package lighthouse.ui.scene.viewmodel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Color;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import lighthouse.model.grid.ArrayColorGrid;
+
+public class LighthouseFrameTest {
+	@Test
+	public void testPixelsAreCopied() {
+		int[] pixels = {0x112233, 0x445566};
+		LighthouseFrame frame = new LighthouseFrame(1, 2, 1, pixels);
+		pixels[0] = 0;
+
+		assertEquals(0x112233, frame.getRGBAt(0, 0));
+		assertEquals(new Color(0x445566), frame.getColorAt(1, 0));
+	}
+
+	@Test
+	public void testRGBBytes() {
+		LighthouseFrame frame = new LighthouseFrame(1, 2, 1, new int[] {0x112233, 0xFF8000});
+		assertArrayEquals(new byte[] {0x11, 0x22, 0x33, (byte) 0xFF, (byte) 0x80, 0x00}, frame.getRGBBytes());
+		assertSame(frame.getRGBBytes(), frame.getRGBBytes());
+	}
+
+	@Test
+	public void testBulkAccessMatchesCells() {
+		ArrayColorGrid grid = new ArrayColorGrid(3, 4);
+		grid.setColorAt(0, 0, new Color(0x102030));
+		grid.setColorAt(3, 1, Color.ORANGE);
+		grid.setColorAt(2, 2, Color.WHITE);
+
+		int[] expected = new int[12];
+		grid.copyRGB(4, 3, expected, 0);
+		LighthouseFrame frame = new LighthouseFrame(1, 4, 3, expected);
+
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 4; x++) {
+				assertEquals(grid.getColorOrBlackAt(x, y), frame.getColorAt(x, y));
+			}
+		}
+
+		byte[] defaultBytes = new byte[14];
+		byte[] frameBytes = new byte[14];
+		grid.copyRGBBytes(2, 2, defaultBytes, 2);
+		frame.copyRGBBytes(2, 2, frameBytes, 2);
+		assertArrayEquals(defaultBytes, frameBytes);
+
+		int[] region = new int[4];
+		frame.copyRGB(2, 2, region, 0);
+		assertArrayEquals(new int[] {frame.getRGBAt(0, 0), frame.getRGBAt(1, 0), frame.getRGBAt(0, 1), frame.getRGBAt(1, 1)}, region);
+	}
+
+	@Test
+	public void testEncodingsAreCached() {
+		LighthouseFrame frame = new LighthouseFrame(1, 1, 1, new int[] {0});
+		AtomicInteger encodings = new AtomicInteger();
+
+		for (int i = 0; i < 3; i++) {
+			frame.getEncoding("test", f -> encodings.incrementAndGet());
+		}
+
+		assertEquals(1, encodings.get());
+	}
+}
@@ -0,0 +1,74 @@
+package lighthouse.ui.scene.viewmodel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import lighthouse.gameapi.SnapshotSceneLayer;
+import lighthouse.ui.scene.viewmodel.graphics.SceneOval;
+import lighthouse.ui.scene.viewmodel.graphics.SceneRect;
+import lighthouse.ui.scene.viewmodel.graphics.SceneShape;
+import lighthouse.ui.scene.viewmodel.graphics.SceneViewModel;
+import lighthouse.ui.scene.viewmodel.graphics.Shading;
+import lighthouse.util.DoubleVec;
+import lighthouse.util.transform.Scaling;
+
+public class LighthouseViewModelTest {
+	private static final Scaling LIGHTHOUSE_TO_GRID = new Scaling(0.5, 0.5);
+
+	@Test
+	public void testPartialRendersMatchFullRenders() {
+		List<SceneShape> shapes = new ArrayList<>();
+		SnapshotSceneLayer layer = new SnapshotSceneLayer(() -> shapes);
+		SceneViewModel scene = new SceneViewModel();
+		scene.setLayers(layer);
+		LighthouseViewModel incremental = new LighthouseViewModel(scene, LIGHTHOUSE_TO_GRID, LIGHTHOUSE_TO_GRID);
+		Random random = new Random(42);
+
+		for (int i = 0; i < 8; i++) {
+			shapes.add(randomShape(random));
+		}
+
+		for (int step = 0; step < 50; step++) {
+			// Move a few shapes, like a game tick would
+			shapes.set(random.nextInt(shapes.size()), randomShape(random));
+			layer.capture();
+			incremental.render();
+
+			LighthouseViewModel full = new LighthouseViewModel(scene, LIGHTHOUSE_TO_GRID, LIGHTHOUSE_TO_GRID);
+			full.render();
+			assertArrayEquals("Step " + step, full.getPixels(), incremental.getPixels());
+		}
+	}
+
+	@Test
+	public void testUnchangedScenesAreSkipped() {
+		SceneViewModel scene = new SceneViewModel();
+		scene.setLayers(new SnapshotSceneLayer(ArrayList::new));
+		LighthouseViewModel viewModel = new LighthouseViewModel(scene, LIGHTHOUSE_TO_GRID, LIGHTHOUSE_TO_GRID);
+
+		LighthouseFrame frame = viewModel.renderFrame(1);
+		assertFalse(viewModel.render());
+		assertSame(frame, viewModel.renderFrame(2));
+	}
+
+	private SceneShape randomShape(Random random) {
+		Color color = new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), 100 + random.nextInt(156));
+		Shading shading = random.nextBoolean() ? Shading.FILLED : Shading.OUTLINED;
+		double x = random.nextInt(28) / 2.0;
+		double y = random.nextInt(14) / 2.0;
+
+		if (random.nextBoolean()) {
+			return new SceneRect(x, y, 1 + random.nextInt(4), 1 + random.nextInt(3), color, shading);
+		} else {
+			return new SceneOval(new DoubleVec(x, y), 0.5 + random.nextInt(3), color, shading);
+		}
+	}
+}
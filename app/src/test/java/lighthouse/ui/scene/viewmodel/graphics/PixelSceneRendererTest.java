@@ -0,0 +1,170 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import lighthouse.util.DoubleVec;
+import lighthouse.util.IntVec;
+import lighthouse.util.transform.DoubleVecBijection;
+import lighthouse.util.transform.Scaling;
+import lighthouse.util.transform.Translation;
+
+/**
+ * Golden-image tests that compare the {@link PixelSceneRenderer}
+ * against Java2D (via {@link Graphics2DSceneRenderer}).
+ */
+public class PixelSceneRendererTest {
+	private static final int WIDTH = 28;
+	private static final int HEIGHT = 14;
+	private static final Function<DoubleVec, IntVec> TRANSFORM = DoubleVecBijection.IDENTITY.floor();
+
+	@Test
+	public void testRects() {
+		assertMatches(Arrays.asList(
+			new SceneRect(1, 1, 5, 3, Color.RED, Shading.FILLED),
+			new SceneRect(-2, 10, 6, 8, Color.GREEN, Shading.FILLED),
+			new SceneRect(8, 2, 6, 4, Color.BLUE, Shading.OUTLINED),
+			new SceneRect(20, 5, 1, 1, Color.YELLOW, Shading.OUTLINED),
+			new SceneRect(22, 0, 10, 20, Color.WHITE, Shading.OUTLINED)
+		), 0, 0);
+	}
+
+	@Test
+	public void testTranslucentRects() {
+		assertMatches(Arrays.asList(
+			new SceneRect(0, 0, 28, 14, new Color(20, 40, 60), Shading.FILLED),
+			new SceneRect(2, 2, 10, 6, new Color(255, 0, 0, 128), Shading.FILLED),
+			new SceneRect(6, 4, 10, 6, new Color(0, 255, 255, 60), Shading.FILLED)
+		), 2, 0);
+	}
+
+	@Test
+	public void testFilledOvals() {
+		List<SceneShape> shapes = Arrays.asList(
+			new SceneOval(new DoubleVec(5, 5), 4, Color.ORANGE, Shading.FILLED),
+			new SceneOval(new DoubleVec(16, 7), 7, 4, Color.CYAN, Shading.FILLED),
+			new SceneOval(new DoubleVec(26, 12), 3, Color.MAGENTA, Shading.FILLED),
+			new SceneFixedCircle(new DoubleVec(23, 3), 2, Color.PINK, Shading.FILLED)
+		);
+		// Without antialiasing, Java2D flattens the curve, which may flip a few edge pixels
+		assertMatches(shapes, false, 0, 4);
+		assertMatches(shapes, true, 32, 0);
+	}
+
+	@Test
+	public void testOutlinedOvals() {
+		List<SceneShape> shapes = Arrays.asList(
+			new SceneOval(new DoubleVec(6, 6), 5, Color.ORANGE, Shading.OUTLINED),
+			new SceneOval(new DoubleVec(19, 7), 7, 5, Color.CYAN, Shading.OUTLINED)
+		);
+		assertMatches(shapes, false, 0, 8);
+		assertMatches(shapes, true, 32, 0);
+	}
+
+	@Test
+	public void testImages() {
+		BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_ARGB);
+		image.setRGB(0, 0, 0xFFFF0000);
+		image.setRGB(1, 0, 0xFF00FF00);
+		image.setRGB(2, 0, 0x800000FF);
+		image.setRGB(0, 1, 0x00000000);
+		image.setRGB(1, 1, 0xFFFFFFFF);
+		image.setRGB(2, 1, 0xFF808080);
+
+		assertMatches(Arrays.asList(
+			new SceneRect(0, 0, 28, 14, Color.DARK_GRAY, Shading.FILLED),
+			new SceneImage(new DoubleVec(1, 1), image, new DoubleVec(9, 6)),
+			new SceneImage(new DoubleVec(20, 10), image, new DoubleVec(12, 7)),
+			new SceneImage(new DoubleVec(12, 2), image)
+		), 2, 0);
+	}
+
+	@Test
+	public void testScaledRects() {
+		// The puzzle's transforms, positions are rounded down and sizes up
+		DoubleVecBijection sizeToGrid = new Scaling(0.2, 0.5);
+		DoubleVecBijection posToGrid = new Translation(-4, -1).andThen(sizeToGrid);
+		Function<DoubleVec, IntVec> posToPixels = posToGrid.inverse().floor();
+		Function<DoubleVec, IntVec> sizeToPixels = sizeToGrid.inverse().ceil();
+		List<SceneRect> rects = Arrays.asList(
+			new SceneRect(0, 0, 1, 1, Color.RED, Shading.FILLED),
+			new SceneRect(0.6, 0.5, 0.6, 1.5, Color.GREEN, Shading.FILLED),
+			new SceneRect(2.1, 3.3, 0.3, 0.7, Color.BLUE, Shading.FILLED),
+			new SceneRect(3, 5, 1.25, 2, Color.WHITE, Shading.OUTLINED)
+		);
+
+		int[] expected = new int[WIDTH * HEIGHT];
+		PixelSceneRenderer pixelRenderer = new PixelSceneRenderer(expected, WIDTH, HEIGHT, DoubleVecBijection.IDENTITY);
+		int[] actual = new int[WIDTH * HEIGHT];
+		PixelSceneRenderer gridRenderer = new PixelSceneRenderer(actual, WIDTH, HEIGHT, posToGrid.inverse(), sizeToGrid.inverse(), true);
+
+		for (SceneRect rect : rects) {
+			IntVec topLeft = posToPixels.apply(rect.getTopLeft());
+			IntVec size = sizeToPixels.apply(rect.getSize());
+			new SceneRect(topLeft.getX(), topLeft.getY(), size.getX(), size.getY(), rect.getColor(), rect.getShading()).accept(pixelRenderer);
+			rect.accept(gridRenderer);
+		}
+
+		assertArrayEquals(expected, actual);
+	}
+
+	private void assertMatches(List<SceneShape> shapes, int tolerance, int maxMismatches) {
+		assertMatches(shapes, false, tolerance, maxMismatches);
+		assertMatches(shapes, true, tolerance, maxMismatches);
+	}
+
+	/**
+	 * Asserts that every pixel is within the given tolerance (per channel)
+	 * of Java2D's output, except for at most the given number of pixels.
+	 */
+	private void assertMatches(List<SceneShape> shapes, boolean antialiasing, int tolerance, int maxMismatches) {
+		BufferedImage expected = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2d = expected.createGraphics();
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+		Graphics2DSceneRenderer reference = new Graphics2DSceneRenderer(g2d, TRANSFORM);
+		for (SceneShape shape : shapes) {
+			shape.accept(reference);
+		}
+		g2d.dispose();
+
+		int[] actual = new int[WIDTH * HEIGHT];
+		PixelSceneRenderer renderer = new PixelSceneRenderer(actual, WIDTH, HEIGHT, DoubleVecBijection.IDENTITY);
+		renderer.setAntialiasingEnabled(antialiasing);
+		for (SceneShape shape : shapes) {
+			shape.accept(renderer);
+		}
+
+		int[] golden = ((DataBufferInt) expected.getRaster().getDataBuffer()).getData();
+		int mismatches = 0;
+		StringBuilder report = new StringBuilder();
+
+		for (int i = 0; i < golden.length; i++) {
+			int difference = maxChannelDifference(golden[i], actual[i]);
+			if (difference > tolerance) {
+				mismatches++;
+				report.append(String.format("%n(%d, %d): expected %06X, but was %06X", i % WIDTH, i / WIDTH, golden[i] & 0xFFFFFF, actual[i]));
+			}
+		}
+
+		assertTrue(mismatches + " mismatching pixels (antialiasing: " + antialiasing + "):" + report, mismatches <= maxMismatches);
+	}
+
+	private int maxChannelDifference(int a, int b) {
+		int max = 0;
+		for (int shift = 0; shift < 24; shift += 8) {
+			max = Math.max(max, Math.abs(((a >> shift) & 0xFF) - ((b >> shift) & 0xFF)));
+		}
+		return max;
+	}
+}
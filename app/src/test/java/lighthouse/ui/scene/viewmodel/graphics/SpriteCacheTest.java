@@ -0,0 +1,98 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SpriteCacheTest {
+	@Test
+	public void testNearestNeighborMatchesJava2D() {
+		BufferedImage image = randomImage(37, 23);
+		SpriteCache cache = new SpriteCache(1024 * 1024);
+		int[][] sizes = {{28, 14}, {5, 3}, {37, 23}, {60, 41}, {1, 1}, {9, 30}};
+
+		for (int[] size : sizes) {
+			BufferedImage expected = new BufferedImage(size[0], size[1], BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2d = expected.createGraphics();
+			g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+			g2d.drawImage(image, 0, 0, size[0], size[1], null);
+			g2d.dispose();
+
+			BufferedImage sprite = cache.get(image, size[0], size[1]);
+			for (int y = 0; y < size[1]; y++) {
+				for (int x = 0; x < size[0]; x++) {
+					assertEquals("(" + x + ", " + y + ") at " + size[0] + "x" + size[1], expected.getRGB(x, y), sprite.getRGB(x, y));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testLRUEvictionWithinBudget() {
+		// Fits two 10x10 sprites
+		SpriteCache cache = new SpriteCache(2 * 10 * 10 * 4);
+		BufferedImage a = randomImage(20, 20);
+		BufferedImage b = randomImage(20, 20);
+		BufferedImage c = randomImage(20, 20);
+
+		BufferedImage spriteA = cache.get(a, 10, 10);
+		cache.get(b, 10, 10);
+		assertSame(spriteA, cache.get(a, 10, 10));
+		assertEquals(1, cache.getHits());
+
+		// Evicts b, which has been used least recently
+		cache.get(c, 10, 10);
+		assertEquals(2, cache.getSize());
+		assertSame(spriteA, cache.get(a, 10, 10));
+		cache.get(b, 10, 10);
+		assertEquals(4, cache.getMisses());
+		assertEquals(cache.getBudgetBytes(), cache.getUsedBytes());
+
+		// Sprites that exceed the budget are not cached
+		BufferedImage huge = cache.get(a, 100, 100);
+		assertNotSame(huge, cache.get(a, 100, 100));
+		assertEquals(2, cache.getSize());
+	}
+
+	@Test
+	public void testSourceImagesAreNotRetained() throws InterruptedException {
+		SpriteCache cache = new SpriteCache(1024 * 1024);
+		BufferedImage kept = randomImage(20, 20);
+		BufferedImage dropped = randomImage(30, 30);
+		WeakReference<BufferedImage> droppedRef = new WeakReference<>(dropped);
+
+		cache.get(kept, 10, 10);
+		cache.get(dropped, 10, 10);
+		dropped = null;
+
+		for (int i = 0; (i < 50) && (droppedRef.get() != null); i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertNull("The cache should not keep the source image alive", droppedRef.get());
+		assertEquals(1, cache.getSize());
+		assertEquals(10 * 10 * 4, cache.getUsedBytes());
+	}
+
+	private BufferedImage randomImage(int width, int height) {
+		Random random = new Random(width * 31 + height);
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				// Opaque, since Java2D rounds translucent colors when drawing into ARGB images
+				image.setRGB(x, y, random.nextInt() | 0xFF000000);
+			}
+		}
+		return image;
+	}
+}
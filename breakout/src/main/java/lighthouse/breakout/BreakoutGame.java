@@ -1,7 +1,5 @@
 package lighthouse.breakout;
 
-import javax.swing.Timer;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,7 +8,9 @@ import lighthouse.breakout.ui.BreakoutController;
 import lighthouse.breakout.ui.BreakoutSceneLayer;
 import lighthouse.gameapi.Game;
 import lighthouse.gameapi.GameInitializationContext;
+import lighthouse.gameapi.GameLoop;
 import lighthouse.gameapi.SceneInteractionFacade;
+import lighthouse.gameapi.SnapshotSceneLayer;
 import lighthouse.model.GameState;
 import lighthouse.ui.scene.viewmodel.graphics.SceneLayer;
 import lighthouse.util.transform.DoubleVecBijection;
@@ -19,21 +19,12 @@ import lighthouse.util.transform.Scaling;
 public class BreakoutGame implements Game {
 	private static final Logger LOG = LoggerFactory.getLogger(BreakoutGame.class);
 	private final BreakoutGameState gameState = new BreakoutGameState();
-	private final BreakoutSceneLayer sceneLayer = new BreakoutSceneLayer(gameState);
+	private final SnapshotSceneLayer sceneLayer = new SnapshotSceneLayer(new BreakoutSceneLayer(gameState));
 	private final DoubleVecBijection gridToPixels = new Scaling(15, 15);
 	private final DoubleVecBijection lighthouseToGridPos = DoubleVecBijection.IDENTITY;
-	private final Timer timer;
 	private final int maxTPS = 60;
 	private SceneInteractionFacade sceneFacade;
-	
-	public BreakoutGame() {
-		timer = new Timer(1000 / maxTPS, e -> {
-			LOG.debug("Running Breakout tick...");
-			gameState.advance();
-			sceneFacade.update();
-		});
-		timer.setRepeats(true);
-	}
+	private GameLoop gameLoop;
 	
 	@Override
 	public String getName() { return "Breakout"; }
@@ -44,19 +35,20 @@ public class BreakoutGame implements Game {
 	@Override
 	public void initialize(GameInitializationContext context) {
 		sceneFacade = context.getInteractionFacade();
+		gameLoop = context.getGameLoop();
 	}
 	
 	@Override
 	public void onOpen() {
-		sceneFacade.setResponder(new BreakoutController(gameState));
-		LOG.debug("Starting Breakout timer");
-		timer.start();
+		sceneFacade.setResponder(gameLoop.synchronize(new BreakoutController(gameState)));
+		LOG.debug("Starting Breakout loop");
+		gameLoop.start(maxTPS, gameState::advance, sceneLayer);
 	}
 	
 	@Override
 	public void onClose() {
-		LOG.debug("Stopping Breakout timer");
-		timer.stop();
+		LOG.debug("Stopping Breakout loop");
+		gameLoop.stop();
 	}
 	
 	@Override
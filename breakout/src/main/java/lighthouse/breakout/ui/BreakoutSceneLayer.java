@@ -1,43 +1,40 @@
 package lighthouse.breakout.ui;
 
 import java.awt.Color;
-import java.util.ArrayList;
-import java.util.List;
 
 import lighthouse.breakout.model.Ball;
 import lighthouse.breakout.model.BreakoutGameState;
 import lighthouse.breakout.model.Brick;
 import lighthouse.breakout.model.Paddle;
-import lighthouse.ui.scene.viewmodel.graphics.SceneLayer;
-import lighthouse.ui.scene.viewmodel.graphics.SceneOval;
-import lighthouse.ui.scene.viewmodel.graphics.SceneRect;
-import lighthouse.ui.scene.viewmodel.graphics.SceneShape;
+import lighthouse.ui.scene.viewmodel.graphics.DisplayList;
+import lighthouse.ui.scene.viewmodel.graphics.RetainedSceneLayer;
 import lighthouse.ui.scene.viewmodel.graphics.Shading;
 
-public class BreakoutSceneLayer implements SceneLayer {
+public class BreakoutSceneLayer implements RetainedSceneLayer {
 	private final BreakoutGameState gameState;
 	private final Color ballColor = Color.YELLOW;
 	private final Color paddleColor = Color.ORANGE;
+	private final DisplayList displayList = new DisplayList();
 
 	public BreakoutSceneLayer(BreakoutGameState gameState) {
 		this.gameState = gameState;
 	}
 
 	@Override
-	public List<SceneShape> getShapes() {
-		List<SceneShape> shapes = new ArrayList<>();
+	public DisplayList updateDisplayList() {
+		displayList.clear();
 		
 		for (Brick brick : gameState.getBoard()) {
-			shapes.add(new SceneRect(brick.getBoundingBox(), brick.getColor(), Shading.FILLED));
+			displayList.addRect(brick.getBoundingBox(), brick.getColor(), Shading.FILLED);
 		}
 		
 		Ball ball = gameState.getBall();
-		shapes.add(new SceneOval(ball.getPosition(), ball.getRadius(), ballColor, Shading.FILLED));
+		displayList.addOval(ball.getPosition(), ball.getRadius(), ballColor, Shading.FILLED);
 		
 		Paddle paddle = gameState.getPaddle();
-		shapes.add(new SceneRect(paddle.getBoundingBox(), paddleColor, Shading.FILLED));
+		displayList.addRect(paddle.getBoundingBox(), paddleColor, Shading.FILLED);
 		
-		return shapes;
+		return displayList;
 	}
 	
 	@Override
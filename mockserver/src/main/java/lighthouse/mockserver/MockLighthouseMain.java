@@ -0,0 +1,39 @@
+package lighthouse.mockserver;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a standalone {@link MockLighthouseServer} that logs
+ * the frame rate, e.g. for local load testing.
+ *
+ * <p>Usage: {@code [port] [latency ms] [jitter ms]}</p>
+ */
+public class MockLighthouseMain {
+	private static final Logger LOG = LoggerFactory.getLogger(MockLighthouseMain.class);
+
+	public static void main(String[] args) throws Exception {
+		int port = (args.length > 0) ? Integer.parseInt(args[0]) : 8080;
+		long latencyMs = (args.length > 1) ? Long.parseLong(args[1]) : 0;
+		long jitterMs = (args.length > 2) ? Long.parseLong(args[2]) : 0;
+
+		MockLighthouseServer server = new MockLighthouseServer(port);
+		server.setLatency(latencyMs, jitterMs);
+		server.setMaxRecordedFrames(1);
+
+		AtomicLong bytes = new AtomicLong();
+		server.addFrameListener(frame -> bytes.addAndGet(frame.getPayload().length));
+		server.start();
+		LOG.info("Connect to {}", server.getUri("<username>"));
+
+		long lastFrames = 0;
+		while (true) {
+			Thread.sleep(1000);
+			long frames = server.getReceivedFrames();
+			LOG.info("{} fps, {} bytes/s, {} connection(s)", frames - lastFrames, bytes.getAndSet(0), server.getOpenConnections());
+			lastFrames = frames;
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package lighthouse.mockserver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.websocket.servlet.WebSocketServlet;
+import org.eclipse.jetty.websocket.servlet.WebSocketServletFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An embedded stand-in for the Lighthouse server that speaks
+ * the same msgpack protocol (REID/VERB/PATH/AUTH/META/PAYL).
+ * It records received frames, can inject input events into
+ * STREAM subscriptions and simulates latency, jitter and
+ * disconnects. Intended for tests and local load testing.
+ */
+public class MockLighthouseServer implements AutoCloseable {
+	private static final Logger LOG = LoggerFactory.getLogger(MockLighthouseServer.class);
+	private static final int DEFAULT_MAX_RECORDED_FRAMES = 10_000;
+	private final Server server;
+	private final ServerConnector connector;
+
+	private final List<MockLighthouseSocket> sockets = new CopyOnWriteArrayList<>();
+	private final List<ReceivedFrame> frames = new ArrayList<>();
+	private final Map<String, String> tokens = new ConcurrentHashMap<>();
+	private final List<Consumer<ReceivedFrame>> frameListeners = new CopyOnWriteArrayList<>();
+	private final AtomicLong receivedFrames = new AtomicLong();
+	private final AtomicLong connections = new AtomicLong();
+	private volatile int maxRecordedFrames = DEFAULT_MAX_RECORDED_FRAMES;
+	private volatile long latencyMs = 0;
+	private volatile long jitterMs = 0;
+
+	/** Creates a server on the given port, 0 chooses a free port. */
+	public MockLighthouseServer(int port) {
+		server = new Server();
+		connector = new ServerConnector(server);
+		connector.setHost("127.0.0.1");
+		connector.setPort(port);
+		server.addConnector(connector);
+
+		ServletContextHandler context = new ServletContextHandler();
+		context.setContextPath("/");
+		context.addServlet(new ServletHolder(new WebSocketServlet() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void configure(WebSocketServletFactory factory) {
+				factory.setCreator((request, response) -> new MockLighthouseSocket(MockLighthouseServer.this));
+			}
+		}), "/*");
+		server.setHandler(context);
+	}
+
+	public MockLighthouseServer() {
+		this(0);
+	}
+
+	public void start() throws Exception {
+		server.start();
+		LOG.info("Mock Lighthouse listening on port {}", getPort());
+	}
+
+	public void stop() throws Exception {
+		server.stop();
+	}
+
+	/** Stops the server, restoring the interrupt flag if interrupted while stopping. */
+	@Override
+	public void close() {
+		try {
+			stop();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			LOG.warn("Exception while stopping the mock Lighthouse:", e);
+		}
+	}
+
+	public int getPort() { return connector.getLocalPort(); }
+
+	/** Fetches the web-socket address that corresponds to the user's model. */
+	public URI getUri(String username) {
+		return URI.create("ws://127.0.0.1:" + getPort() + "/user/" + username + "/model");
+	}
+
+	/**
+	 * Only accepts requests by the given user with the given
+	 * token. If no user is registered, every request is accepted.
+	 */
+	public void addUser(String username, String token) {
+		tokens.put(username, token);
+	}
+
+	boolean isAuthorized(String username, String token) {
+		return tokens.isEmpty() || token.equals(tokens.get(username));
+	}
+
+	/** Delays the processing of every request by the given latency plus a random jitter. */
+	public void setLatency(long latencyMs, long jitterMs) {
+		this.latencyMs = latencyMs;
+		this.jitterMs = jitterMs;
+	}
+
+	public long getLatencyMs() { return latencyMs; }
+
+	public long getJitterMs() { return jitterMs; }
+
+	/** Sets the number of frames that are kept, older ones are discarded. */
+	public void setMaxRecordedFrames(int maxRecordedFrames) { this.maxRecordedFrames = maxRecordedFrames; }
+
+	void onConnect(MockLighthouseSocket socket) {
+		sockets.add(socket);
+		connections.incrementAndGet();
+	}
+
+	void onClose(MockLighthouseSocket socket) {
+		sockets.remove(socket);
+	}
+
+	void onFrame(ReceivedFrame frame) {
+		synchronized (frames) {
+			frames.add(frame);
+			if (frames.size() > maxRecordedFrames) {
+				frames.remove(0);
+			}
+			receivedFrames.incrementAndGet();
+			frames.notifyAll();
+		}
+
+		for (Consumer<ReceivedFrame> listener : frameListeners) {
+			listener.accept(frame);
+		}
+	}
+
+	/** Adds a listener that is invoked (on a server thread) for every received frame. */
+	public void addFrameListener(Consumer<ReceivedFrame> listener) { frameListeners.add(listener); }
+
+	public void removeFrameListener(Consumer<ReceivedFrame> listener) { frameListeners.remove(listener); }
+
+	/** Fetches a copy of the recorded frames. */
+	public List<ReceivedFrame> getFrames() {
+		synchronized (frames) {
+			return new ArrayList<>(frames);
+		}
+	}
+
+	/** Fetches the most recently received frame or null. */
+	public ReceivedFrame getLastFrame() {
+		synchronized (frames) {
+			return frames.isEmpty() ? null : frames.get(frames.size() - 1);
+		}
+	}
+
+	/** Discards the recorded frames (the received frame count is not reset). */
+	public void clearFrames() {
+		synchronized (frames) {
+			frames.clear();
+		}
+	}
+
+	/**
+	 * Waits until the total number of received frames
+	 * reaches the given count and returns whether it did.
+	 */
+	public boolean awaitFrames(long count, long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		synchronized (frames) {
+			while (receivedFrames.get() < count) {
+				long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remainingMs <= 0) {
+					return false;
+				}
+				frames.wait(remainingMs);
+			}
+			return true;
+		}
+	}
+
+	/** Fetches the total number of received frames. */
+	public long getReceivedFrames() { return receivedFrames.get(); }
+
+	/** Fetches the total number of accepted connections. */
+	public long getConnections() { return connections.get(); }
+
+	/** Fetches the number of currently open connections. */
+	public int getOpenConnections() { return sockets.size(); }
+
+	/** Fetches the number of open connections that requested the input stream. */
+	public int getStreamingConnections() {
+		int count = 0;
+		for (MockLighthouseSocket socket : sockets) {
+			if (socket.isStreaming()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/** Sends a key event to every client that requested the input stream. */
+	public void injectKeyEvent(int source, int key, boolean pressed) {
+		for (MockLighthouseSocket socket : sockets) {
+			socket.sendInputEvent(source, key, pressed, true);
+		}
+	}
+
+	/** Sends a controller event to every client that requested the input stream. */
+	public void injectControllerEvent(int source, int button, boolean pressed) {
+		for (MockLighthouseSocket socket : sockets) {
+			socket.sendInputEvent(source, button, pressed, false);
+		}
+	}
+
+	/** Closes every connection, abruptly (without a close handshake) if requested. */
+	public void disconnectAll(boolean abrupt) {
+		LOG.info("Disconnecting {} client(s)", sockets.size());
+		for (MockLighthouseSocket socket : sockets) {
+			socket.disconnect(abrupt);
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package lighthouse.mockserver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageTypeCastException;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.Value;
+import org.msgpack.value.ValueFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single client connection to the {@link MockLighthouseServer}.
+ */
+@WebSocket(maxBinaryMessageSize = 64 * 1024)
+public class MockLighthouseSocket {
+	private static final Logger LOG = LoggerFactory.getLogger(MockLighthouseSocket.class);
+	private static final Value REID = ValueFactory.newString("REID");
+	private static final Value VERB = ValueFactory.newString("VERB");
+	private static final Value PATH = ValueFactory.newString("PATH");
+	private static final Value AUTH = ValueFactory.newString("AUTH");
+	private static final Value PAYL = ValueFactory.newString("PAYL");
+	private static final Value USER = ValueFactory.newString("USER");
+	private static final Value TOKEN = ValueFactory.newString("TOKEN");
+	private final MockLighthouseServer server;
+	private volatile Session session = null;
+	private volatile boolean streaming = false;
+	private volatile int streamRequestId = 0;
+
+	MockLighthouseSocket(MockLighthouseServer server) {
+		this.server = server;
+	}
+
+	@OnWebSocketConnect
+	public void onConnect(Session session) {
+		this.session = session;
+		server.onConnect(this);
+		LOG.debug("Accepted connection from {}", session.getRemoteAddress());
+	}
+
+	@OnWebSocketClose
+	public void onClose(int statusCode, String reason) {
+		streaming = false;
+		server.onClose(this);
+		LOG.debug("Connection closed [{}]: {}", statusCode, reason);
+	}
+
+	@OnWebSocketMessage
+	public void onMessage(byte[] buf, int offset, int length) {
+		simulateLatency();
+
+		int requestId = 0;
+		try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(buf, offset, length)) {
+			Map<Value, Value> request = unpacker.unpackValue().asMapValue().map();
+			requestId = request.get(REID).asIntegerValue().toInt();
+			String verb = request.get(VERB).asStringValue().asString();
+			List<Value> path = request.get(PATH).asArrayValue().list();
+			Map<Value, Value> auth = request.get(AUTH).asMapValue().map();
+			String username = auth.get(USER).asStringValue().asString();
+			String token = auth.get(TOKEN).asStringValue().asString();
+
+			if (path.size() != 3 || !path.get(1).asStringValue().asString().equals(username)) {
+				respond(requestId, 400, "Bad Request");
+			} else if (!server.isAuthorized(username, token)) {
+				respond(requestId, 401, "Unauthorized");
+			} else if (verb.equals("PUT")) {
+				server.onFrame(new ReceivedFrame(username, requestId, request.get(PAYL).asBinaryValue().asByteArray(), System.nanoTime()));
+				respond(requestId, 200, "OK");
+			} else if (verb.equals("STREAM")) {
+				streamRequestId = requestId;
+				streaming = true;
+				respond(requestId, 200, "OK");
+			} else {
+				respond(requestId, 405, "Method Not Allowed");
+			}
+		} catch (IOException | NullPointerException | MessageTypeCastException e) {
+			LOG.warn("Got malformed request: {}", e.getMessage());
+			respond(requestId, 400, "Bad Request");
+		}
+	}
+
+	private void simulateLatency() {
+		long latencyMs = server.getLatencyMs();
+		long jitterMs = server.getJitterMs();
+		long delayMs = latencyMs + ((jitterMs > 0) ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+
+		if (delayMs > 0) {
+			// Blocking the reading thread also slows down the client, just like a slow network
+			try {
+				Thread.sleep(delayMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/** Sends a key or controller event, provided that the client has requested the input stream. */
+	void sendInputEvent(int source, int button, boolean pressed, boolean keyboard) {
+		if (!streaming) {
+			return;
+		}
+
+		try {
+			MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+			packResponseHeader(packer, streamRequestId, 200, "OK");
+			packer.packMapHeader(3);
+			packer.packString("src");
+			packer.packInt(source);
+			packer.packString(keyboard ? "key" : "btn");
+			packer.packInt(button);
+			packer.packString("dwn");
+			packer.packBoolean(pressed);
+			send(packer.toByteArray());
+		} catch (IOException e) {
+			LOG.warn("Could not send input event: {}", e.getMessage());
+		}
+	}
+
+	private void respond(int requestId, int responseNumber, String response) {
+		try {
+			MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+			packResponseHeader(packer, requestId, responseNumber, response);
+			packer.packNil();
+			send(packer.toByteArray());
+		} catch (IOException e) {
+			LOG.warn("Could not send response: {}", e.getMessage());
+		}
+	}
+
+	/** Packs a response up to (and excluding) the payload. */
+	private void packResponseHeader(MessageBufferPacker packer, int requestId, int responseNumber, String response) throws IOException {
+		packer.packMapHeader(5);
+		packer.packString("REID");
+		packer.packInt(requestId);
+		packer.packString("RNUM");
+		packer.packInt(responseNumber);
+		packer.packString("RESPONSE");
+		packer.packString(response);
+		packer.packString("META");
+		packer.packMapHeader(0);
+		packer.packString("PAYL");
+	}
+
+	private void send(byte[] message) {
+		Session current = session;
+		if (current != null && current.isOpen()) {
+			current.getRemote().sendBytesByFuture(ByteBuffer.wrap(message));
+		}
+	}
+
+	/** Closes the connection, either gracefully or abruptly (without a close handshake). */
+	void disconnect(boolean abrupt) {
+		Session current = session;
+		if (current == null) {
+			return;
+		}
+
+		if (abrupt) {
+			try {
+				current.disconnect();
+			} catch (IOException e) {
+				LOG.warn("Could not disconnect: {}", e.getMessage());
+			}
+		} else {
+			current.close(1001, "Going away");
+		}
+	}
+
+	public boolean isStreaming() { return streaming; }
+}
@@ -0,0 +1,34 @@
+package lighthouse.mockserver;
+
+/**
+ * A frame (the payload of a PUT request) that has been
+ * received by the {@link MockLighthouseServer}.
+ */
+public class ReceivedFrame {
+	private final String username;
+	private final int requestId;
+	private final byte[] payload;
+	private final long receivedNanos;
+
+	public ReceivedFrame(String username, int requestId, byte[] payload, long receivedNanos) {
+		this.username = username;
+		this.requestId = requestId;
+		this.payload = payload;
+		this.receivedNanos = receivedNanos;
+	}
+
+	public String getUsername() { return username; }
+
+	public int getRequestId() { return requestId; }
+
+	/** Fetches the RGB bytes of the frame. */
+	public byte[] getPayload() { return payload; }
+
+	/** Fetches the {@link System#nanoTime()} at which the frame has been received. */
+	public long getReceivedNanos() { return receivedNanos; }
+
+	@Override
+	public String toString() {
+		return "ReceivedFrame [username=" + username + ", requestId=" + requestId + ", bytes=" + payload.length + "]";
+	}
+}
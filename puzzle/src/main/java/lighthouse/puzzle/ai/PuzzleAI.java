@@ -1,25 +1,24 @@
 package lighthouse.puzzle.ai;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import lighthouse.ai.Model;
-import lighthouse.puzzle.model.Board;
-import lighthouse.puzzle.model.Brick;
+import lighthouse.puzzle.model.BoardEncoding;
 import lighthouse.puzzle.model.Level;
-import lighthouse.util.Direction;
+import lighthouse.puzzle.model.PackedBoard;
 
 public class PuzzleAI {
     private static final Logger LOG = LoggerFactory.getLogger(PuzzleAI.class);
     
     private List<Model> population;
     private int size;
-    private List<Board> forbidden = new ArrayList<>();
+    private Set<PackedBoard> forbidden = new HashSet<>();
 
     public PuzzleAI(int pop){
         size = pop;
@@ -38,24 +37,24 @@ public class PuzzleAI {
     }
 
     public void train(Level level){
-        Board start = level.getStart();
-        Board goal = level.getGoal();
+        BoardEncoding encoding = new BoardEncoding(level);
+        PackedBoard start = encoding.encode(level.getStart());
+        double[][] goal = level.getGoal().encode2D();
 
         for (Model m : population){
             forbidden.clear();
             m.fitness = 0;
-            Board current = start.copy();
+            PackedBoard current = start;
             int i = 0;
-            while(!current.equals(goal) && i < 200){
-                if(forbidden.contains(current)){
+            while(!encoding.isGoal(current) && i < 200){
+                if(!forbidden.add(current)){
                     break;
                 }
-                forbidden.add(current);
                 i += 1;
-                current = nextTurn(m, current, goal);
+                current = nextTurn(m, encoding, current, goal);
                 //LOG.trace("Currently in round {}", i);
             }
-            m.fitness -= level.avgDistanceToGoal(current);
+            m.fitness -= level.avgDistanceToGoal(encoding.decode(current));
         }
 
         population.sort(null);
@@ -68,22 +67,15 @@ public class PuzzleAI {
         }
     }
 
-    private Board nextTurn(Model m, Board b, Board g){
-        Collection<Brick> bricks =  b.getBricks();
+    private PackedBoard nextTurn(Model m, BoardEncoding encoding, PackedBoard b, double[][] g){
         double max = -1;
-        Board best = null;
-        for (Brick brick : bricks){
-            Map<Direction, Integer> limits = b.getLimitsFor(brick);
-            for (Direction dir : Direction.values()){
-                if(limits.get(dir) > 0){
-                    Board c = b.copy();
-                    c.replace(brick, brick.movedInto(dir));
-                    double rating = m.feed(c.encode2D(), g.encode2D());
-                    if (rating > max){
-                        best = c;
-                        max = rating;
-                    }
-                }
+        PackedBoard best = null;
+        // Moves every brick by a single cell
+        for (PackedBoard c : encoding.childBoards(b, 1)){
+            double rating = m.feed(encoding.encode2D(c), g);
+            if (rating > max){
+                best = c;
+                max = rating;
             }
         }
         return best;
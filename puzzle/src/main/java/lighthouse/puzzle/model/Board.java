@@ -2,10 +2,10 @@ package lighthouse.puzzle.model;
 
 import java.awt.Color;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -17,6 +17,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import lighthouse.model.grid.ColorGrid;
+import lighthouse.model.grid.PackedColorGrid;
 import lighthouse.util.ColorUtils;
 import lighthouse.util.IntVec;
 import lighthouse.util.ListenerList;
@@ -34,6 +35,10 @@ public class Board implements Serializable, ColorGrid {
 	private Set<Brick> bricks = new HashSet<>();
 	
 	private transient ListenerList<Void> lazyChangeListeners;
+	/** The brick occupying each cell (in row-major order), which is kept up to date once built. */
+	private transient Brick[] lazyOccupancy;
+	/** Whether some cell of the occupancy index is covered by multiple bricks. */
+	private transient boolean occupancyOverlaps;
 	
 	/** Creates a new board with the default size of 4x6. */
 	public Board() {
@@ -60,34 +65,41 @@ public class Board implements Serializable, ColorGrid {
 	
 	/** Pushes a brick onto the board. */
 	public void add(Brick brick) {
-		bricks.add(brick);
+		if (bricks.add(brick)) {
+			occupy(brick);
+		}
 		getChangeListeners().fire();
 	}
 	
 	/** Replaces a brick. */
 	public void replace(Brick oldBrick, Brick newBrick) {
-		bricks.remove(oldBrick);
-		bricks.add(newBrick);
+		if (bricks.remove(oldBrick)) {
+			vacate(oldBrick);
+		}
+		if (bricks.add(newBrick)) {
+			occupy(newBrick);
+		}
 		getChangeListeners().fire();
 	}
 	
 	/** Removes and returns a brick at a certain position. */
 	public Brick removeBrickAt(IntVec gridPos) {
-		Iterator<Brick> iterator = bricks.iterator();
-		while (iterator.hasNext()) {
-			Brick brick = iterator.next();
-			if (brick.contains(gridPos)) {
-				iterator.remove();
-				getChangeListeners().fire();
-				return brick;
-			}
+		Brick brick = locateBrick(gridPos);
+		if (brick != null) {
+			bricks.remove(brick);
+			vacate(brick);
+			getChangeListeners().fire();
 		}
-		return null;
+		return brick;
 	}
 	
 	/** Clears the board's contents. */
 	public void clear() {
 		bricks.clear();
+		if (lazyOccupancy != null) {
+			Arrays.fill(lazyOccupancy, null);
+			occupancyOverlaps = false;
+		}
 		getChangeListeners().fire();
 	}
 	
@@ -100,19 +112,110 @@ public class Board implements Serializable, ColorGrid {
 	
 	@Override
 	public Color getColorAt(int x, int y) {
-		return getColorAt(new IntVec(x, y));
+		Brick brick = locateBrick(x, y);
+		return (brick == null) ? null : brick.getColor();
 	}
 	
 	public boolean hasBrickAt(IntVec gridPos) {
-		return bricks.stream().anyMatch(brick -> brick.contains(gridPos));
+		return locateBrick(gridPos) != null;
+	}
+	
+	public boolean hasBrickAt(int x, int y) {
+		return locateBrick(x, y) != null;
 	}
 	
 	/** Finds a brick at a given position and returns null if there is none. */
 	public Brick locateBrick(IntVec gridPos) {
-		return bricks.stream()
-			.filter(brick -> brick.contains(gridPos))
-			.findFirst()
-			.orElse(null);
+		return locateBrick(gridPos.getX(), gridPos.getY());
+	}
+	
+	/** Finds a brick at a given position and returns null if there is none. */
+	public Brick locateBrick(int x, int y) {
+		if (isInBounds(x, y)) {
+			return getOccupancy()[(y * columns) + x];
+		}
+		
+		// Cells outside of the board are not indexed
+		IntVec gridPos = new IntVec(x, y);
+		for (Brick brick : bricks) {
+			if (brick.contains(gridPos)) {
+				return brick;
+			}
+		}
+		return null;
+	}
+	
+	private boolean isInBounds(int x, int y) {
+		return x >= 0 && x < columns && y >= 0 && y < rows;
+	}
+	
+	/** Fetches the lazily built occupancy index. */
+	private Brick[] getOccupancy() {
+		if (lazyOccupancy == null) {
+			// Lazy initialization/reinitalization after deserialization, the index is only published once complete
+			Brick[] occupancy = new Brick[columns * rows];
+			boolean overlaps = false;
+			for (Brick brick : bricks) {
+				overlaps |= occupy(occupancy, brick);
+			}
+			occupancyOverlaps = overlaps;
+			lazyOccupancy = occupancy;
+		}
+		return lazyOccupancy;
+	}
+	
+	/** Adds a brick to the occupancy index (if it was built already). */
+	private void occupy(Brick brick) {
+		if (lazyOccupancy != null) {
+			occupancyOverlaps |= occupy(lazyOccupancy, brick);
+		}
+	}
+	
+	/** Marks the cells of a brick as occupied and returns whether it overlaps another brick. */
+	private boolean occupy(Brick[] occupancy, Brick brick) {
+		boolean overlaps = false;
+		List<Direction> structure = brick.getStructure();
+		int x = brick.getPos().getX();
+		int y = brick.getPos().getY();
+		for (int i = 0; i <= structure.size(); i++) {
+			if (i > 0) {
+				x += structure.get(i - 1).getDx();
+				y += structure.get(i - 1).getDy();
+			}
+			if (isInBounds(x, y)) {
+				int cell = (y * columns) + x;
+				if (occupancy[cell] == null) {
+					occupancy[cell] = brick;
+				} else {
+					overlaps = true;
+				}
+			}
+		}
+		return overlaps;
+	}
+	
+	/** Removes a brick from the occupancy index (if it was built already). */
+	private void vacate(Brick brick) {
+		if (lazyOccupancy == null) {
+			return;
+		} else if (occupancyOverlaps) {
+			// Other bricks might cover the vacated cells, thus the index is rebuilt
+			lazyOccupancy = null;
+			return;
+		}
+		
+		List<Direction> structure = brick.getStructure();
+		int x = brick.getPos().getX();
+		int y = brick.getPos().getY();
+		for (int i = 0; i <= structure.size(); i++) {
+			if (i > 0) {
+				x += structure.get(i - 1).getDx();
+				y += structure.get(i - 1).getDy();
+			}
+			if (isInBounds(x, y)) {
+				lazyOccupancy[(y * columns) + x] = null;
+			}
+		}
 	}
 	
 	/** Performs a given move. */
@@ -139,47 +242,9 @@ public class Board implements Serializable, ColorGrid {
 			return true;
 		}
 		
-		Color[][] baseColors = to2DColorArray();
-		Color[][] patternColors = pattern.to2DColorArray();
-		IntVec patternMin = pattern.getMinPos();
-		IntVec patternMax = pattern.getMaxPos();
-		IntVec patternSize = patternMax.sub(patternMin).add(IntVec.ONE_ONE);
-		int searchColumns = (columns - patternSize.getX()) + 1;
-		int searchRows = (rows - patternSize.getY()) + 1;
-		Map<Color, Color> mappings = new HashMap<>();
-		
-		for (int x0 = 0; x0 < searchColumns; x0++) {
-			for (int y0 = 0; y0 < searchRows; y0++) {
-				// Reset mappings to [BLACK -> BLACK]
-				mappings.clear();
-				mappings.put(Color.BLACK, Color.BLACK);
-				
-				// Test for match
-				boolean matches = true;
-				
-				patternloop:
-				for (int x1 = 0; x1 < patternSize.getX(); x1++) {
-					for (int y1 = 0; y1 < patternSize.getY(); y1++) {
-						Color baseColor = baseColors[y0 + y1][x0 + x1];
-						Color actualPatternColor = patternColors[y1 + patternMin.getY()][x1 + patternMin.getX()];
-						Color expectedPatternColor = mappings.get(baseColor);
-						
-						if (expectedPatternColor == null) {
-							mappings.put(baseColor, actualPatternColor);
-						} else if (!expectedPatternColor.equals(actualPatternColor)) {
-							matches = false;
-							break patternloop;
-						}
-					}
-				}
-				
-				if (matches) {
-					return true;
-				}
-			}
-		}
-		
-		return false;
+		int[] colors = new int[columns * rows];
+		PackedColorGrid.copyOf(this, columns, rows).copyRGB(columns, rows, colors, 0);
+		return new BoardPattern(pattern).isContainedIn(colors, columns, rows);
 	}
 	
 	/** Finds a brick by ID. */
@@ -259,23 +324,25 @@ public class Board implements Serializable, ColorGrid {
 		limits.put(Direction.RIGHT, Integer.MAX_VALUE);
         limits.put(Direction.LEFT, Integer.MAX_VALUE);
         
-        List<Edge> edgeList = brick.getEdges();
-		for (Direction dir : Direction.values()) {
-			edgeList.stream().filter(edge -> edge.getDir().getIndex() == dir.getIndex()).forEach(edge -> {
-				IntVec face = brick.getPos().add(edge.getOff()).add(dir);
-				int limit = 0;
-				while (!hasBrickAt(face) && face.xIn(0, columns) && face.yIn(0, rows)) {
-					limit += 1;
-					face = face.add(dir);
-				}
-				if (limits.get(dir) > limit) {
-					LOG.debug("Looking {} I found a smaller limit than {}: {}", dir, limits.get(dir), limit);
-					limits.put(dir, limit);
-				}
-				if (limit > 0) {
-					edge.setHighlighted(true);
-				}
-			});
+		IntVec pos = brick.getPos();
+		Brick[] occupancy = getOccupancy();
+		for (Edge edge : brick.getEdges()) {
+			Direction dir = edge.getDir();
+			int x = pos.getX() + edge.getOff().getX() + dir.getDx();
+			int y = pos.getY() + edge.getOff().getY() + dir.getDy();
+			int limit = 0;
+			while (isInBounds(x, y) && occupancy[(y * columns) + x] == null) {
+				limit += 1;
+				x += dir.getDx();
+				y += dir.getDy();
+			}
+			if (limits.get(dir) > limit) {
+				LOG.debug("Looking {} I found a smaller limit than {}: {}", dir, limits.get(dir), limit);
+				limits.put(dir, limit);
+			}
+			if (limit > 0) {
+				edge.setHighlighted(true);
+			}
 		}
         LOG.debug("Limits: {}", limits);
         
@@ -287,6 +354,7 @@ public class Board implements Serializable, ColorGrid {
 		other.getChangeListeners().add(v -> {
 			bricks.clear();
 			bricks.addAll(other.bricks);
+			lazyOccupancy = null;
 			getChangeListeners().fire();
 		});
 	}
@@ -307,6 +375,10 @@ public class Board implements Serializable, ColorGrid {
 	public Board copy() {
 		Board copied = new Board(columns, rows);
 		copied.bricks.addAll(bricks);
+		if (lazyOccupancy != null) {
+			copied.lazyOccupancy = lazyOccupancy.clone();
+			copied.occupancyOverlaps = occupancyOverlaps;
+		}
 		return copied;
 	}
 	
@@ -0,0 +1,502 @@
+package lighthouse.puzzle.model;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import lighthouse.util.ColorUtils;
+import lighthouse.util.Direction;
+import lighthouse.util.IntVec;
+
+/**
+ * Packs the states of a fixed set of bricks into
+ * {@link PackedBoard}s, which allows searches to hash, compare
+ * and move boards without copying sets of bricks.
+ *
+ * <p>Every brick of the template board is assigned a slot that
+ * stores the cell index of its position. Bricks with the same
+ * structure and color are interchangeable, thus their positions
+ * are sorted to obtain a canonical encoding.</p>
+ *
+ * <p>Encodings are not modified after construction, thus
+ * a single encoding can be shared by multiple solver threads.</p>
+ */
+public class BoardEncoding {
+	private static final int MAX_CELLS = Long.SIZE;
+	private static final int BLACK = Color.BLACK.getRGB();
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private final int columns;
+	private final int rows;
+	private final int slotCount;
+	private final int bitsPerSlot;
+	private final int slotsPerWord;
+	private final int wordCount;
+	private final long slotMask;
+	private final Brick[] templates;
+	private final List<List<Direction>> structures = new ArrayList<>();
+	/** The first slot of each slot's group of interchangeable bricks. */
+	private final int[] groupStarts;
+	/** The (exclusive) last slot of each slot's group of interchangeable bricks. */
+	private final int[] groupEnds;
+	/** The (exclusive) last slot of the bricks sharing each slot's structure. */
+	private final int[] structureEnds;
+	/** The occupied cells for each slot and position or 0 if the brick does not fit. */
+	private final long[][] placements;
+	/** The edge offsets (as x, y pairs) for each slot and direction. */
+	private final int[][][] edgeOffsets;
+	private final int[] colors;
+	private final int[] patternColors;
+	private final List<BoardPattern> blockedPatterns = new ArrayList<>();
+	private PackedBoard goal = null;
+	/** The Manhattan distance from each slot and position to the closest goal position of a brick with the same structure. */
+	private int[][] goalDistances = null;
+
+	/**
+	 * Creates an encoding for the bricks of the level's start board,
+	 * which recognizes the level's goal and blocked states.
+	 */
+	public BoardEncoding(Level level) {
+		this(level.getStart());
+		goal = tryEncode(level.getGoal());
+		if (goal != null) {
+			goalDistances = computeGoalDistances(goal);
+		}
+		for (Board blocked : level.getBlockedStates()) {
+			blockedPatterns.add(new BoardPattern(blocked));
+		}
+	}
+
+	/** Creates an encoding for the bricks of the given board. */
+	public BoardEncoding(Board template) {
+		columns = template.getColumns();
+		rows = template.getRows();
+		int cells = columns * rows;
+		if (cells > MAX_CELLS) {
+			throw new IllegalArgumentException("Only boards with up to " + MAX_CELLS + " cells can be encoded, not " + columns + "x" + rows);
+		}
+
+		List<Brick> bricks = new ArrayList<>(template.getBricks());
+		bricks.sort(Comparator.<Brick, String>comparing(brick -> brick.getStructure().toString())
+			.thenComparingInt(brick -> brick.getColor().getRGB())
+			.thenComparingInt(Brick::getID));
+		templates = bricks.toArray(new Brick[0]);
+		slotCount = templates.length;
+		bitsPerSlot = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(cells - 1));
+		slotsPerWord = Long.SIZE / bitsPerSlot;
+		wordCount = Math.max(1, (slotCount + slotsPerWord - 1) / slotsPerWord);
+		slotMask = (1L << bitsPerSlot) - 1;
+
+		groupStarts = new int[slotCount];
+		groupEnds = new int[slotCount];
+		structureEnds = new int[slotCount];
+		placements = new long[slotCount][];
+		edgeOffsets = new int[slotCount][][];
+		colors = new int[slotCount];
+		patternColors = new int[slotCount];
+
+		for (int slot = 0; slot < slotCount; slot++) {
+			Brick brick = templates[slot];
+			structures.add(new ArrayList<>(brick.getStructure()));
+			boolean sameGroup = (slot > 0) && isInterchangeable(templates[slot - 1], brick);
+			groupStarts[slot] = sameGroup ? groupStarts[slot - 1] : slot;
+			colors[slot] = brick.getColor().getRGB();
+			// Like packed color grids, fully transparent colors are treated as empty (black)
+			patternColors[slot] = ((colors[slot] >>> 24) == 0) ? BLACK : colors[slot];
+			placements[slot] = computePlacements(brick);
+			edgeOffsets[slot] = computeEdgeOffsets(brick);
+		}
+		for (int slot = slotCount - 1; slot >= 0; slot--) {
+			boolean groupContinues = (slot + 1 < slotCount) && (groupStarts[slot + 1] == groupStarts[slot]);
+			groupEnds[slot] = groupContinues ? groupEnds[slot + 1] : (slot + 1);
+			boolean structureContinues = (slot + 1 < slotCount) && structures.get(slot + 1).equals(structures.get(slot));
+			structureEnds[slot] = structureContinues ? structureEnds[slot + 1] : (slot + 1);
+		}
+	}
+
+	private boolean isInterchangeable(Brick a, Brick b) {
+		return a.getStructure().equals(b.getStructure()) && a.getColor().equals(b.getColor());
+	}
+
+	private long[] computePlacements(Brick brick) {
+		long[] result = new long[columns * rows];
+		for (int cell = 0; cell < result.length; cell++) {
+			IntVec pos = new IntVec(cell % columns, cell / columns);
+			long mask = 0;
+			for (IntVec occupied : brick.movedBy(pos.sub(brick.getPos())).getAllPositions()) {
+				if (!inBounds(occupied.getX(), occupied.getY())) {
+					mask = 0;
+					break;
+				}
+				mask |= bitOf(occupied.getX(), occupied.getY());
+			}
+			result[cell] = mask;
+		}
+		return result;
+	}
+
+	private int[][] computeEdgeOffsets(Brick brick) {
+		// Computed freshly, since the edges of a brick are mutated for highlighting
+		List<Edge> edges = brick.computeEdges();
+		int[][] result = new int[DIRECTIONS.length][];
+		for (Direction dir : DIRECTIONS) {
+			int[] offsets = edges.stream()
+				.filter(edge -> edge.getDir().getIndex() == dir.getIndex())
+				.flatMapToInt(edge -> Arrays.stream(new int[] {edge.getOff().getX(), edge.getOff().getY()}))
+				.toArray();
+			result[dir.ordinal()] = offsets;
+		}
+		return result;
+	}
+
+	private int[][] computeGoalDistances(PackedBoard goalBoard) {
+		long[] goalWords = goalBoard.getWords();
+		int[][] result = new int[slotCount][columns * rows];
+		for (int slot = 0; slot < slotCount; slot++) {
+			int structureStart = slot;
+			while (structureStart > 0 && structureEnds[structureStart - 1] == structureEnds[slot]) {
+				structureStart--;
+			}
+			for (int cell = 0; cell < columns * rows; cell++) {
+				int distance = Integer.MAX_VALUE;
+				for (int other = structureStart; other < structureEnds[slot]; other++) {
+					int goalCell = getSlot(goalWords, other);
+					distance = Math.min(distance, Math.abs((cell % columns) - (goalCell % columns)) + Math.abs((cell / columns) - (goalCell / columns)));
+				}
+				result[slot][cell] = distance;
+			}
+		}
+		return result;
+	}
+
+	public int getColumns() { return columns; }
+
+	public int getRows() { return rows; }
+
+	/** Fetches the number of encoded bricks. */
+	public int getSlotCount() { return slotCount; }
+
+	/** Packs a board that consists of the template's bricks (at arbitrary positions). */
+	public PackedBoard encode(Board board) {
+		PackedBoard packed = tryEncode(board);
+		if (packed == null) {
+			throw new IllegalArgumentException("The board does not consist of the encoded bricks:\n" + board);
+		}
+		return packed;
+	}
+
+	private PackedBoard tryEncode(Board board) {
+		if (board.getColumns() != columns || board.getRows() != rows || board.getBricks().size() != slotCount) {
+			return null;
+		}
+
+		long[] words = new long[wordCount];
+		boolean[] used = new boolean[slotCount];
+
+		for (Brick brick : board.getBricks()) {
+			int slot = findSlot(brick, used);
+			IntVec pos = brick.getPos();
+			if (slot < 0 || !inBounds(pos.getX(), pos.getY())) {
+				return null;
+			}
+			used[slot] = true;
+			setSlot(words, slot, cellOf(pos.getX(), pos.getY()));
+		}
+
+		for (int slot = 0; slot < slotCount; slot = groupEnds[slot]) {
+			canonicalize(words, slot);
+		}
+		return new PackedBoard(words);
+	}
+
+	private int findSlot(Brick brick, boolean[] used) {
+		// Prefer the brick with the same id, then an interchangeable one, then any with the same structure
+		int interchangeable = -1;
+		int sameStructure = -1;
+		for (int slot = 0; slot < slotCount; slot++) {
+			if (!used[slot] && structures.get(slot).equals(brick.getStructure())) {
+				if (templates[slot].getID() == brick.getID()) {
+					return slot;
+				} else if (interchangeable < 0 && templates[slot].getColor().equals(brick.getColor())) {
+					interchangeable = slot;
+				} else if (sameStructure < 0) {
+					sameStructure = slot;
+				}
+			}
+		}
+		return (interchangeable >= 0) ? interchangeable : sameStructure;
+	}
+
+	/** Unpacks a board, which reuses the ids and colors of the template's bricks. */
+	public Board decode(PackedBoard packed) {
+		long[] words = packed.getWords();
+		Board board = new Board(columns, rows);
+		for (int slot = 0; slot < slotCount; slot++) {
+			int cell = getSlot(words, slot);
+			Brick template = templates[slot];
+			board.add(new Brick(new IntVec(cell % columns, cell / columns), structures.get(slot), template.getColor(), template.getID()));
+		}
+		return board;
+	}
+
+	/** Fetches the boards that are reachable by moving a single brick (by any distance). */
+	public List<PackedBoard> childBoards(PackedBoard packed) {
+		return childBoards(packed, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Fetches the boards that are reachable by moving a single brick
+	 * by at most the given number of cells, following the same
+	 * rules as {@link Board#streamPossibleMoves()}.
+	 */
+	public List<PackedBoard> childBoards(PackedBoard packed, int maxDistance) {
+		long[] words = packed.getWords();
+		long occupied = occupiedCells(words);
+		List<PackedBoard> children = new ArrayList<>();
+
+		for (int slot = 0; slot < slotCount; slot++) {
+			int cell = getSlot(words, slot);
+			int x = cell % columns;
+			int y = cell / columns;
+
+			for (Direction dir : DIRECTIONS) {
+				int limit = Math.min(maxDistance, limitFor(slot, x, y, dir, occupied));
+				for (int distance = 1; distance <= limit; distance++) {
+					long[] childWords = words.clone();
+					setSlot(childWords, slot, cellOf(x + (dir.getDx() * distance), y + (dir.getDy() * distance)));
+					canonicalize(childWords, groupStarts[slot]);
+					children.add(new PackedBoard(childWords));
+				}
+			}
+		}
+
+		return children;
+	}
+
+	/** Checks whether the child is reachable from the parent by moving a single brick. */
+	public boolean hasChildBoard(PackedBoard parent, PackedBoard child) {
+		return childBoards(parent).contains(child);
+	}
+
+	/** Computes how far a brick can move into a direction, see {@link Board#getLimitsFor(Brick)}. */
+	private int limitFor(int slot, int x, int y, Direction dir, long occupied) {
+		int[] offsets = edgeOffsets[slot][dir.ordinal()];
+		if (offsets.length == 0) {
+			return 0;
+		}
+
+		int limit = Integer.MAX_VALUE;
+		for (int i = 0; i < offsets.length; i += 2) {
+			int faceX = x + offsets[i] + dir.getDx();
+			int faceY = y + offsets[i + 1] + dir.getDy();
+			int free = 0;
+			while (inBounds(faceX, faceY) && (occupied & bitOf(faceX, faceY)) == 0) {
+				free++;
+				faceX += dir.getDx();
+				faceY += dir.getDy();
+			}
+			limit = Math.min(limit, free);
+		}
+		return limit;
+	}
+
+	/** Fetches a bit mask of the cells occupied by any brick. */
+	public long occupiedCells(PackedBoard packed) {
+		return occupiedCells(packed.getWords());
+	}
+
+	private long occupiedCells(long[] words) {
+		long occupied = 0;
+		for (int slot = 0; slot < slotCount; slot++) {
+			occupied |= placements[slot][getSlot(words, slot)];
+		}
+		return occupied;
+	}
+
+	/** Checks whether the board has the same layout as the level's goal. */
+	public boolean isGoal(PackedBoard packed) {
+		return (goal != null) && hasSameLayout(packed, goal);
+	}
+
+	/**
+	 * Checks whether two boards have the same bricks at the same
+	 * positions (ignoring colors), like {@link Board#equals(Object)}.
+	 */
+	public boolean hasSameLayout(PackedBoard a, PackedBoard b) {
+		if (a.equals(b)) {
+			return true;
+		}
+
+		long[] wordsA = a.getWords();
+		long[] wordsB = b.getWords();
+		for (int start = 0; start < slotCount; start = structureEnds[start]) {
+			int end = structureEnds[start];
+			int[] cellsA = new int[end - start];
+			int[] cellsB = new int[end - start];
+			for (int slot = start; slot < end; slot++) {
+				cellsA[slot - start] = getSlot(wordsA, slot);
+				cellsB[slot - start] = getSlot(wordsB, slot);
+			}
+			Arrays.sort(cellsA);
+			Arrays.sort(cellsB);
+			if (!Arrays.equals(cellsA, cellsB)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Checks whether the encoding knows the level's goal. */
+	public boolean hasGoal() { return goal != null; }
+
+	/**
+	 * Sums the Manhattan distances of all bricks to their goal positions,
+	 * where bricks of the same structure may use each other's goal positions.
+	 * Thus, this never exceeds the actual distance.
+	 */
+	public int getGoalDistance(PackedBoard packed) {
+		if (goalDistances == null) {
+			throw new IllegalStateException("The encoding does not know the goal of a level");
+		}
+		long[] words = packed.getWords();
+		int distance = 0;
+		for (int slot = 0; slot < slotCount; slot++) {
+			distance += goalDistances[slot][getSlot(words, slot)];
+		}
+		return distance;
+	}
+
+	/**
+	 * Enumerates the boards that have the goal's layout, i.e. every
+	 * assignment of the goal positions to bricks of the same structure.
+	 */
+	public Set<PackedBoard> goalBoards() {
+		if (goal == null) {
+			return Collections.emptySet();
+		}
+		Set<PackedBoard> boards = new LinkedHashSet<>();
+		addGoalBoards(goal.getWords().clone(), 0, 0, boards);
+		return boards;
+	}
+
+	/** Recursively permutes the positions within each range of bricks sharing a structure. */
+	private void addGoalBoards(long[] words, int rangeStart, int slot, Set<PackedBoard> boards) {
+		if (rangeStart >= slotCount) {
+			long[] canonical = words.clone();
+			for (int group = 0; group < slotCount; group = groupEnds[group]) {
+				canonicalize(canonical, group);
+			}
+			boards.add(new PackedBoard(canonical));
+			return;
+		}
+
+		int rangeEnd = structureEnds[rangeStart];
+		if (slot >= rangeEnd) {
+			addGoalBoards(words, rangeEnd, rangeEnd, boards);
+			return;
+		}
+		for (int other = slot; other < rangeEnd; other++) {
+			swapSlots(words, slot, other);
+			addGoalBoards(words, rangeStart, slot + 1, boards);
+			swapSlots(words, slot, other);
+		}
+	}
+
+	private void swapSlots(long[] words, int a, int b) {
+		int cell = getSlot(words, a);
+		setSlot(words, a, getSlot(words, b));
+		setSlot(words, b, cell);
+	}
+
+	/** Fetches the maximum number of cells a brick can move in a single move. */
+	public int getMaxMoveDistance() { return Math.max(columns, rows) - 1; }
+
+	/** Checks whether the board contains none of the level's blocked states, see {@link Level#isAllowed(Board)}. */
+	public boolean isAllowed(PackedBoard packed) {
+		if (blockedPatterns.isEmpty()) {
+			return true;
+		}
+
+		int[] cellColors = toRGB(packed, patternColors);
+		for (BoardPattern pattern : blockedPatterns) {
+			if (pattern.isContainedIn(cellColors, columns, rows)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Encodes the brightness of each cell, see {@link Board#encode2D()}. */
+	public double[][] encode2D(PackedBoard packed) {
+		int[] cellColors = toRGB(packed, colors);
+		double[][] encoded = new double[rows][columns];
+		for (int y = 0; y < rows; y++) {
+			for (int x = 0; x < columns; x++) {
+				encoded[y][x] = ColorUtils.getBrightnessPercentRGB(cellColors[(y * columns) + x]);
+			}
+		}
+		return encoded;
+	}
+
+	private int[] toRGB(PackedBoard packed, int[] slotColors) {
+		long[] words = packed.getWords();
+		int[] cellColors = new int[columns * rows];
+		Arrays.fill(cellColors, BLACK);
+
+		// Paints in reverse, thus the first slot wins if bricks overlap
+		for (int slot = slotCount - 1; slot >= 0; slot--) {
+			long cells = placements[slot][getSlot(words, slot)];
+			while (cells != 0) {
+				cellColors[Long.numberOfTrailingZeros(cells)] = slotColors[slot];
+				cells &= cells - 1;
+			}
+		}
+		return cellColors;
+	}
+
+	/** Sorts the positions of a group of interchangeable bricks. */
+	private void canonicalize(long[] words, int groupStart) {
+		int groupEnd = groupEnds[groupStart];
+		for (int i = groupStart + 1; i < groupEnd; i++) {
+			int cell = getSlot(words, i);
+			int j = i - 1;
+			while (j >= groupStart && getSlot(words, j) > cell) {
+				setSlot(words, j + 1, getSlot(words, j));
+				j--;
+			}
+			setSlot(words, j + 1, cell);
+		}
+	}
+
+	private int getSlot(long[] words, int slot) {
+		int shift = (slot % slotsPerWord) * bitsPerSlot;
+		return (int) ((words[slot / slotsPerWord] >>> shift) & slotMask);
+	}
+
+	private void setSlot(long[] words, int slot, int cell) {
+		int word = slot / slotsPerWord;
+		int shift = (slot % slotsPerWord) * bitsPerSlot;
+		words[word] = (words[word] & ~(slotMask << shift)) | ((long) cell << shift);
+	}
+
+	private boolean inBounds(int x, int y) {
+		return x >= 0 && x < columns && y >= 0 && y < rows;
+	}
+
+	private int cellOf(int x, int y) {
+		return (y * columns) + x;
+	}
+
+	private long bitOf(int x, int y) {
+		return 1L << cellOf(x, y);
+	}
+
+	@Override
+	public String toString() {
+		return "BoardEncoding [" + columns + "x" + rows + ", bricks=" + slotCount + ", bitsPerSlot=" + bitsPerSlot + ", words=" + wordCount + "]";
+	}
+}
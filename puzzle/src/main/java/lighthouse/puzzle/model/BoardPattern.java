@@ -0,0 +1,90 @@
+package lighthouse.puzzle.model;
+
+import java.awt.Color;
+
+import lighthouse.model.grid.PackedColorGrid;
+import lighthouse.util.IntVec;
+
+/**
+ * A precomputed pattern board that can be matched against
+ * the packed colors of other boards. A pattern matches
+ * a region if there is a consistent mapping from the colors
+ * of the region to the pattern's colors, where black
+ * (empty) cells only map to black.
+ */
+public class BoardPattern {
+	private static final int BLACK = Color.BLACK.getRGB();
+	private final int[] colors;
+	private final int columns;
+	private final int rows;
+	private final boolean empty;
+
+	public BoardPattern(Board pattern) {
+		empty = pattern.isEmpty();
+		IntVec min = pattern.getMinPos();
+		IntVec size = pattern.getMaxPos().sub(min).add(IntVec.ONE_ONE);
+		PackedColorGrid grid = PackedColorGrid.copyOf(pattern, pattern.getColumns(), pattern.getRows());
+		columns = size.getX();
+		rows = size.getY();
+		colors = new int[columns * rows];
+
+		for (int y = 0; y < rows; y++) {
+			for (int x = 0; x < columns; x++) {
+				colors[(y * columns) + x] = grid.getRGBAt(x + min.getX(), y + min.getY());
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the pattern occurs somewhere on a board,
+	 * given as packed RGB values in row-major order.
+	 */
+	public boolean isContainedIn(int[] boardColors, int boardColumns, int boardRows) {
+		if (empty) {
+			return true;
+		}
+
+		int searchColumns = (boardColumns - columns) + 1;
+		int searchRows = (boardRows - rows) + 1;
+		// The mappings from board colors to pattern colors
+		int[] keys = new int[colors.length + 1];
+		int[] values = new int[colors.length + 1];
+
+		for (int x0 = 0; x0 < searchColumns; x0++) {
+			for (int y0 = 0; y0 < searchRows; y0++) {
+				// Reset mappings to [BLACK -> BLACK]
+				keys[0] = BLACK;
+				values[0] = BLACK;
+				int mappingCount = 1;
+				boolean matches = true;
+
+				patternloop:
+				for (int x1 = 0; x1 < columns; x1++) {
+					for (int y1 = 0; y1 < rows; y1++) {
+						int boardColor = boardColors[((y0 + y1) * boardColumns) + x0 + x1];
+						int patternColor = colors[(y1 * columns) + x1];
+						int mapping = 0;
+						while (mapping < mappingCount && keys[mapping] != boardColor) {
+							mapping++;
+						}
+
+						if (mapping == mappingCount) {
+							keys[mappingCount] = boardColor;
+							values[mappingCount] = patternColor;
+							mappingCount++;
+						} else if (values[mapping] != patternColor) {
+							matches = false;
+							break patternloop;
+						}
+					}
+				}
+
+				if (matches) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+}
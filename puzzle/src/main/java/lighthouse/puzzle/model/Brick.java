@@ -54,7 +54,7 @@ public class Brick implements GameBlock, Serializable {
 	
 	@Override
 	public int hashCode() {
-		return structure.hashCode() * pos.hashCode() * 7;
+		return (31 * structure.hashCode()) + pos.hashCode();
 	}
 
 	@Override
@@ -40,7 +40,7 @@ public class BrickBuilder implements Iterable<Direction>, GameBlock {
 	@Override
 	public Color getColor() { return color; }
 	
-	public Brick build() { return new Brick(startPos, structure, color, id); }
+	public Brick build() { return new Brick(startPos, new ArrayList<>(structure), color, id); }
 	
 	@Override
 	public IntVec getPos() { return startPos; }
@@ -1,10 +1,13 @@
 package lighthouse.puzzle.model;
 
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import lighthouse.model.grid.PackedColorGrid;
+
 /**
  * A game level consisting of a start
  * board and a goal.
@@ -14,6 +17,8 @@ public class Level implements Serializable {
 	private Board start;
 	private Board goal;
 	private List<Board> blockedStates = new ArrayList<>();
+	/** The precomputed blocked states, which are rebuilt after the blocked states change. */
+	private transient volatile List<BoardPattern> lazyBlockedPatterns;
 	
 	/** Creates a new level with empty start/goal boards. */
 	public Level() {
@@ -32,19 +37,44 @@ public class Level implements Serializable {
 	
 	public Board getGoal() { return goal; }
 	
-	public List<Board> getBlockedStates() { return blockedStates; }
+	/** Fetches the blocked states, which may be modified through the returned list. */
+	public List<Board> getBlockedStates() { return new BlockedStatesView(); }
 	
 	public boolean isCompleted(Board tested) { return tested.equals(goal); }
 	
 	public boolean isAllowed(Board board) {
-		for (Board blockedPattern : blockedStates) {
-			if (board.containsPattern(blockedPattern)) {
+		if (blockedStates.isEmpty()) {
+			return true;
+		}
+		
+		// Packs the board's colors once for all patterns, see BoardEncoding for repeated checks
+		int columns = board.getColumns();
+		int rows = board.getRows();
+		int[] colors = new int[columns * rows];
+		PackedColorGrid.copyOf(board, columns, rows).copyRGB(columns, rows, colors, 0);
+		
+		for (BoardPattern blockedPattern : getBlockedPatterns()) {
+			if (blockedPattern.isContainedIn(colors, columns, rows)) {
 				return false;
 			}
 		}
 		return true;
 	}
 	
+	/** Fetches the lazily precomputed blocked states. */
+	private List<BoardPattern> getBlockedPatterns() {
+		List<BoardPattern> patterns = lazyBlockedPatterns;
+		if (patterns == null) {
+			// Lazy initialization/reinitialization after deserialization or changes
+			patterns = new ArrayList<>(blockedStates.size());
+			for (Board blockedState : blockedStates) {
+				patterns.add(new BoardPattern(blockedState));
+			}
+			lazyBlockedPatterns = patterns;
+		}
+		return patterns;
+	}
+	
 	/** Fetches the target brick for a brick. */
 	public Optional<Brick> goalBrickFor(Brick brick) {
 		return goal.streamBricks()
@@ -68,4 +98,33 @@ public class Level implements Serializable {
 			.average()
 			.orElse(Double.NaN);
 	}
+	
+	/** A view of the blocked states that invalidates the precomputed patterns on changes. */
+	private class BlockedStatesView extends AbstractList<Board> {
+		@Override
+		public Board get(int index) { return blockedStates.get(index); }
+		
+		@Override
+		public int size() { return blockedStates.size(); }
+		
+		@Override
+		public Board set(int index, Board element) {
+			Board replaced = blockedStates.set(index, element);
+			lazyBlockedPatterns = null;
+			return replaced;
+		}
+		
+		@Override
+		public void add(int index, Board element) {
+			blockedStates.add(index, element);
+			lazyBlockedPatterns = null;
+		}
+		
+		@Override
+		public Board remove(int index) {
+			Board removed = blockedStates.remove(index);
+			lazyBlockedPatterns = null;
+			return removed;
+		}
+	}
 }
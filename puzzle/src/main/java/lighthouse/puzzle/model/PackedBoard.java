@@ -0,0 +1,36 @@
+package lighthouse.puzzle.model;
+
+import java.util.Arrays;
+
+/**
+ * An immutable, bit-packed board state as produced by
+ * a {@link BoardEncoding}. Every brick occupies a fixed-width
+ * slot holding the cell index of its position. The hash code
+ * is computed once, thus packed boards are cheap to store in
+ * hash-based collections.
+ */
+public final class PackedBoard {
+	private final long[] words;
+	private final int hash;
+
+	PackedBoard(long[] words) {
+		this.words = words;
+		hash = Arrays.hashCode(words);
+	}
+
+	long[] getWords() { return words; }
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof PackedBoard)) return false;
+		PackedBoard other = (PackedBoard) obj;
+		return (hash == other.hash) && Arrays.equals(words, other.words);
+	}
+
+	@Override
+	public int hashCode() { return hash; }
+
+	@Override
+	public String toString() { return "PackedBoard " + Arrays.toString(words); }
+}
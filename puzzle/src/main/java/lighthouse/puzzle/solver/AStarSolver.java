@@ -0,0 +1,138 @@
+package lighthouse.puzzle.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lighthouse.puzzle.model.Board;
+import lighthouse.puzzle.model.BoardEncoding;
+import lighthouse.puzzle.model.Level;
+import lighthouse.puzzle.model.PackedBoard;
+
+/**
+ * An A* solver that finds a shortest sequence of moves.
+ *
+ * <p>The heuristic is the sum of the Manhattan distances of
+ * the bricks to their goal positions, divided by the maximum
+ * distance a brick can move at once (rounded up). Since a single
+ * move cannot reduce the sum by more than that, the heuristic
+ * is consistent and the first goal expanded is optimal.</p>
+ */
+public class AStarSolver implements Solver {
+    private static final Logger LOG = LoggerFactory.getLogger(AStarSolver.class);
+    private volatile long expandedStates = 0;
+
+    @Override
+    public List<Board> solve(Level toSolve) {
+        LOG.info("Starting A* solver");
+
+        BoardEncoding encoding = new BoardEncoding(toSolve);
+        if (!encoding.hasGoal()) {
+            LOG.warn("The goal does not consist of the start board's bricks");
+            return Collections.emptyList();
+        }
+
+        int maxMoveDistance = Math.max(1, encoding.getMaxMoveDistance());
+        PackedBoard start = encoding.encode(toSolve.getStart());
+        PriorityQueue<Node> open = new PriorityQueue<>();
+        Map<PackedBoard, Integer> costs = new HashMap<>();
+        Map<PackedBoard, PackedBoard> parents = new HashMap<>();
+        Set<PackedBoard> closed = new HashSet<>();
+        Set<PackedBoard> blocked = new HashSet<>();
+        long expanded = 0;
+
+        open.add(new Node(start, 0, estimate(encoding, start, maxMoveDistance)));
+        costs.put(start, 0);
+
+        try {
+            while (!open.isEmpty()) {
+                // Stop the solver if the thread was interrupted
+                if (Thread.interrupted()) {
+                    LOG.info("Stopped solver");
+                    return Collections.emptyList();
+                }
+
+                Node node = open.poll();
+                if (!closed.add(node.board)) {
+                    // An outdated entry for a board that was reached more cheaply
+                    continue;
+                }
+                if (encoding.isGoal(node.board)) {
+                    LOG.info("Found a solution with {} moves after expanding {} states", node.cost, expanded);
+                    return unpackPath(encoding, parents, node.board);
+                }
+                expanded++;
+
+                int childCost = node.cost + 1;
+                for (PackedBoard child : encoding.childBoards(node.board)) {
+                    // Expanded boards are skipped here too, since their cost is never higher
+                    Integer knownCost = costs.get(child);
+                    if (knownCost != null && knownCost <= childCost) {
+                        continue;
+                    }
+                    if (knownCost == null) {
+                        // Only new boards are tested against the blocked states, once
+                        if (blocked.contains(child)) {
+                            continue;
+                        }
+                        if (!encoding.isAllowed(child)) {
+                            blocked.add(child);
+                            continue;
+                        }
+                    }
+                    costs.put(child, childCost);
+                    parents.put(child, node.board);
+                    open.add(new Node(child, childCost, childCost + estimate(encoding, child, maxMoveDistance)));
+                }
+            }
+
+            LOG.info("The level is not solvable, expanded {} states", expanded);
+            return Collections.emptyList();
+        } finally {
+            expandedStates = expanded;
+        }
+    }
+
+    private int estimate(BoardEncoding encoding, PackedBoard board, int maxMoveDistance) {
+        return (encoding.getGoalDistance(board) + maxMoveDistance - 1) / maxMoveDistance;
+    }
+
+    private List<Board> unpackPath(BoardEncoding encoding, Map<PackedBoard, PackedBoard> parents, PackedBoard goal) {
+        List<Board> path = new ArrayList<>();
+        for (PackedBoard board = goal; board != null; board = parents.get(board)) {
+            path.add(encoding.decode(board));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    @Override
+    public long getExpandedStates() { return expandedStates; }
+
+    private static class Node implements Comparable<Node> {
+        private final PackedBoard board;
+        private final int cost;
+        private final int estimatedTotal;
+
+        public Node(PackedBoard board, int cost, int estimatedTotal) {
+            this.board = board;
+            this.cost = cost;
+            this.estimatedTotal = estimatedTotal;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int result = Integer.compare(estimatedTotal, other.estimatedTotal);
+            // Prefers deeper nodes among equal estimates, which are closer to a goal
+            return (result != 0) ? result : Integer.compare(other.cost, cost);
+        }
+    }
+}
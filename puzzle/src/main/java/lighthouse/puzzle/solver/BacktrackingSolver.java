@@ -13,37 +13,46 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import lighthouse.puzzle.model.Board;
+import lighthouse.puzzle.model.BoardEncoding;
 import lighthouse.puzzle.model.Level;
+import lighthouse.puzzle.model.PackedBoard;
 
 /**
  * A simple solver that backtracks once it encounters
- * an already visited state.
+ * an already visited state. The search operates on
+ * packed boards, which are only unpacked for the result.
  */
 public class BacktrackingSolver implements Solver {
     private static final Logger LOG = LoggerFactory.getLogger(BacktrackingSolver.class);
+    private volatile long expandedStates = 0;
     
     @Override
     public List<Board> solve(Level toSolve) {
         LOG.info("Starting solver");
         
-        Deque<Board> moves = new ArrayDeque<>();
-        Board goal = toSolve.getGoal();
-        Set<Board> visited = new HashSet<>();
+        BoardEncoding encoding = new BoardEncoding(toSolve);
+        Deque<PackedBoard> moves = new ArrayDeque<>();
+        Set<PackedBoard> visited = new HashSet<>();
+        long expanded = 0;
         
-        moves.addLast(toSolve.getStart());
-        while (!moves.isEmpty() && !moves.peekLast().equals(goal)) {
+        moves.addLast(encoding.encode(toSolve.getStart()));
+        while (!moves.isEmpty() && !encoding.isGoal(moves.peekLast())) {
             // Stop the solver if the thread was interrupted
             if (Thread.interrupted()) {
                 LOG.info("Stopped solver");
                 return Collections.emptyList();
             }
             
-            visited.add(moves.peekLast());
-            Board next = moves.peekLast()
-                .streamChildBoards()
-                .filter(c -> !visited.contains(c) && toSolve.isAllowed(c))
-                .findAny()
-                .orElse(null);
+            if (visited.add(moves.peekLast())) {
+                expanded++;
+            }
+            PackedBoard next = null;
+            for (PackedBoard child : encoding.childBoards(moves.peekLast())) {
+                if (!visited.contains(child) && encoding.isAllowed(child)) {
+                    next = child;
+                    break;
+                }
+            }
             
             if (next == null) {
                 moves.removeLast();
@@ -52,6 +61,7 @@ public class BacktrackingSolver implements Solver {
             }
         }
         
+        expandedStates = expanded;
         List<Board> finalMoves = new ArrayList<>();
         LOG.info("Starting optimization with: {} moves", moves.size());
 
@@ -62,24 +72,24 @@ public class BacktrackingSolver implements Solver {
                 return Collections.emptyList();
             }
             
-            Board board = moves.removeFirst();
+            PackedBoard board = moves.removeFirst();
             if (!moves.isEmpty()) {
-                boolean reachable = board.hasChildBoard(moves.peekFirst());
+                boolean reachable = encoding.hasChildBoard(board, moves.peekFirst());
                 if (!reachable) {
                     LOG.warn("Illegal move sequence generated by solver in the first step");
                 }
             }
-            finalMoves.add(board);
+            finalMoves.add(encoding.decode(board));
 
-            Iterator<Board> iter = moves.descendingIterator();
+            Iterator<PackedBoard> iter = moves.descendingIterator();
             boolean canSkip = false;
 
             while (iter.hasNext()) {
-                Board futureBoard = iter.next();
+                PackedBoard futureBoard = iter.next();
                 if (canSkip) {
                     iter.remove();
                 } else {
-                    if (board.hasChildBoard(futureBoard)) {
+                    if (encoding.hasChildBoard(board, futureBoard)) {
                         LOG.trace("Skipping");
                         canSkip = true;
                     }
@@ -91,4 +101,7 @@ public class BacktrackingSolver implements Solver {
         LOG.info("Done");
         return finalMoves;
     }
+    
+    @Override
+    public long getExpandedStates() { return expandedStates; }
 }
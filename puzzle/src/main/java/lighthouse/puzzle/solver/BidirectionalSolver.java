@@ -0,0 +1,146 @@
+package lighthouse.puzzle.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lighthouse.puzzle.model.Board;
+import lighthouse.puzzle.model.BoardEncoding;
+import lighthouse.puzzle.model.Level;
+import lighthouse.puzzle.model.PackedBoard;
+
+/**
+ * A breadth-first solver that searches from the start
+ * and from the goal simultaneously until both searches meet.
+ * This is possible since every move can be reversed by moving
+ * the brick back, as long as the boards in between are allowed.
+ *
+ * <p>Both searches only enter boards that contain none of the
+ * level's blocked states (the start board itself excepted), thus
+ * the solutions are as short as the ones found by the
+ * {@link AStarSolver}.</p>
+ */
+public class BidirectionalSolver implements Solver {
+    private static final Logger LOG = LoggerFactory.getLogger(BidirectionalSolver.class);
+    private volatile long expandedStates = 0;
+
+    @Override
+    public List<Board> solve(Level toSolve) {
+        LOG.info("Starting bidirectional solver");
+
+        BoardEncoding encoding = new BoardEncoding(toSolve);
+        if (!encoding.hasGoal()) {
+            LOG.warn("The goal does not consist of the start board's bricks");
+            return Collections.emptyList();
+        }
+
+        PackedBoard start = encoding.encode(toSolve.getStart());
+        if (encoding.isGoal(start)) {
+            return Collections.singletonList(toSolve.getStart());
+        }
+
+        Side forward = new Side();
+        Side backward = new Side();
+        forward.addRoot(start);
+        for (PackedBoard goal : encoding.goalBoards()) {
+            if (encoding.isAllowed(goal)) {
+                backward.addRoot(goal);
+            }
+        }
+        long expanded = 0;
+
+        try {
+            while (!forward.frontier.isEmpty() && !backward.frontier.isEmpty()) {
+                // Always expands the smaller frontier
+                boolean isForward = forward.frontier.size() <= backward.frontier.size();
+                Side expanding = isForward ? forward : backward;
+                Side opposite = isForward ? backward : forward;
+                PackedBoard meeting = null;
+                int meetingLength = Integer.MAX_VALUE;
+                List<PackedBoard> nextFrontier = new ArrayList<>();
+                expanded += expanding.frontier.size();
+
+                for (PackedBoard board : expanding.frontier) {
+                    // Stop the solver if the thread was interrupted
+                    if (Thread.interrupted()) {
+                        LOG.info("Stopped solver");
+                        return Collections.emptyList();
+                    }
+
+                    int childDepth = expanding.visits.get(board).depth + 1;
+                    for (PackedBoard child : encoding.childBoards(board)) {
+                        if (expanding.visits.containsKey(child) || !(child.equals(start) || encoding.isAllowed(child))) {
+                            continue;
+                        }
+                        expanding.add(child, board, childDepth);
+                        nextFrontier.add(child);
+
+                        // Completes the depth before choosing the shortest connection
+                        Visit other = opposite.visits.get(child);
+                        if (other != null && childDepth + other.depth < meetingLength) {
+                            meeting = child;
+                            meetingLength = childDepth + other.depth;
+                        }
+                    }
+                }
+
+                if (meeting != null) {
+                    LOG.info("Found a solution with {} moves after expanding {} states", meetingLength, expanded);
+                    return unpackPath(encoding, forward, backward, meeting);
+                }
+                expanding.frontier = nextFrontier;
+            }
+
+            LOG.info("The level is not solvable, expanded {} states", expanded);
+            return Collections.emptyList();
+        } finally {
+            expandedStates = expanded;
+        }
+    }
+
+    private List<Board> unpackPath(BoardEncoding encoding, Side forward, Side backward, PackedBoard meeting) {
+        List<Board> path = new ArrayList<>();
+        for (PackedBoard board = meeting; board != null; board = forward.visits.get(board).link) {
+            path.add(encoding.decode(board));
+        }
+        Collections.reverse(path);
+        for (PackedBoard board = backward.visits.get(meeting).link; board != null; board = backward.visits.get(board).link) {
+            path.add(encoding.decode(board));
+        }
+        return path;
+    }
+
+    @Override
+    public long getExpandedStates() { return expandedStates; }
+
+    /** The visited boards and the current frontier of one search direction. */
+    private static class Side {
+        private final Map<PackedBoard, Visit> visits = new HashMap<>();
+        private List<PackedBoard> frontier = new ArrayList<>();
+
+        public void addRoot(PackedBoard board) {
+            visits.put(board, new Visit(null, 0));
+            frontier.add(board);
+        }
+
+        public void add(PackedBoard board, PackedBoard link, int depth) {
+            visits.put(board, new Visit(link, depth));
+        }
+    }
+
+    private static class Visit {
+        /** The adjacent board towards the root of the search. */
+        private final PackedBoard link;
+        private final int depth;
+
+        public Visit(PackedBoard link, int depth) {
+            this.link = link;
+            this.depth = depth;
+        }
+    }
+}
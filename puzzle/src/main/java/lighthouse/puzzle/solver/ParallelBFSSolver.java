@@ -0,0 +1,202 @@
+package lighthouse.puzzle.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lighthouse.puzzle.model.Board;
+import lighthouse.puzzle.model.BoardEncoding;
+import lighthouse.puzzle.model.Level;
+import lighthouse.puzzle.model.PackedBoard;
+
+/**
+ * A level-synchronous breadth-first solver that expands
+ * each depth of the search on multiple threads. Since every
+ * depth is completed before the next one is started, the
+ * solutions are as short as the sequential ones.
+ *
+ * <p>Visited boards are stored in a map that is sharded by
+ * hash code, which keeps lock contention between the workers low.
+ * Interrupting the thread that calls {@link #solve} cancels
+ * the search.</p>
+ */
+public class ParallelBFSSolver implements Solver {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelBFSSolver.class);
+    /** The number of tasks per thread each depth is split into to balance the load. */
+    private static final int TASKS_PER_THREAD = 4;
+    private static final AtomicInteger WORKER_IDS = new AtomicInteger();
+    private final int threadCount;
+    private volatile long expandedStates = 0;
+
+    public ParallelBFSSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelBFSSolver(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("A solver needs at least one thread, not " + threadCount);
+        }
+        this.threadCount = threadCount;
+    }
+
+    @Override
+    public List<Board> solve(Level toSolve) {
+        LOG.info("Starting parallel BFS solver with {} threads", threadCount);
+
+        BoardEncoding encoding = new BoardEncoding(toSolve);
+        if (!encoding.hasGoal()) {
+            LOG.warn("The goal does not consist of the start board's bricks");
+            return Collections.emptyList();
+        }
+
+        PackedBoard start = encoding.encode(toSolve.getStart());
+        VisitedMap visited = new VisitedMap(threadCount * TASKS_PER_THREAD);
+        AtomicReference<PackedBoard> goal = new AtomicReference<>();
+        ExecutorService workers = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "Solver worker " + WORKER_IDS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<PackedBoard> frontier = Collections.singletonList(start);
+        long expanded = 0;
+
+        visited.putIfAbsent(start, null);
+        if (encoding.isGoal(start)) {
+            goal.set(start);
+        }
+
+        try {
+            while (goal.get() == null && !frontier.isEmpty()) {
+                // Stop the solver if the thread was interrupted
+                if (Thread.interrupted()) {
+                    LOG.info("Stopped solver");
+                    return Collections.emptyList();
+                }
+
+                expanded += frontier.size();
+                frontier = expand(frontier, encoding, visited, goal, workers);
+            }
+
+            if (goal.get() == null) {
+                LOG.info("The level is not solvable, expanded {} states", expanded);
+                return Collections.emptyList();
+            }
+            LOG.info("Found a solution after expanding {} states", expanded);
+            return unpackPath(encoding, visited, goal.get());
+        } catch (InterruptedException e) {
+            LOG.info("Stopped solver");
+            return Collections.emptyList();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A solver worker failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+            expandedStates = expanded;
+        }
+    }
+
+    /** Expands all boards of the current depth and returns the next depth. */
+    private List<PackedBoard> expand(
+        List<PackedBoard> frontier,
+        BoardEncoding encoding,
+        VisitedMap visited,
+        AtomicReference<PackedBoard> goal,
+        ExecutorService workers
+    ) throws InterruptedException, ExecutionException {
+        int taskCount = Math.min(frontier.size(), threadCount * TASKS_PER_THREAD);
+        List<Callable<List<PackedBoard>>> tasks = new ArrayList<>(taskCount);
+
+        for (int i = 0; i < taskCount; i++) {
+            List<PackedBoard> chunk = frontier.subList((i * frontier.size()) / taskCount, ((i + 1) * frontier.size()) / taskCount);
+            tasks.add(() -> {
+                List<PackedBoard> next = new ArrayList<>();
+                for (PackedBoard board : chunk) {
+                    if (goal.get() != null || Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                    for (PackedBoard child : encoding.childBoards(board)) {
+                        // Blocked boards are marked as visited too, thus they are only checked once
+                        if (visited.putIfAbsent(child, board) && encoding.isAllowed(child)) {
+                            if (encoding.isGoal(child)) {
+                                goal.compareAndSet(null, child);
+                            }
+                            next.add(child);
+                        }
+                    }
+                }
+                return next;
+            });
+        }
+
+        // Waiting on the futures throws if the calling thread is interrupted
+        List<PackedBoard> nextFrontier = new ArrayList<>();
+        for (Future<List<PackedBoard>> result : workers.invokeAll(tasks)) {
+            nextFrontier.addAll(result.get());
+        }
+        return nextFrontier;
+    }
+
+    private List<Board> unpackPath(BoardEncoding encoding, VisitedMap visited, PackedBoard goal) {
+        List<Board> path = new ArrayList<>();
+        for (PackedBoard board = goal; board != null; board = visited.getParent(board)) {
+            path.add(encoding.decode(board));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public int getThreadCount() { return threadCount; }
+
+    @Override
+    public long getExpandedStates() { return expandedStates; }
+
+    /** Maps visited boards to their parents, sharded by hash code. */
+    private static class VisitedMap {
+        private final List<Map<PackedBoard, PackedBoard>> shards;
+        private final int shardMask;
+
+        public VisitedMap(int minShards) {
+            int shardCount = Integer.highestOneBit(Math.max(1, minShards - 1)) << 1;
+            shards = new ArrayList<>(shardCount);
+            shardMask = shardCount - 1;
+            for (int i = 0; i < shardCount; i++) {
+                shards.add(new HashMap<>());
+            }
+        }
+
+        private Map<PackedBoard, PackedBoard> shardOf(PackedBoard board) {
+            int hash = board.hashCode();
+            return shards.get((hash ^ (hash >>> 16)) & shardMask);
+        }
+
+        /** Marks the board as visited and returns whether it was not visited before. */
+        public boolean putIfAbsent(PackedBoard board, PackedBoard parent) {
+            Map<PackedBoard, PackedBoard> shard = shardOf(board);
+            synchronized (shard) {
+                if (shard.containsKey(board)) {
+                    return false;
+                }
+                shard.put(board, parent);
+                return true;
+            }
+        }
+
+        public PackedBoard getParent(PackedBoard board) {
+            Map<PackedBoard, PackedBoard> shard = shardOf(board);
+            synchronized (shard) {
+                return shard.get(board);
+            }
+        }
+    }
+}
@@ -8,4 +8,7 @@ import lighthouse.puzzle.model.Level;
 public interface Solver {
 	/** Finds the winning sequence of boards. */
 	List<Board> solve(Level toSolve);
+	
+	/** Fetches the number of states expanded during the last search. */
+	default long getExpandedStates() { return 0; }
 }
@@ -10,17 +10,33 @@ import lighthouse.util.IntVec;
  * The current editing state of the board. Any selections,
  * actively constructed objects will appear here. Not intended
  * to be serialized.
+ * 
+ * <p>Every change publishes an immutable copy of the brick
+ * in progress, which is rendered by the scene's frame clock.</p>
  */
 public class BoardEditState {
 	private BrickBuilder brickInProgress;
+	private volatile Brick publishedBrickInProgress;
 	
-	public void beginEdit(Brick edited) { brickInProgress = new BrickBuilder(edited); }
+	public void beginEdit(Brick edited) {
+		brickInProgress = new BrickBuilder(edited);
+		publish();
+	}
 	
-	public void beginEdit(IntVec startPos) { brickInProgress = new BrickBuilder(startPos); }
+	public void beginEdit(IntVec startPos) {
+		brickInProgress = new BrickBuilder(startPos);
+		publish();
+	}
 	
-	public void appendToEdit(Direction direction) { brickInProgress.append(direction); }
+	public void appendToEdit(Direction direction) {
+		brickInProgress.append(direction);
+		publish();
+	}
 	
-	public void moveBy(IntVec delta) { brickInProgress.moveBy(delta); }
+	public void moveBy(IntVec delta) {
+		brickInProgress.moveBy(delta);
+		publish();
+	}
 	
 	public Brick finishEdit(IntVec end) {
 		Brick brick = brickInProgress.build();
@@ -30,5 +46,15 @@ public class BoardEditState {
 	
 	public GameBlock getBrickInProgress() { return brickInProgress; }
 	
-	public void reset() { brickInProgress = null; }
+	/** Fetches a copy of the brick in progress (or null), which may be used from any thread. */
+	public GameBlock getPublishedBrickInProgress() { return publishedBrickInProgress; }
+	
+	public void reset() {
+		brickInProgress = null;
+		publish();
+	}
+	
+	private void publish() {
+		publishedBrickInProgress = (brickInProgress == null) ? null : brickInProgress.build();
+	}
 }
@@ -26,6 +26,12 @@ import lighthouse.util.ListenerList;
  * A UI-independent representation of the
  * board together with its presentation
  * artifacts (such as overlays and animations).
+ * 
+ * <p>The board is modified on the UI thread, while the
+ * scene's frame clock renders it. Thus every change made through
+ * this view model publishes an immutable copy of the bricks,
+ * which is the only state (together with the transitions
+ * and the edit state) that the scene shapes are created from.</p>
  */
 public class BoardViewModel implements ColorGrid, SceneLayer {
 	private static final int FRAMES_PER_BOARD_TRANSITION = 5;
@@ -34,7 +40,8 @@ public class BoardViewModel implements ColorGrid, SceneLayer {
 	private final BoardStatistics statistics;
 	private final List<SceneLayer> overlays = new ArrayList<>();
 	private List<Board> blockedStates;
-	private Integer selectedID = null;
+	private volatile Integer selectedID = null;
+	private volatile List<Brick> publishedBricks;
 	
 	private final ListenerList<Board> boardListeners = new ListenerList<>("BoardViewModel.boardListeners");
 	
@@ -50,6 +57,12 @@ public class BoardViewModel implements ColorGrid, SceneLayer {
 		this.blockedStates = blockedStates;
 		this.statistics = statistics;
 		transitionableModel = new TransitionableBoard(model, FRAMES_PER_BOARD_TRANSITION);
+		publishBricks();
+	}
+	
+	/** Publishes a copy of the current board's bricks for rendering. */
+	private void publishBricks() {
+		publishedBricks = Collections.unmodifiableList(new ArrayList<>(getModel().getBricks()));
 	}
 	
 	@Override
@@ -103,6 +116,7 @@ public class BoardViewModel implements ColorGrid, SceneLayer {
 	public void clear() {
 		getModel().clear();
 		editState.reset();
+		publishBricks();
 	}
 	
 	public boolean isSelected(GameBlock block) { return (selectedID != null) && (block != null) && block.getID() == selectedID; }
@@ -138,6 +152,7 @@ public class BoardViewModel implements ColorGrid, SceneLayer {
 	// TODO: Being able to pass different kinds of interpolations and total frame counts here
 	public void transitionTo(Board next) {
 		transitionableModel.enqueueTransition(next);
+		publishBricks();
 		boardListeners.fire(next);
 	}
 	
@@ -157,13 +172,13 @@ public class BoardViewModel implements ColorGrid, SceneLayer {
 	@Override
 	public List<SceneShape> getShapes() {
 		List<SceneShape> shapes = new ArrayList<>();
-		GameBlock brickInProgress = editState.getBrickInProgress();
+		GameBlock brickInProgress = editState.getPublishedBrickInProgress();
 		
 		if (brickInProgress != null) {
 			shapesOfBlock(brickInProgress).forEach(shapes::add);
 		}
 		
-		getModel().streamBricks()
+		publishedBricks.stream()
 			.flatMap(this::shapesOfBrick)
 			.forEach(shapes::add);
 		
@@ -186,6 +201,7 @@ public class BoardViewModel implements ColorGrid, SceneLayer {
 	}
 	
 	private Color colorOfBrick(Brick brick) {
+		Integer selectedID = this.selectedID;
 		if (selectedID != null && brick.getID() == selectedID) {
 			return brick.getColor().brighter().brighter();
 		} else {
@@ -200,15 +216,25 @@ public class BoardViewModel implements ColorGrid, SceneLayer {
 	
 	public boolean hasBrickAt(IntVec gridPos) { return getModel().hasBrickAt(gridPos); }
 	
-	public Brick removeBrickAt(IntVec gridPos) { return getModel().removeBrickAt(gridPos); }
+	public Brick removeBrickAt(IntVec gridPos) {
+		Brick removed = getModel().removeBrickAt(gridPos);
+		publishBricks();
+		return removed;
+	}
 	
-	public void add(Brick brick) { getModel().add(brick); }
+	public void add(Brick brick) {
+		getModel().add(brick);
+		publishBricks();
+	}
 	
 	public Map<Direction, Integer> getLimitsFor(Brick brick) { return getModel().getLimitsFor(brick); }
 	
 	public Brick locateBrick(IntVec gridPos) { return getModel().locateBrick(gridPos); }
 	
-	public void replace(Brick oldBrick, Brick newBrick) { getModel().replace(oldBrick, newBrick); }
+	public void replace(Brick oldBrick, Brick newBrick) {
+		getModel().replace(oldBrick, newBrick);
+		publishBricks();
+	}
 	
 	public Collection<? extends Brick> getBricks() { return getModel().getBricks(); }
 	
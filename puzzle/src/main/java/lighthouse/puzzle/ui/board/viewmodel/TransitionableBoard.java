@@ -8,6 +8,14 @@ import lighthouse.puzzle.model.Board;
 import lighthouse.puzzle.model.Brick;
 import lighthouse.util.DoubleVec;
 
+/**
+ * A board that transitions between queued boards.
+ * 
+ * <p>Transitions are queued on the UI thread and advanced
+ * by the scene's frame clock, thus all methods are synchronized.
+ * The transitions use copies of the queued boards, since
+ * the current board may be edited in place.</p>
+ */
 public class TransitionableBoard {
 	private final Queue<Board> queuedBoards = new ArrayDeque<>();
 	private final int framesPerTransition;
@@ -21,29 +29,30 @@ public class TransitionableBoard {
 		this.framesPerTransition = framesPerTransition;
 	}
 	
-	public void enqueueTransition(Board board) {
+	public synchronized void enqueueTransition(Board board) {
+		Board copy = board.copy();
 		currentBoard = board;
 		
 		if (visibleBoard == null) {
-			visibleBoard = currentBoard;
+			visibleBoard = copy;
 		}
 		
-		queuedBoards.offer(board);
+		queuedBoards.offer(copy);
 		
 		if (activeTransition == null) {
 			nextTransition();
 		}
 	}
 	
-	public boolean hasNextFrame() {
+	public synchronized boolean hasNextFrame() {
 		return activeTransition != null && frame < (activeTransition.getTotalFrames() + 1);
 	}
 	
-	public BoardTransition getActiveTransition() {
+	public synchronized BoardTransition getActiveTransition() {
 		return activeTransition;
 	}
 	
-	public Optional<DoubleVec> gridPosForBrick(Brick brick) {
+	public synchronized Optional<DoubleVec> gridPosForBrick(Brick brick) {
 		if (activeTransition == null) {
 			return Optional.empty();
 		} else {
@@ -51,7 +60,7 @@ public class TransitionableBoard {
 		}
 	}
 	
-	public void nextFrame() {
+	public synchronized void nextFrame() {
 		if (activeTransition != null) {
 			frame++;
 			if (frame >= activeTransition.getTotalFrames()) {
@@ -71,7 +80,7 @@ public class TransitionableBoard {
 		}
 	}
 	
-	public Board getCurrentBoard() {
+	public synchronized Board getCurrentBoard() {
 		return currentBoard;
 	}
 }
@@ -17,7 +17,10 @@ import lighthouse.gameapi.SceneInteractionFacade;
 import lighthouse.puzzle.model.Board;
 import lighthouse.puzzle.model.Level;
 import lighthouse.puzzle.model.PuzzleGameState;
+import lighthouse.puzzle.solver.AStarSolver;
 import lighthouse.puzzle.solver.BacktrackingSolver;
+import lighthouse.puzzle.solver.BidirectionalSolver;
+import lighthouse.puzzle.solver.ParallelBFSSolver;
 import lighthouse.puzzle.solver.Solver;
 import lighthouse.puzzle.ui.board.viewmodel.BoardViewModel;
 import lighthouse.ui.SwingViewController;
@@ -51,6 +54,9 @@ public class SolverViewController implements SwingViewController {
 			),
 			LayoutUtils.panelOf(
 				LayoutUtils.buttonOf("Solve with Backtracking", () -> solveWith(new BacktrackingSolver(), (int) playbackSpeed.getValue())),
+				LayoutUtils.buttonOf("Solve with A*", () -> solveWith(new AStarSolver(), (int) playbackSpeed.getValue())),
+				LayoutUtils.buttonOf("Solve with Parallel BFS", () -> solveWith(new ParallelBFSSolver(), (int) playbackSpeed.getValue())),
+				LayoutUtils.buttonOf("Solve with Bidirectional BFS", () -> solveWith(new BidirectionalSolver(), (int) playbackSpeed.getValue())),
 				LayoutUtils.buttonOf("Stop", this::stop)
 			)
 		);
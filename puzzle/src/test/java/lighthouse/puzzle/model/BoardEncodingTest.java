@@ -0,0 +1,83 @@
+package lighthouse.puzzle.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import lighthouse.util.Direction;
+import lighthouse.util.IntVec;
+
+public class BoardEncodingTest {
+	@Test
+	public void testMovesMatchBoardMoves() {
+		Level level = TestLevels.defaultLevel();
+		BoardEncoding encoding = new BoardEncoding(level);
+		Deque<Board> queue = new ArrayDeque<>();
+		Set<Board> visited = new HashSet<>();
+		queue.add(level.getStart());
+
+		// Compares the first few hundred states of a breadth-first search
+		while (!queue.isEmpty() && visited.size() < 300) {
+			Board board = queue.removeFirst();
+			if (!visited.add(board)) {
+				continue;
+			}
+			PackedBoard packed = encoding.encode(board);
+			assertEquals(board, encoding.decode(packed));
+			assertEquals(level.isAllowed(board), encoding.isAllowed(packed));
+			assertTrue(Arrays.deepEquals(board.encode2D(), encoding.encode2D(packed)));
+
+			Set<Board> expected = board.streamChildBoards().collect(Collectors.toSet());
+			Set<Board> actual = encoding.childBoards(packed).stream().map(encoding::decode).collect(Collectors.toSet());
+			assertEquals(expected, actual);
+			queue.addAll(expected);
+		}
+	}
+
+	@Test
+	public void testGoal() {
+		Level level = TestLevels.defaultLevel();
+		BoardEncoding encoding = new BoardEncoding(level);
+		assertTrue(encoding.isGoal(encoding.encode(level.getGoal())));
+		assertFalse(encoding.isGoal(encoding.encode(level.getStart())));
+	}
+
+	@Test
+	public void testInterchangeableBricksAreCanonical() {
+		Board a = new Board();
+		a.add(new Brick(new IntVec(0, 0), Arrays.asList(Direction.RIGHT), Color.RED));
+		a.add(new Brick(new IntVec(0, 5), Arrays.asList(Direction.RIGHT), Color.RED));
+		Board b = new Board();
+		b.add(new Brick(new IntVec(0, 5), Arrays.asList(Direction.RIGHT), Color.RED));
+		b.add(new Brick(new IntVec(0, 0), Arrays.asList(Direction.RIGHT), Color.RED));
+
+		BoardEncoding encoding = new BoardEncoding(a);
+		assertEquals(encoding.encode(a), encoding.encode(b));
+		assertEquals(encoding.encode(a).hashCode(), encoding.encode(b).hashCode());
+	}
+
+	@Test
+	public void testGoalBoardsPermuteBricksOfSameStructure() {
+		Board start = new Board();
+		start.add(new Brick(new IntVec(0, 0), Arrays.asList(Direction.RIGHT), Color.RED));
+		start.add(new Brick(new IntVec(0, 5), Arrays.asList(Direction.RIGHT), Color.BLUE));
+		Board goal = new Board();
+		goal.add(new Brick(new IntVec(2, 0), Arrays.asList(Direction.RIGHT), Color.RED));
+		goal.add(new Brick(new IntVec(2, 5), Arrays.asList(Direction.RIGHT), Color.BLUE));
+
+		BoardEncoding encoding = new BoardEncoding(new Level(start, goal));
+		Set<PackedBoard> goals = encoding.goalBoards();
+		assertEquals(2, goals.size());
+		assertTrue(goals.stream().allMatch(encoding::isGoal));
+	}
+}
@@ -1,6 +1,9 @@
 package lighthouse.puzzle.model;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -47,6 +50,32 @@ public class BoardTest {
 		assertTrue("Board should contain top-right pattern brick", board.containsPattern(patternB));
 	}
 	
+	@Test
+	public void testOccupancyFollowsChanges() {
+		Brick a = brickOf(new IntVec(0, 0), Direction.RIGHT);
+		Brick b = brickOf(new IntVec(0, 2), Direction.DOWN);
+		Board board = boardOf(a, b);
+		assertEquals(a, board.locateBrick(new IntVec(1, 0)));
+		assertEquals(b, board.locateBrick(0, 3));
+		assertFalse(board.hasBrickAt(1, 1));
+		assertEquals(1, (int) board.getLimitsFor(b).get(Direction.UP));
+		
+		Brick moved = a.movedBy(new IntVec(2, 0));
+		board.replace(a, moved);
+		assertFalse(board.hasBrickAt(0, 0));
+		assertEquals(moved, board.locateBrick(3, 0));
+		assertEquals(2, (int) board.getLimitsFor(b).get(Direction.UP));
+		
+		Board copy = board.copy();
+		assertEquals(b, board.removeBrickAt(new IntVec(0, 3)));
+		assertFalse(board.hasBrickAt(0, 2));
+		assertEquals(b, copy.locateBrick(0, 2));
+		
+		board.clear();
+		assertNull(board.locateBrick(2, 0));
+		assertEquals(moved, copy.locateBrick(2, 0));
+	}
+	
 	private Board boardOf(Brick... bricks) {
 		Board board = new Board();
 		for (Brick brick : bricks) {
@@ -0,0 +1,30 @@
+package lighthouse.puzzle.model;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import lighthouse.util.Direction;
+import lighthouse.util.IntVec;
+
+public class LevelTest {
+	@Test
+	public void testBlockedStatesFollowChanges() {
+		Board board = new Board();
+		board.add(new Brick(new IntVec(1, 1), Arrays.asList(Direction.RIGHT, Direction.DOWN), Color.RED));
+		Level level = new Level(board, board.copy());
+		assertTrue(level.isAllowed(board));
+
+		Board pattern = new Board(2, 2);
+		pattern.add(new Brick(new IntVec(0, 0), Arrays.asList(Direction.RIGHT, Direction.DOWN), Color.GRAY));
+		level.getBlockedStates().add(pattern);
+		assertFalse(level.isAllowed(board));
+
+		level.getBlockedStates().clear();
+		assertTrue(level.isAllowed(board));
+	}
+}
@@ -0,0 +1,98 @@
+package lighthouse.puzzle.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+
+import lighthouse.util.Direction;
+import lighthouse.util.IntVec;
+
+/**
+ * Levels for solver and encoding tests, which are built in
+ * code to avoid deserializing colors reflectively.
+ */
+public final class TestLevels {
+	private static final Color A = new Color(-8217901);
+	private static final Color B = new Color(-7655491);
+	private static final Color C = new Color(-6750605);
+	private static final Color D = new Color(-4779665);
+	private static final Color E = new Color(-9512736);
+	private static final Color PATTERN = Color.GRAY;
+
+	private TestLevels() {}
+
+	/** Creates a copy of the bundled default level (see levels/default.json). */
+	public static Level defaultLevel() {
+		Board start = new Board();
+		start.add(brick(0, 2, A, 1, Direction.DOWN, Direction.RIGHT));
+		start.add(brick(0, 1, B, 2, Direction.UP, Direction.RIGHT));
+		start.add(brick(3, 1, C, 3, Direction.UP, Direction.LEFT));
+		start.add(brick(2, 3, D, 4, Direction.RIGHT, Direction.UP));
+		start.add(brick(1, 1, E, 5, Direction.DOWN, Direction.RIGHT, Direction.UP));
+
+		Board goal = start.copy();
+		goal.replace(brick(1, 1, E, 5, Direction.DOWN, Direction.RIGHT, Direction.UP), brick(1, 4, E, 5, Direction.DOWN, Direction.RIGHT, Direction.UP));
+
+		Level level = new Level(start, goal);
+		level.getBlockedStates().add(pattern(
+			brick(2, 1, PATTERN, 6, Direction.UP, Direction.RIGHT),
+			brick(2, 2, PATTERN, 7, Direction.RIGHT, Direction.DOWN),
+			brick(1, 2, PATTERN, 8, Direction.DOWN, Direction.LEFT),
+			brick(1, 1, PATTERN, 9, Direction.LEFT, Direction.UP)
+		));
+		level.getBlockedStates().add(pattern(
+			brick(2, 2, PATTERN, 10, Direction.DOWN, Direction.RIGHT),
+			brick(1, 1, PATTERN, 11, Direction.UP, Direction.LEFT),
+			brick(2, 1, PATTERN, 12, Direction.RIGHT, Direction.UP),
+			brick(1, 2, PATTERN, 13, Direction.LEFT, Direction.DOWN)
+		));
+		return level;
+	}
+
+	/**
+	 * Creates a level with the default level's bricks on a 5x7 board,
+	 * where every brick has to be moved by one cell to the bottom right.
+	 * Solving it expands about 60000 boards, which is enough to
+	 * exercise the parallel solver's threads.
+	 */
+	public static Level largeLevel() {
+		Board start = new Board(5, 7);
+		Board goal = new Board(5, 7);
+
+		for (Brick brick : defaultLevel().getStart().getBricks()) {
+			start.add(brick);
+			goal.add(brick.movedBy(new IntVec(1, 1)));
+		}
+
+		return new Level(start, goal);
+	}
+
+	/**
+	 * Asserts that the solution starts at the level's start, completes
+	 * the level and only consists of allowed single moves.
+	 */
+	public static void assertValidSolution(Level level, List<Board> solution) {
+		assertEquals(level.getStart(), solution.get(0));
+		assertTrue(level.isCompleted(solution.get(solution.size() - 1)));
+		for (int i = 1; i < solution.size(); i++) {
+			Board next = solution.get(i);
+			assertTrue("Blocked board at move " + i, level.isAllowed(next));
+			assertTrue("No single move at move " + i, solution.get(i - 1).streamChildBoards().anyMatch(next::equals));
+		}
+	}
+
+	private static Board pattern(Brick... bricks) {
+		Board board = new Board();
+		for (Brick brick : bricks) {
+			board.add(brick);
+		}
+		return board;
+	}
+
+	private static Brick brick(int x, int y, Color color, int id, Direction... structure) {
+		return new Brick(new IntVec(x, y), Arrays.asList(structure), color, id);
+	}
+}
@@ -0,0 +1,51 @@
+package lighthouse.puzzle.solver;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import lighthouse.puzzle.model.Board;
+import lighthouse.puzzle.model.Level;
+import lighthouse.puzzle.model.TestLevels;
+
+public class AStarSolverTest {
+	@Test
+	public void testFindsShortestSolution() {
+		Level level = TestLevels.defaultLevel();
+		List<Board> solution = new AStarSolver().solve(level);
+
+		TestLevels.assertValidSolution(level, solution);
+		assertEquals(shortestMoveCount(level), solution.size() - 1);
+	}
+
+	/** Finds the length of a shortest solution using a plain breadth-first search. */
+	private int shortestMoveCount(Level level) {
+		Map<Board, Integer> depths = new HashMap<>();
+		Queue<Board> queue = new ArrayDeque<>();
+		depths.put(level.getStart(), 0);
+		queue.add(level.getStart());
+
+		while (!queue.isEmpty()) {
+			Board board = queue.poll();
+			int depth = depths.get(board);
+			if (level.isCompleted(board)) {
+				return depth;
+			}
+			for (Board child : board.streamChildBoards().collect(Collectors.toList())) {
+				if (level.isAllowed(child) && !depths.containsKey(child)) {
+					depths.put(child, depth + 1);
+					queue.add(child);
+				}
+			}
+		}
+
+		return -1;
+	}
+}
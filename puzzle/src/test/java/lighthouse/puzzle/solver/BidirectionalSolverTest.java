@@ -0,0 +1,29 @@
+package lighthouse.puzzle.solver;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import lighthouse.puzzle.model.Board;
+import lighthouse.puzzle.model.Level;
+import lighthouse.puzzle.model.TestLevels;
+
+public class BidirectionalSolverTest {
+	@Test
+	public void testFindsShortestSolution() {
+		Level level = TestLevels.defaultLevel();
+		List<Board> solution = new BidirectionalSolver().solve(level);
+
+		assertEquals(new AStarSolver().solve(level).size(), solution.size());
+		TestLevels.assertValidSolution(level, solution);
+	}
+
+	@Test
+	public void testSolvedLevel() {
+		Level level = TestLevels.defaultLevel();
+		Level solved = new Level(level.getGoal(), level.getGoal());
+		assertEquals(1, new BidirectionalSolver().solve(solved).size());
+	}
+}
@@ -0,0 +1,50 @@
+package lighthouse.puzzle.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import lighthouse.puzzle.model.Board;
+import lighthouse.puzzle.model.Level;
+import lighthouse.puzzle.model.TestLevels;
+
+public class ParallelBFSSolverTest {
+	@Test
+	public void testMatchesSequentialSolver() {
+		Level level = TestLevels.defaultLevel();
+		int expectedLength = new AStarSolver().solve(level).size();
+
+		for (int threads : new int[] {1, 2, 4}) {
+			List<Board> solution = new ParallelBFSSolver(threads).solve(level);
+			assertEquals(expectedLength, solution.size());
+			TestLevels.assertValidSolution(level, solution);
+		}
+	}
+
+	@Test
+	public void testSolvesLargeLevel() {
+		Level level = TestLevels.largeLevel();
+		int expectedLength = new BidirectionalSolver().solve(level).size();
+
+		for (int threads : new int[] {1, 4}) {
+			ParallelBFSSolver solver = new ParallelBFSSolver(threads);
+			List<Board> solution = solver.solve(level);
+			assertEquals(expectedLength, solution.size());
+			TestLevels.assertValidSolution(level, solution);
+			assertTrue("Expanded states: " + solver.getExpandedStates(), solver.getExpandedStates() > 10000);
+		}
+	}
+
+	@Test
+	public void testStopsWhenInterrupted() {
+		Thread.currentThread().interrupt();
+		try {
+			assertTrue(new ParallelBFSSolver(2).solve(TestLevels.defaultLevel()).isEmpty());
+		} finally {
+			Thread.interrupted();
+		}
+	}
+}
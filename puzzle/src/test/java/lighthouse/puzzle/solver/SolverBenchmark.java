@@ -0,0 +1,70 @@
+package lighthouse.puzzle.solver;
+
+import java.io.InputStream;
+import java.util.List;
+
+import lighthouse.puzzle.model.Board;
+import lighthouse.puzzle.model.Level;
+import lighthouse.puzzle.model.PuzzleGameState;
+import lighthouse.puzzle.model.TestLevels;
+
+/**
+ * Compares the solvers on the bundled default level and on
+ * a larger level that exercises the parallel solver's threads.
+ * Run using {@code gradle :puzzle:benchmarkSolvers}, optionally
+ * passing the maximum thread count using {@code -Pthreads=N}.
+ * The thread scaling is only meaningful on a machine
+ * with at least that many cores.
+ */
+public class SolverBenchmark {
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        PuzzleGameState state = new PuzzleGameState();
+        try (InputStream stream = SolverBenchmark.class.getResourceAsStream("/levels/default.json")) {
+            state.loadLevelFrom(stream);
+        }
+        Level level = state.getLevel();
+        int maxThreads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d available processors%n", Runtime.getRuntime().availableProcessors());
+
+        System.out.println("Default level:");
+        benchmark("Backtracking", new BacktrackingSolver(), level);
+        benchmark("A*", new AStarSolver(), level);
+        benchmark("Bidirectional", new BidirectionalSolver(), level);
+        benchmarkThreads(level, maxThreads);
+
+        System.out.println("Large level:");
+        Level largeLevel = TestLevels.largeLevel();
+        benchmark("Bidirectional", new BidirectionalSolver(), largeLevel);
+        benchmarkThreads(largeLevel, maxThreads);
+    }
+
+    /** Measures how the parallel solver scales with the number of threads. */
+    private static void benchmarkThreads(Level level, int maxThreads) {
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            benchmark("BFS x" + threads, new ParallelBFSSolver(threads), level);
+        }
+        if (Integer.bitCount(maxThreads) != 1) {
+            benchmark("BFS x" + maxThreads, new ParallelBFSSolver(maxThreads), level);
+        }
+    }
+
+    private static void benchmark(String name, Solver solver, Level level) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            solver.solve(level);
+        }
+
+        long totalNanos = 0;
+        List<Board> solution = null;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            solution = solver.solve(level);
+            totalNanos += System.nanoTime() - start;
+        }
+
+        System.out.printf("%-14s %8d expanded states, %4d moves, %8.2f ms/solve%n",
+            name, solver.getExpandedStates(), Math.max(0, solution.size() - 1), totalNanos / (MEASURED_RUNS * 1e6));
+    }
+}
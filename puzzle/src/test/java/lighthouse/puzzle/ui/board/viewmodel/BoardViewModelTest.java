@@ -0,0 +1,60 @@
+package lighthouse.puzzle.ui.board.viewmodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import lighthouse.puzzle.model.Board;
+import lighthouse.puzzle.model.Brick;
+import lighthouse.puzzle.model.TestLevels;
+import lighthouse.util.Direction;
+import lighthouse.util.IntVec;
+
+public class BoardViewModelTest {
+	@Test
+	public void testBoardChangesWhileRendering() throws Exception {
+		Board start = TestLevels.defaultLevel().getStart();
+		BoardViewModel viewModel = new BoardViewModel(start.copy());
+		AtomicBoolean done = new AtomicBoolean(false);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		// Renders like the scene's frame clock does
+		Thread renderer = new Thread(() -> {
+			try {
+				while (!done.get()) {
+					if (viewModel.hasNextTransitionFrame()) {
+						viewModel.nextTransitionFrame();
+					}
+					viewModel.getShapes();
+				}
+			} catch (Throwable e) {
+				failure.set(e);
+			}
+		}, "Test renderer");
+		renderer.start();
+
+		Brick extra = new Brick(new IntVec(0, 5), Arrays.asList(Direction.RIGHT));
+		for (int i = 0; i < 2000 && failure.get() == null; i++) {
+			viewModel.transitionTo(start.copy());
+			viewModel.add(extra);
+			viewModel.getEditState().beginEdit(new IntVec(3, 4));
+			viewModel.getEditState().appendToEdit(Direction.RIGHT);
+			viewModel.removeBrickAt(new IntVec(0, 5));
+			viewModel.getEditState().reset();
+		}
+		done.set(true);
+		renderer.join();
+
+		assertNull(failure.get());
+		while (viewModel.hasNextTransitionFrame()) {
+			viewModel.nextTransitionFrame();
+		}
+		int cells = start.streamBricks().mapToInt(brick -> brick.getAllPositions().size()).sum();
+		assertEquals(cells, viewModel.getShapes().size());
+	}
+}
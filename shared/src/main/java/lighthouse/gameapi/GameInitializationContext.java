@@ -5,13 +5,18 @@ import lighthouse.ui.ObservableStatus;
 public class GameInitializationContext {
 	private final ObservableStatus status;
 	private final SceneInteractionFacade interactionFacade;
+	private final GameLoop gameLoop;
 	
-	public GameInitializationContext(ObservableStatus status, SceneInteractionFacade interactionFacade) {
+	public GameInitializationContext(ObservableStatus status, SceneInteractionFacade interactionFacade, GameLoop gameLoop) {
 		this.status = status;
 		this.interactionFacade = interactionFacade;
+		this.gameLoop = gameLoop;
 	}
 	
 	public ObservableStatus getStatus() { return status; }
 	
 	public SceneInteractionFacade getInteractionFacade() { return interactionFacade; }
+	
+	/** Fetches the shared loop that runs the ticks of real-time games. */
+	public GameLoop getGameLoop() { return gameLoop; }
 }
@@ -0,0 +1,166 @@
+package lighthouse.gameapi;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lighthouse.ui.scene.controller.SceneResponder;
+import lighthouse.util.Updatable;
+
+/**
+ * Runs the ticks of a game at a fixed rate on a
+ * dedicated simulation thread, independently of
+ * how long rendering (or sending a frame) takes.
+ *
+ * <p>After every batch of ticks, the registered
+ * {@link SnapshotSceneLayer}s capture the game state
+ * and a render is requested. The renderer then
+ * consumes the latest snapshot at its own rate.</p>
+ *
+ * <p>If the simulation falls behind, up to
+ * {@link #MAX_CATCH_UP_TICKS} ticks are run back to back.
+ * Any further backlog is dropped, thus a slow tick
+ * cannot cause an ever-growing backlog.</p>
+ *
+ * <p>The loop is shared by the games: Opening a game
+ * starts it with the game's tick and closing the game
+ * stops it again.</p>
+ */
+public class GameLoop {
+	private static final Logger LOG = LoggerFactory.getLogger(GameLoop.class);
+	public static final int MAX_CATCH_UP_TICKS = 5;
+	private final String name;
+	private final Updatable renderer;
+	private final Object tickLock = new Object();
+	private final AtomicLong ticks = new AtomicLong();
+	private final AtomicLong droppedTicks = new AtomicLong();
+	private final AtomicLong failedTicks = new AtomicLong();
+	private volatile Thread thread = null;
+
+	/**
+	 * Creates a new game loop.
+	 *
+	 * @param name - The name of the simulation thread
+	 * @param renderer - Requests a render (called on the simulation thread)
+	 */
+	public GameLoop(String name, Updatable renderer) {
+		this.name = name;
+		this.renderer = renderer;
+	}
+
+	/**
+	 * Starts ticking at the given rate, replacing
+	 * any running tick.
+	 *
+	 * @param ticksPerSecond - The fixed tick rate
+	 * @param tick - Advances the game by one step
+	 * @param layers - The layers to capture after the ticks
+	 */
+	public synchronized void start(int ticksPerSecond, Runnable tick, SnapshotSceneLayer... layers) {
+		if (ticksPerSecond <= 0) {
+			throw new IllegalArgumentException("The tick rate has to be positive: " + ticksPerSecond);
+		}
+		stop();
+
+		long periodNanos = 1_000_000_000L / ticksPerSecond;
+		Thread newThread = new Thread(() -> run(periodNanos, tick, layers), name);
+		newThread.setDaemon(true);
+		thread = newThread;
+		newThread.start();
+		LOG.debug("Started {} at {} ticks per second", name, ticksPerSecond);
+	}
+
+	/** Stops ticking. Returns after the current tick (if any) has finished. */
+	public synchronized void stop() {
+		Thread oldThread = thread;
+		thread = null;
+
+		if (oldThread != null) {
+			LockSupport.unpark(oldThread);
+			if (oldThread != Thread.currentThread()) {
+				try {
+					oldThread.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			LOG.debug("Stopped {}", name);
+		}
+	}
+
+	/**
+	 * Wraps a responder so that its input is never
+	 * handled while the simulation is ticking.
+	 */
+	public SceneResponder synchronize(SceneResponder responder) {
+		return new SynchronizedResponder(responder, tickLock);
+	}
+
+	/**
+	 * Runs an action that changes the game state (e.g. from
+	 * a Swing control) while the simulation is not ticking.
+	 */
+	public void runLocked(Runnable action) {
+		synchronized (tickLock) {
+			action.run();
+		}
+	}
+
+	private void run(long periodNanos, Runnable tick, SnapshotSceneLayer[] layers) {
+		Thread self = Thread.currentThread();
+		long nextTick = System.nanoTime();
+
+		while (thread == self) {
+			long now = System.nanoTime();
+			if (now < nextTick) {
+				LockSupport.parkNanos(this, nextTick - now);
+				continue;
+			}
+
+			long dueTicks = ((now - nextTick) / periodNanos) + 1;
+			int batch = (int) Math.min(dueTicks, MAX_CATCH_UP_TICKS);
+
+			synchronized (tickLock) {
+				for (int i = 0; i < batch && thread == self; i++) {
+					runTick(tick);
+				}
+				for (SnapshotSceneLayer layer : layers) {
+					layer.capture();
+				}
+			}
+
+			if (dueTicks > batch) {
+				// Too far behind to catch up, drop the backlog
+				droppedTicks.addAndGet(dueTicks - batch);
+				nextTick = now + periodNanos;
+			} else {
+				nextTick += batch * periodNanos;
+			}
+
+			renderer.update();
+		}
+	}
+
+	private void runTick(Runnable tick) {
+		try {
+			tick.run();
+		} catch (RuntimeException e) {
+			failedTicks.incrementAndGet();
+			LOG.error("Error during tick of {}:", name, e);
+		}
+		ticks.incrementAndGet();
+	}
+
+	public boolean isRunning() { return thread != null; }
+
+	/** Fetches the total number of ticks. */
+	public long getTicks() { return ticks.get(); }
+
+	/** Fetches the number of ticks that were skipped since the simulation fell too far behind. */
+	public long getDroppedTicks() { return droppedTicks.get(); }
+
+	/** Fetches the number of ticks that threw an exception. */
+	public long getFailedTicks() { return failedTicks.get(); }
+}
@@ -0,0 +1,183 @@
+package lighthouse.gameapi;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import lighthouse.ui.scene.viewmodel.graphics.DisplayList;
+import lighthouse.ui.scene.viewmodel.graphics.RetainedSceneLayer;
+import lighthouse.ui.scene.viewmodel.graphics.SceneLayer;
+import lighthouse.ui.scene.viewmodel.graphics.SceneShape;
+import lighthouse.ui.scene.viewmodel.graphics.SceneShapeVisitor;
+import lighthouse.util.DoubleRect;
+
+/**
+ * A scene layer that presents an immutable snapshot
+ * of another layer. The snapshot is taken by the
+ * {@link GameLoop} after every batch of ticks, thus
+ * the renderer never reads the game state while the
+ * simulation is modifying it.
+ * 
+ * <p>Changes are tracked by comparing every snapshot with
+ * the previous one, thus the dirty region only covers the
+ * shapes that have been added or removed.</p>
+ * 
+ * <p>If the source is a {@link RetainedSceneLayer}, its
+ * display list is copied instead of allocating shapes and
+ * unchanged display lists are not copied at all.</p>
+ */
+public class SnapshotSceneLayer implements SceneLayer {
+	private final SceneLayer source;
+	private volatile Snapshot snapshot;
+
+	public SnapshotSceneLayer(SceneLayer source) {
+		this.source = source;
+		capture();
+	}
+
+	/** Captures the current state of the source layer. */
+	public void capture() {
+		Snapshot previous = snapshot;
+		Snapshot next;
+		
+		if (source instanceof RetainedSceneLayer) {
+			DisplayList displayList = ((RetainedSceneLayer) source).updateDisplayList();
+			if ((previous != null) && previous.displayList.contentEquals(displayList) && previous.hasBackgroundOf(source)) {
+				return;
+			}
+			next = new Snapshot(source, null, displayList.copy());
+		} else {
+			next = new Snapshot(source, Collections.unmodifiableList(new ArrayList<>(source.getShapes())), null);
+		}
+		
+		if (previous == null) {
+			snapshot = next;
+		} else if (!next.looksLike(previous)) {
+			next.version = previous.version + 1;
+			next.dirtyRect = next.diff(previous);
+			snapshot = next;
+		}
+	}
+
+	public SceneLayer getSource() { return source; }
+
+	@Override
+	public List<SceneShape> getShapes() { return snapshot.getShapes(); }
+
+	@Override
+	public void acceptForAllShapes(SceneShapeVisitor visitor) {
+		Snapshot current = snapshot;
+		if (current.displayList == null) {
+			for (SceneShape shape : current.getShapes()) {
+				shape.accept(visitor);
+			}
+		} else {
+			current.displayList.accept(visitor);
+		}
+	}
+
+	@Override
+	public boolean hasBackground() { return snapshot.hasBackground; }
+
+	@Override
+	public Color getBackground() { return snapshot.background; }
+
+	@Override
+	public boolean requiresGridBackground() { return snapshot.requiresGridBackground; }
+
+	@Override
+	public long getVersion() { return snapshot.version; }
+
+	@Override
+	public DoubleRect getDirtyRect() { return snapshot.dirtyRect; }
+
+	private static class Snapshot {
+		/** The shapes, which are created lazily from the display list if there is one. */
+		private volatile List<SceneShape> shapes;
+		private final DisplayList displayList;
+		private final boolean hasBackground;
+		private final Color background;
+		private final boolean requiresGridBackground;
+		private long version = 0;
+		private DoubleRect dirtyRect = null;
+
+		public Snapshot(SceneLayer layer, List<SceneShape> shapes, DisplayList displayList) {
+			this.shapes = shapes;
+			this.displayList = displayList;
+			hasBackground = layer.hasBackground();
+			background = layer.getBackground();
+			requiresGridBackground = layer.requiresGridBackground();
+		}
+
+		public List<SceneShape> getShapes() {
+			if (shapes == null) {
+				shapes = Collections.unmodifiableList(displayList.toShapes());
+			}
+			return shapes;
+		}
+
+		public boolean hasBackgroundOf(SceneLayer layer) {
+			return (hasBackground == layer.hasBackground())
+				&& Objects.equals(background, layer.getBackground())
+				&& (requiresGridBackground == layer.requiresGridBackground());
+		}
+
+		public boolean looksLike(Snapshot other) {
+			boolean sameShapes = (displayList == null) ? shapes.equals(other.shapes) : displayList.contentEquals(other.displayList);
+			return sameShapes
+				&& (hasBackground == other.hasBackground)
+				&& Objects.equals(background, other.background)
+				&& (requiresGridBackground == other.requiresGridBackground);
+		}
+
+		/**
+		 * Finds the bounds of the shapes that differ from the
+		 * previous snapshot or null if everything might have changed.
+		 */
+		public DoubleRect diff(Snapshot previous) {
+			if ((hasBackground != previous.hasBackground)
+				|| !Objects.equals(background, previous.background)
+				|| (requiresGridBackground != previous.requiresGridBackground)) {
+				return null;
+			} else if (displayList != null) {
+				return displayList.diff(previous.displayList);
+			}
+			
+			Set<SceneShape> current = new HashSet<>(shapes);
+			Set<SceneShape> old = new HashSet<>(previous.shapes);
+			List<SceneShape> kept = new ArrayList<>();
+			List<SceneShape> previouslyKept = new ArrayList<>();
+			DoubleRect rect = null;
+			
+			for (SceneShape shape : shapes) {
+				if (old.contains(shape)) {
+					kept.add(shape);
+				} else {
+					rect = union(rect, shape.getBoundingBox());
+				}
+			}
+			for (SceneShape shape : previous.shapes) {
+				if (current.contains(shape)) {
+					previouslyKept.add(shape);
+				} else {
+					rect = union(rect, shape.getBoundingBox());
+				}
+			}
+			
+			if (rect == null || !kept.equals(previouslyKept)) {
+				// The order (and thus the overlap) of the shapes has changed
+				return null;
+			}
+			
+			return rect;
+		}
+
+		private static DoubleRect union(DoubleRect a, DoubleRect b) {
+			return (a == null) ? b : a.union(b);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package lighthouse.gameapi;
+
+import lighthouse.ui.scene.controller.SceneResponder;
+import lighthouse.util.IntVec;
+
+/**
+ * A responder that holds a lock while delegating,
+ * thus input never interleaves with a game tick.
+ */
+class SynchronizedResponder implements SceneResponder {
+	private final SceneResponder delegate;
+	private final Object lock;
+
+	public SynchronizedResponder(SceneResponder delegate, Object lock) {
+		this.delegate = delegate;
+		this.lock = lock;
+	}
+
+	@Override
+	public boolean press(IntVec gridPos) { synchronized (lock) { return delegate.press(gridPos); } }
+
+	@Override
+	public boolean rightPress(IntVec gridPos) { synchronized (lock) { return delegate.rightPress(gridPos); } }
+
+	@Override
+	public boolean dragTo(IntVec gridPos) { synchronized (lock) { return delegate.dragTo(gridPos); } }
+
+	@Override
+	public boolean release(IntVec gridPos) { synchronized (lock) { return delegate.release(gridPos); } }
+
+	@Override
+	public IntVec selectAny() { synchronized (lock) { return delegate.selectAny(); } }
+
+	@Override
+	public IntVec select(IntVec gridPos) { synchronized (lock) { return delegate.select(gridPos); } }
+
+	@Override
+	public IntVec up(IntVec gridPos) { synchronized (lock) { return delegate.up(gridPos); } }
+
+	@Override
+	public IntVec left(IntVec gridPos) { synchronized (lock) { return delegate.left(gridPos); } }
+
+	@Override
+	public IntVec down(IntVec gridPos) { synchronized (lock) { return delegate.down(gridPos); } }
+
+	@Override
+	public IntVec right(IntVec gridPos) { synchronized (lock) { return delegate.right(gridPos); } }
+
+	@Override
+	public boolean deselect() { synchronized (lock) { return delegate.deselect(); } }
+
+	@Override
+	public boolean reset() { synchronized (lock) { return delegate.reset(); } }
+
+	@Override
+	public boolean fire() { synchronized (lock) { return delegate.fire(); } }
+
+	@Override
+	public String toString() { return "Synchronized " + delegate; }
+}
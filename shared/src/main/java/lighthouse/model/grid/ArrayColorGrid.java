@@ -6,6 +6,8 @@ import lighthouse.util.IntVec;
 
 /**
  * A simple, 2D-array-based implementation of {@link WritableColorGrid}.
+ * Prefer {@link PackedColorGrid} when drawing translucent colors,
+ * since every blended cell allocates a new {@link Color} here.
  */
 public class ArrayColorGrid implements WritableColorGrid {
 	private final Color[][] colors;
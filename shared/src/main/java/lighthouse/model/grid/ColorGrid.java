@@ -34,4 +34,38 @@ public interface ColorGrid {
 	default Color getColorOrBlackAt(IntVec gridPos) { return getColorOr(Color.BLACK, gridPos); }
 	
 	default Color getColorOrBlackAt(int x, int y) { return getColorOr(Color.BLACK, x, y); }
+	
+	/** Fetches the packed (A)RGB color at the given position, where missing colors are black. */
+	default int getRGBAt(int x, int y) { return getColorOrBlackAt(x, y).getRGB(); }
+	
+	/**
+	 * Copies the packed (A)RGB colors of the given
+	 * region into the array (in row-major order).
+	 */
+	default void copyRGB(int columns, int rows, int[] dest, int offset) {
+		int i = offset;
+		for (int y = 0; y < rows; y++) {
+			for (int x = 0; x < columns; x++) {
+				dest[i] = getRGBAt(x, y);
+				i++;
+			}
+		}
+	}
+	
+	/**
+	 * Copies the colors of the given region into the
+	 * array as 3 bytes (red, green, blue) per cell (in row-major order).
+	 */
+	default void copyRGBBytes(int columns, int rows, byte[] dest, int offset) {
+		int i = offset;
+		for (int y = 0; y < rows; y++) {
+			for (int x = 0; x < columns; x++) {
+				int rgb = getRGBAt(x, y);
+				dest[i] = (byte) (rgb >> 16);
+				dest[i + 1] = (byte) (rgb >> 8);
+				dest[i + 2] = (byte) rgb;
+				i += 3;
+			}
+		}
+	}
 }
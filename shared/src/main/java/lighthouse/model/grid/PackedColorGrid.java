@@ -0,0 +1,191 @@
+package lighthouse.model.grid;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import lighthouse.util.ColorUtils;
+
+/**
+ * A {@link WritableColorGrid} that is backed by a single
+ * array of packed ARGB values (in row-major order). Unlike
+ * {@link ArrayColorGrid}, translucent colors are composited
+ * using integer math without allocating any {@link Color}s.
+ *
+ * <p>Missing colors are represented by {@link #EMPTY}, thus
+ * setting a fully transparent color clears the cell. Like
+ * {@link ArrayColorGrid}, drawing outside of the grid is
+ * ignored and reading outside of it yields no color.</p>
+ */
+public class PackedColorGrid implements WritableColorGrid {
+	/** The packed value of a cell without a color. */
+	public static final int EMPTY = 0;
+	private static final int OPAQUE_BLACK = 0xFF000000;
+	private final int[] pixels;
+	private final int width;
+	private final int height;
+
+	public PackedColorGrid(int height, int width) {
+		this(height, width, new int[width * height]);
+	}
+
+	/**
+	 * Creates a grid that is backed by the given array of
+	 * packed ARGB values (in row-major order), which is not copied.
+	 */
+	public PackedColorGrid(int height, int width, int[] pixels) {
+		if (pixels.length < width * height) {
+			throw new IllegalArgumentException("A " + width + "x" + height + " grid requires " + (width * height) + " pixels, but got " + pixels.length);
+		}
+		this.height = height;
+		this.width = width;
+		this.pixels = pixels;
+	}
+
+	/** Copies the given region of a color grid into a new packed grid. */
+	public static PackedColorGrid copyOf(ColorGrid grid, int columns, int rows) {
+		PackedColorGrid copy = new PackedColorGrid(rows, columns);
+		if (grid instanceof PackedColorGrid) {
+			copy.blit((PackedColorGrid) grid, 0, 0);
+		} else {
+			for (int y = 0; y < rows; y++) {
+				for (int x = 0; x < columns; x++) {
+					copy.setColorAt(x, y, grid.getColorAt(x, y));
+				}
+			}
+		}
+		return copy;
+	}
+
+	public int getWidth() { return width; }
+
+	public int getHeight() { return height; }
+
+	/**
+	 * Fetches the backing array of packed ARGB values
+	 * (in row-major order), which may be shared with other
+	 * views, but must not be modified while this grid is in use.
+	 */
+	public int[] getPixels() { return pixels; }
+
+	private boolean inBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/** Fetches the packed ARGB value at the given position or {@link #EMPTY}. */
+	public int getARGBAt(int x, int y) {
+		return inBounds(x, y) ? pixels[(y * width) + x] : EMPTY;
+	}
+
+	/** Sets the packed ARGB value at the given position. */
+	public void setARGBAt(int x, int y, int argb) {
+		if (inBounds(x, y)) {
+			pixels[(y * width) + x] = normalize(argb);
+		}
+	}
+
+	/** Composites the packed ARGB value on top of the existing one (or black). */
+	public void drawARGBAt(int x, int y, int argb) {
+		if (inBounds(x, y)) {
+			int i = (y * width) + x;
+			pixels[i] = composite(pixels[i], argb);
+		}
+	}
+
+	@Override
+	public Color getColorAt(int x, int y) {
+		int argb = getARGBAt(x, y);
+		return (argb == EMPTY) ? null : new Color(argb, true);
+	}
+
+	@Override
+	public void setColorAt(int x, int y, Color color) {
+		setARGBAt(x, y, (color == null) ? EMPTY : color.getRGB());
+	}
+
+	@Override
+	public void drawColorAt(int x, int y, Color color) {
+		// Drawing no color leaves the cell unchanged
+		if (color != null) {
+			drawARGBAt(x, y, color.getRGB());
+		}
+	}
+
+	@Override
+	public int getRGBAt(int x, int y) {
+		int argb = getARGBAt(x, y);
+		return (argb == EMPTY) ? OPAQUE_BLACK : argb;
+	}
+
+	@Override
+	public void copyRGB(int columns, int rows, int[] dest, int offset) {
+		for (int y = 0; y < rows; y++) {
+			int row = offset + (y * columns);
+			for (int x = 0; x < columns; x++) {
+				dest[row + x] = getRGBAt(x, y);
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(pixels, 0, width * height, EMPTY);
+	}
+
+	/** Sets every cell to the given color. */
+	public void fill(Color color) {
+		Arrays.fill(pixels, 0, width * height, (color == null) ? EMPTY : normalize(color.getRGB()));
+	}
+
+	@Override
+	public void drawRect(int minX, int minY, int width, int height, Color color) {
+		int argb = (color == null) ? EMPTY : normalize(color.getRGB());
+		int startX = Math.max(minX, 0);
+		int startY = Math.max(minY, 0);
+		int endX = Math.min(minX + width, this.width);
+		int endY = Math.min(minY + height, this.height);
+
+		if (startX < endX) {
+			for (int y = startY; y < endY; y++) {
+				int row = y * this.width;
+				Arrays.fill(pixels, row + startX, row + endX, argb);
+			}
+		}
+	}
+
+	/**
+	 * Draws the source grid on top of this grid at the given position.
+	 * Empty source cells are skipped and translucent ones are composited.
+	 */
+	public void blit(PackedColorGrid source, int destX, int destY) {
+		int startX = Math.max(destX, 0);
+		int startY = Math.max(destY, 0);
+		int endX = Math.min(destX + source.width, width);
+		int endY = Math.min(destY + source.height, height);
+
+		for (int y = startY; y < endY; y++) {
+			int srcRow = (y - destY) * source.width - destX;
+			int destRow = y * width;
+			for (int x = startX; x < endX; x++) {
+				int argb = source.pixels[srcRow + x];
+				if (argb != EMPTY) {
+					pixels[destRow + x] = composite(pixels[destRow + x], argb);
+				}
+			}
+		}
+	}
+
+	private static int normalize(int argb) {
+		return ((argb >>> 24) == 0) ? EMPTY : argb;
+	}
+
+	private static int composite(int bg, int fg) {
+		int alpha = fg >>> 24;
+		if (alpha == 0xFF) {
+			return fg;
+		} else if (alpha == 0) {
+			return bg;
+		} else {
+			return ColorUtils.overlayRGB((bg == EMPTY) ? OPAQUE_BLACK : bg, fg);
+		}
+	}
+}
@@ -1,43 +1,93 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-import lighthouse.ui.util.BufferedAnimatedImage;
+import lighthouse.ui.util.AnimatedImage;
 import lighthouse.util.DoubleVec;
 
+/**
+ * Plays an animated image, timed using the image's frame delays.
+ * 
+ * <p>The image frame follows the time that elapsed since the
+ * (current loop of the) animation started, thus dropped ticks do
+ * not slow it down. The frame rate (as set by the player)
+ * determines how many ticks the animation lasts.</p>
+ */
 public class AnimatedImageAnimation extends LoopableAnimation {
-	private final BufferedAnimatedImage image;
+	/** The rate at which animations are assumed to be advanced, unless told otherwise by the player. */
+	public static final int DEFAULT_FRAME_RATE = 60;
+	private final AnimatedImage image;
+	/** The (exclusive) end time of each image frame in milliseconds. */
+	private final int[] frameEndsMillis;
 	private final DoubleVec topLeft;
 	private final DoubleVec size;
 	private double speed = 1;
+	private volatile int frameRate = DEFAULT_FRAME_RATE;
+	private long loopStartNanos = 0;
+	private int lastFrame = Integer.MAX_VALUE;
 	
-	public AnimatedImageAnimation(BufferedAnimatedImage image) {
+	public AnimatedImageAnimation(AnimatedImage image) {
 		this(image, DoubleVec.ZERO);
 	}
 	
-	public AnimatedImageAnimation(BufferedAnimatedImage image, DoubleVec topLeft) {
+	public AnimatedImageAnimation(AnimatedImage image, DoubleVec topLeft) {
 		this(image, topLeft, new DoubleVec(1, 1));
 	}
 	
-	public AnimatedImageAnimation(BufferedAnimatedImage image, DoubleVec topLeft, DoubleVec size) {
+	public AnimatedImageAnimation(AnimatedImage image, DoubleVec topLeft, DoubleVec size) {
 		this.image = image;
 		this.topLeft = topLeft;
 		this.size = size;
+		
+		frameEndsMillis = new int[image.getFrameCount()];
+		int time = 0;
+		for (int i = 0; i < frameEndsMillis.length; i++) {
+			time += image.getFrameDelayMillis(i);
+			frameEndsMillis[i] = time;
+		}
 	}
 	
 	@Override
 	public String getName() { return "AnimatedImage"; }
 	
 	@Override
-	public int getTotalFrames() { return (int) (image.getFrameCount() / speed); }
+	public int getTotalFrames() {
+		int durationMillis = frameEndsMillis[frameEndsMillis.length - 1];
+		return Math.max(1, (int) Math.ceil((durationMillis * frameRate) / (1000 * speed)));
+	}
 	
 	@Override
 	public List<SceneShape> getShape(int frame) {
-		return Collections.singletonList(new SceneImage(topLeft, image.getFrame((int) (frame * speed)), size));
+		long now = System.nanoTime();
+		if (frame < lastFrame) {
+			// The animation (or a new loop of it) has started
+			loopStartNanos = now - ((frame * 1_000_000_000L) / frameRate);
+		}
+		lastFrame = frame;
+		
+		// The tick count is a lower bound in case the ticks are faster than real time
+		double tickMillis = (frame * 1000.0) / frameRate;
+		double elapsedMillis = (now - loopStartNanos) / 1_000_000.0;
+		double timeMillis = Math.max(tickMillis, elapsedMillis) * speed;
+		return Collections.singletonList(new SceneImage(topLeft, image.getFrame(imageFrameAt(timeMillis)), size));
+	}
+	
+	private int imageFrameAt(double timeMillis) {
+		int index = Arrays.binarySearch(frameEndsMillis, (int) timeMillis);
+		// An exact match denotes the end of a frame, thus the next frame is shown
+		index = (index >= 0) ? (index + 1) : (-index - 1);
+		return Math.min(index, frameEndsMillis.length - 1);
 	}
 	
 	public void setSpeed(double speed) {
 		this.speed = speed;
 	}
+	
+	/** Sets the number of times per second that the animation is advanced. */
+	@Override
+	public void setFrameRate(int frameRate) {
+		this.frameRate = frameRate;
+	}
 }
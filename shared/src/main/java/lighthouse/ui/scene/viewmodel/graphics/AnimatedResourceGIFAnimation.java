@@ -1,6 +1,6 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
-import lighthouse.ui.util.BufferedAnimatedImage;
+import lighthouse.ui.util.AnimatedImage;
 import lighthouse.ui.util.ResourceImageLoader;
 import lighthouse.util.DoubleVec;
 
@@ -17,7 +17,7 @@ public class AnimatedResourceGIFAnimation extends AnimatedImageAnimation {
 		super(load(resourcePath), topLeft, size);
 	}
 	
-	private static BufferedAnimatedImage load(String resourcePath) {
+	private static AnimatedImage load(String resourcePath) {
 		return ResourceImageLoader.getInstance().getAsAnimatedGIF(resourcePath);
 	}
 }
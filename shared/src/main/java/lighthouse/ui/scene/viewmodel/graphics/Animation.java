@@ -12,4 +12,7 @@ public interface Animation {
 	default int getLoopCount() { return 1; }
 	
 	default int getTotalLoopedFrames() { return getTotalFrames() * getLoopCount(); }
+	
+	/** Informs the animation about the number of frames per second it is played at. */
+	default void setFrameRate(int frameRate) {}
 }
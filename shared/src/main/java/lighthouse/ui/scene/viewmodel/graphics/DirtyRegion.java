@@ -0,0 +1,53 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import lighthouse.util.DoubleRect;
+
+/**
+ * An immutable region of a scene (in grid coordinates)
+ * that has to be redrawn. A region is either empty,
+ * a rectangle or the entire scene.
+ */
+public class DirtyRegion {
+	public static final DirtyRegion NONE = new DirtyRegion(null, false);
+	public static final DirtyRegion ALL = new DirtyRegion(null, true);
+	private final DoubleRect rect;
+	private final boolean all;
+
+	private DirtyRegion(DoubleRect rect, boolean all) {
+		this.rect = rect;
+		this.all = all;
+	}
+
+	public static DirtyRegion of(DoubleRect rect) {
+		return new DirtyRegion(rect, false);
+	}
+
+	/** Finds the smallest region that contains both regions. */
+	public DirtyRegion union(DirtyRegion other) {
+		if (all || other.isEmpty()) {
+			return this;
+		} else if (other.all || isEmpty()) {
+			return other;
+		} else {
+			return of(rect.union(other.rect));
+		}
+	}
+
+	public DirtyRegion union(DoubleRect other) {
+		return union(of(other));
+	}
+
+	/** Checks whether nothing has to be redrawn. */
+	public boolean isEmpty() { return !all && (rect == null); }
+
+	/** Checks whether the entire scene has to be redrawn. */
+	public boolean isAll() { return all; }
+
+	/** Fetches the rectangle to redraw (or null if the region is empty or everything). */
+	public DoubleRect getRect() { return rect; }
+
+	@Override
+	public String toString() {
+		return all ? "DirtyRegion [all]" : ("DirtyRegion [" + rect + "]");
+	}
+}
@@ -0,0 +1,201 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lighthouse.util.DoubleRect;
+import lighthouse.util.DoubleVec;
+
+/**
+ * A retained list of rects and ovals that is stored in flat
+ * primitive arrays. The storage is reused when the list
+ * is rebuilt, thus redrawing the same number of shapes
+ * (at new positions) does not allocate.
+ *
+ * <p>Every shape occupies a slot with its kind, shading,
+ * color and 4 coordinates (top left and size for rects,
+ * center and radii for ovals).</p>
+ */
+public class DisplayList {
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int COORDS_PER_SLOT = 4;
+	private static final byte RECT = 0;
+	private static final byte OVAL = 1;
+	private static final Shading[] SHADINGS = Shading.values();
+	private byte[] kinds;
+	private byte[] shadings;
+	private int[] colors;
+	private double[] coords;
+	private int size = 0;
+
+	public DisplayList() {
+		this(INITIAL_CAPACITY);
+	}
+
+	public DisplayList(int capacity) {
+		kinds = new byte[capacity];
+		shadings = new byte[capacity];
+		colors = new int[capacity];
+		coords = new double[capacity * COORDS_PER_SLOT];
+	}
+
+	/** Removes all shapes, but keeps the storage. */
+	public void clear() {
+		size = 0;
+	}
+
+	public int size() { return size; }
+
+	public boolean isEmpty() { return size == 0; }
+
+	public void addRect(DoubleRect rect, Color color, Shading shading) {
+		DoubleVec topLeft = rect.getTopLeft();
+		DoubleVec size = rect.getSize();
+		addRect(topLeft.getX(), topLeft.getY(), size.getX(), size.getY(), color.getRGB(), shading);
+	}
+
+	public void addRect(double x, double y, double width, double height, int argb, Shading shading) {
+		add(RECT, x, y, width, height, argb, shading);
+	}
+
+	public void addOval(DoubleVec center, double radius, Color color, Shading shading) {
+		addOval(center.getX(), center.getY(), radius, radius, color.getRGB(), shading);
+	}
+
+	public void addOval(double centerX, double centerY, double radiusX, double radiusY, int argb, Shading shading) {
+		add(OVAL, centerX, centerY, radiusX, radiusY, argb, shading);
+	}
+
+	private void add(byte kind, double a, double b, double c, double d, int argb, Shading shading) {
+		if (size == kinds.length) {
+			grow(Math.max(INITIAL_CAPACITY, size * 2));
+		}
+		kinds[size] = kind;
+		shadings[size] = (byte) shading.ordinal();
+		colors[size] = argb;
+		int i = size * COORDS_PER_SLOT;
+		coords[i] = a;
+		coords[i + 1] = b;
+		coords[i + 2] = c;
+		coords[i + 3] = d;
+		size++;
+	}
+
+	private void grow(int capacity) {
+		kinds = Arrays.copyOf(kinds, capacity);
+		shadings = Arrays.copyOf(shadings, capacity);
+		colors = Arrays.copyOf(colors, capacity);
+		coords = Arrays.copyOf(coords, capacity * COORDS_PER_SLOT);
+	}
+
+	/** Replaces the contents of this list with the other list's, reusing the storage if possible. */
+	public void copyFrom(DisplayList other) {
+		if (kinds.length < other.size) {
+			grow(other.size);
+		}
+		System.arraycopy(other.kinds, 0, kinds, 0, other.size);
+		System.arraycopy(other.shadings, 0, shadings, 0, other.size);
+		System.arraycopy(other.colors, 0, colors, 0, other.size);
+		System.arraycopy(other.coords, 0, coords, 0, other.size * COORDS_PER_SLOT);
+		size = other.size;
+	}
+
+	/** Creates a compact, independent copy of this list. */
+	public DisplayList copy() {
+		DisplayList copy = new DisplayList(size);
+		copy.copyFrom(this);
+		return copy;
+	}
+
+	/** Passes every shape to the visitor without allocating shape objects. */
+	public void accept(SceneShapeVisitor visitor) {
+		for (int slot = 0; slot < size; slot++) {
+			int i = slot * COORDS_PER_SLOT;
+			Shading shading = SHADINGS[shadings[slot]];
+			if (kinds[slot] == RECT) {
+				visitor.visitRect(coords[i], coords[i + 1], coords[i + 2], coords[i + 3], colors[slot], shading);
+			} else {
+				visitor.visitOval(coords[i], coords[i + 1], coords[i + 2], coords[i + 3], colors[slot], shading);
+			}
+		}
+	}
+
+	/** Converts the list into (newly allocated) scene shapes. */
+	public List<SceneShape> toShapes() {
+		List<SceneShape> shapes = new ArrayList<>(size);
+		accept(new SceneShapeVisitor() {
+			@Override
+			public void visitRect(SceneRect rect) { shapes.add(rect); }
+
+			@Override
+			public void visitOval(SceneOval oval) { shapes.add(oval); }
+
+			@Override
+			public void visitFixedCircle(SceneFixedCircle circle) { shapes.add(circle); }
+
+			@Override
+			public void visitImage(SceneImage image) { shapes.add(image); }
+		});
+		return shapes;
+	}
+
+	/** Checks whether both lists contain the same shapes in the same order. */
+	public boolean contentEquals(DisplayList other) {
+		if (size != other.size) {
+			return false;
+		}
+		for (int slot = 0; slot < size; slot++) {
+			if (!slotEquals(slot, other)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the bounds (in grid coordinates) of all slots that
+	 * differ from the previous list or null if there are none.
+	 * Since shapes are compared slot by slot, changes in the
+	 * overlap of shapes are covered too.
+	 */
+	public DoubleRect diff(DisplayList previous) {
+		// The accumulated bounds: min x, min y, max x, max y
+		double[] bounds = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+		int slots = Math.max(size, previous.size);
+
+		for (int slot = 0; slot < slots; slot++) {
+			if (slot < size && slot < previous.size && slotEquals(slot, previous)) {
+				continue;
+			}
+			includeBounds(slot, bounds);
+			previous.includeBounds(slot, bounds);
+		}
+
+		return (bounds[0] > bounds[2]) ? null : new DoubleRect(bounds[0], bounds[1], bounds[2] - bounds[0], bounds[3] - bounds[1]);
+	}
+
+	private void includeBounds(int slot, double[] bounds) {
+		if (slot < size) {
+			int i = slot * COORDS_PER_SLOT;
+			boolean rect = kinds[slot] == RECT;
+			// Both the size of a rect and the radius of an oval extend to the bottom right
+			bounds[0] = Math.min(bounds[0], rect ? coords[i] : (coords[i] - coords[i + 2]));
+			bounds[1] = Math.min(bounds[1], rect ? coords[i + 1] : (coords[i + 1] - coords[i + 3]));
+			bounds[2] = Math.max(bounds[2], coords[i] + coords[i + 2]);
+			bounds[3] = Math.max(bounds[3], coords[i + 1] + coords[i + 3]);
+		}
+	}
+
+	private boolean slotEquals(int slot, DisplayList other) {
+		int i = slot * COORDS_PER_SLOT;
+		return (kinds[slot] == other.kinds[slot])
+			&& (shadings[slot] == other.shadings[slot])
+			&& (colors[slot] == other.colors[slot])
+			&& (coords[i] == other.coords[i])
+			&& (coords[i + 1] == other.coords[i + 1])
+			&& (coords[i + 2] == other.coords[i + 2])
+			&& (coords[i + 3] == other.coords[i + 3]);
+	}
+}
@@ -0,0 +1,28 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import java.util.List;
+
+/**
+ * A scene layer that draws its shapes into a retained
+ * {@link DisplayList} instead of allocating new shapes.
+ *
+ * <p>The display list is owned and rebuilt in place by the
+ * layer, thus it must only be used by a single thread at a
+ * time. Usually, the layer is wrapped in a
+ * {@link lighthouse.gameapi.SnapshotSceneLayer}, which
+ * copies the list after every batch of game ticks.</p>
+ */
+public interface RetainedSceneLayer extends SceneLayer {
+	/** Rebuilds the display list from the current state and returns it. */
+	DisplayList updateDisplayList();
+	
+	@Override
+	default List<SceneShape> getShapes() {
+		return updateDisplayList().toShapes();
+	}
+	
+	@Override
+	default void acceptForAllShapes(SceneShapeVisitor visitor) {
+		updateDisplayList().accept(visitor);
+	}
+}
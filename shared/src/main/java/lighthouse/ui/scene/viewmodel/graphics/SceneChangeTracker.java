@@ -0,0 +1,74 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import lighthouse.util.DoubleRect;
+
+/**
+ * Finds the region of a scene that has changed since
+ * a renderer last drew it. Since renderers may skip
+ * frames, every renderer uses its own tracker.
+ *
+ * <p>Adding or removing layers, untracked layers and
+ * skipped layer versions mark the entire scene as dirty.</p>
+ */
+public class SceneChangeTracker {
+	private Map<SceneLayer, Long> seenVersions = new IdentityHashMap<>();
+	private Map<SceneLayer, Long> nextVersions = new IdentityHashMap<>();
+	private SceneViewModel seenScene = null;
+	private long seenSceneVersion = 0;
+	private volatile boolean invalidated = true;
+
+	/** Marks the entire scene as dirty during the next update. */
+	public void invalidate() {
+		invalidated = true;
+	}
+
+	/**
+	 * Collects the changes since the last update and
+	 * remembers the current versions of the scene.
+	 */
+	public DirtyRegion update(SceneViewModel scene) {
+		long sceneVersion = scene.getVersion();
+		DirtyRegion dirty = DirtyRegion.NONE;
+
+		if (invalidated || (scene != seenScene) || (sceneVersion != seenSceneVersion)) {
+			invalidated = false;
+			dirty = DirtyRegion.ALL;
+		}
+
+		for (SceneLayer layer : scene) {
+			long version = layer.getVersion();
+			nextVersions.put(layer, version);
+
+			if (dirty.isAll()) {
+				continue;
+			} else if (version == SceneLayer.UNTRACKED) {
+				dirty = DirtyRegion.ALL;
+			} else {
+				Long seenVersion = seenVersions.get(layer);
+				if (seenVersion == null || (version != seenVersion + 1 && version != seenVersion)) {
+					dirty = DirtyRegion.ALL;
+				} else if (version != seenVersion) {
+					DoubleRect rect = layer.getDirtyRect();
+					// Verify that the rect belongs to the version
+					if (rect == null || layer.getVersion() != version) {
+						dirty = DirtyRegion.ALL;
+					} else {
+						dirty = dirty.union(rect);
+					}
+				}
+			}
+		}
+
+		Map<SceneLayer, Long> previous = seenVersions;
+		seenVersions = nextVersions;
+		nextVersions = previous;
+		nextVersions.clear();
+		seenScene = scene;
+		seenSceneVersion = sceneVersion;
+
+		return dirty;
+	}
+}
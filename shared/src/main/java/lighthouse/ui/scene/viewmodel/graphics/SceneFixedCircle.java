@@ -1,7 +1,9 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
 import java.awt.Color;
+import java.util.Objects;
 
+import lighthouse.util.DoubleRect;
 import lighthouse.util.DoubleVec;
 
 /**
@@ -40,8 +42,28 @@ public class SceneFixedCircle implements SceneShape {
 	
 	public DoubleVec getSize() { return new DoubleVec(radius, radius); }
 	
+	@Override
+	public DoubleRect getBoundingBox() { return new DoubleRect(getTopLeft(), 2 * radius, 2 * radius); }
+	
 	@Override
 	public String toString() {
 		return "SceneOval [center=" + center + ", radius=" + radius + ", color=" + color + ", shading=" + shading + "]";
 	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null) return false;
+		if (this == obj) return true;
+		if (!getClass().equals(obj.getClass())) return false;
+		SceneFixedCircle other = (SceneFixedCircle) obj;
+		return center.equals(other.center)
+			&& (radius == other.radius)
+			&& Objects.equals(color, other.color)
+			&& (shading == other.shading);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(center, radius, color, shading);
+	}
 }
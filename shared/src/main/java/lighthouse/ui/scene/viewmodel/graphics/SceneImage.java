@@ -1,7 +1,9 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
 import java.awt.image.BufferedImage;
+import java.util.Objects;
 
+import lighthouse.util.DoubleRect;
 import lighthouse.util.DoubleVec;
 
 public class SceneImage implements SceneShape {
@@ -25,8 +27,28 @@ public class SceneImage implements SceneShape {
 	
 	public DoubleVec getImageSize() { return imageSize; }
 	
+	@Override
+	public DoubleRect getBoundingBox() { return new DoubleRect(topLeft, imageSize); }
+	
 	@Override
 	public void accept(SceneShapeVisitor visitor) {
 		visitor.visitImage(this);
 	}
+	
+	/** Images are compared by identity, since their contents are mutable. */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null) return false;
+		if (this == obj) return true;
+		if (!getClass().equals(obj.getClass())) return false;
+		SceneImage other = (SceneImage) obj;
+		return topLeft.equals(other.topLeft)
+			&& (image == other.image)
+			&& imageSize.equals(other.imageSize);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(topLeft, System.identityHashCode(image), imageSize);
+	}
 }
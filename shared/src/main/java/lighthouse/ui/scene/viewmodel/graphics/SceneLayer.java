@@ -3,9 +3,27 @@ package lighthouse.ui.scene.viewmodel.graphics;
 import java.awt.Color;
 import java.util.List;
 
+import lighthouse.util.DoubleRect;
+
 public interface SceneLayer {
+	/** The version of a layer that does not track its changes, thus is redrawn on every frame. */
+	long UNTRACKED = -1;
+	
 	List<SceneShape> getShapes();
 	
+	/**
+	 * Fetches a counter that increases whenever the
+	 * layer's appearance changes (or {@link #UNTRACKED}).
+	 */
+	default long getVersion() { return UNTRACKED; }
+	
+	/**
+	 * Fetches the region (in grid coordinates) that has changed
+	 * from the previous to the current version or null if
+	 * the entire layer might have changed.
+	 */
+	default DoubleRect getDirtyRect() { return null; }
+	
 	default boolean hasBackground() { return false; }
 	
 	default Color getBackground() { return Color.BLACK; }
@@ -1,7 +1,9 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
 import java.awt.Color;
+import java.util.Objects;
 
+import lighthouse.util.DoubleRect;
 import lighthouse.util.DoubleVec;
 
 public class SceneOval implements SceneShape {
@@ -46,8 +48,28 @@ public class SceneOval implements SceneShape {
 	
 	public DoubleVec getSize() { return radius.scale(2); }
 	
+	@Override
+	public DoubleRect getBoundingBox() { return new DoubleRect(getTopLeft(), getSize()); }
+	
 	@Override
 	public String toString() {
 		return "SceneOval [center=" + center + ", radius=" + radius + ", color=" + color + ", shading=" + shading + "]";
 	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null) return false;
+		if (this == obj) return true;
+		if (!getClass().equals(obj.getClass())) return false;
+		SceneOval other = (SceneOval) obj;
+		return center.equals(other.center)
+			&& radius.equals(other.radius)
+			&& Objects.equals(color, other.color)
+			&& (shading == other.shading);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(center, radius, color, shading);
+	}
 }
@@ -1,6 +1,7 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
 import java.awt.Color;
+import java.util.Objects;
 
 import lighthouse.util.DoubleRect;
 import lighthouse.util.DoubleVec;
@@ -52,8 +53,28 @@ public class SceneRect implements SceneShape {
 	
 	public DoubleVec getSize() { return size; }
 	
+	@Override
+	public DoubleRect getBoundingBox() { return new DoubleRect(topLeft, size); }
+	
 	@Override
 	public String toString() {
 		return "SceneRect [topLeft=" + topLeft + ", size=" + size + ", color=" + color + ", shading=" + shading + "]";
 	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null) return false;
+		if (this == obj) return true;
+		if (!getClass().equals(obj.getClass())) return false;
+		SceneRect other = (SceneRect) obj;
+		return topLeft.equals(other.topLeft)
+			&& size.equals(other.size)
+			&& Objects.equals(color, other.color)
+			&& (shading == other.shading);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(topLeft, size, color, shading);
+	}
 }
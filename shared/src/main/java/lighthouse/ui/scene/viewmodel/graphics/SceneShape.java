@@ -1,9 +1,15 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
+import lighthouse.util.BoxBounded;
+
 /**
  * A drawable scene item. Coordinates
  * are in grid space, but with double precision.
+ * 
+ * <p>Shapes are immutable values, thus equal shapes
+ * look the same, which is used to find the changed
+ * regions of a scene.</p>
  */
-public interface SceneShape {
+public interface SceneShape extends BoxBounded {
 	void accept(SceneShapeVisitor visitor);
 }
@@ -1,5 +1,9 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
+import java.awt.Color;
+
+import lighthouse.util.DoubleVec;
+
 public interface SceneShapeVisitor {
 	void visitRect(SceneRect rect);
 	
@@ -8,4 +12,20 @@ public interface SceneShapeVisitor {
 	void visitFixedCircle(SceneFixedCircle circle);
 	
 	void visitImage(SceneImage image);
+	
+	/**
+	 * Visits a rect of a {@link DisplayList}. Visitors may override
+	 * this to avoid allocating a {@link SceneRect} per shape.
+	 */
+	default void visitRect(double x, double y, double width, double height, int argb, Shading shading) {
+		visitRect(new SceneRect(x, y, width, height, new Color(argb, true), shading));
+	}
+	
+	/**
+	 * Visits an oval of a {@link DisplayList}. Visitors may override
+	 * this to avoid allocating a {@link SceneOval} per shape.
+	 */
+	default void visitOval(double centerX, double centerY, double radiusX, double radiusY, int argb, Shading shading) {
+		visitOval(new SceneOval(new DoubleVec(centerX, centerY), radiusX, radiusY, new Color(argb, true), shading));
+	}
 }
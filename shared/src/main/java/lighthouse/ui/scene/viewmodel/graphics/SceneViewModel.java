@@ -1,37 +1,58 @@
 package lighthouse.ui.scene.viewmodel.graphics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+/**
+ * The layers of a scene. Since the scene is rendered on
+ * a separate thread, every modification replaces the
+ * layer list, thus iterating never sees a partial update.
+ * 
+ * <p>Changes are tracked using {@link SceneChangeTracker}s,
+ * which compare the version of the layer list and the
+ * versions of the layers with the previously seen ones.</p>
+ */
 public class SceneViewModel implements Iterable<SceneLayer> {
-	private final List<SceneLayer> layers = new ArrayList<>();
-	
-	public void addLayer(SceneLayer layer) {
-		layers.add(layer);
+	private volatile List<SceneLayer> layers = Collections.emptyList();
+	private volatile long version = 0;
+
+	public synchronized void addLayer(SceneLayer layer) {
+		List<SceneLayer> newLayers = new ArrayList<>(layers);
+		newLayers.add(layer);
+		layers = Collections.unmodifiableList(newLayers);
+		version++;
 	}
-	
-	public void removeLayer(SceneLayer layer) {
-		layers.remove(layer);
+
+	public synchronized void removeLayer(SceneLayer layer) {
+		List<SceneLayer> newLayers = new ArrayList<>(layers);
+		newLayers.remove(layer);
+		layers = Collections.unmodifiableList(newLayers);
+		version++;
 	}
-	
+
 	public void acceptForAllLayers(SceneShapeVisitor visitor) {
 		for (SceneLayer layer : layers) {
 			layer.acceptForAllShapes(visitor);
 		}
 	}
-	
-	public void setLayers(SceneLayer... layers) {
-		this.layers.clear();
-		for (SceneLayer layer : layers) {
-			this.layers.add(layer);
-		}
+
+	public synchronized void setLayers(SceneLayer... layers) {
+		this.layers = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(layers)));
+		version++;
+	}
+
+	/** Fetches a counter that increases whenever layers are added or removed. */
+	public long getVersion() {
+		return version;
 	}
-	
+
 	public int getLayerCount() {
 		return layers.size();
 	}
-	
+
 	@Override
 	public Iterator<SceneLayer> iterator() {
 		return layers.iterator();
@@ -1,31 +1,27 @@
 package lighthouse.ui.util;
 
-import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.imageio.ImageIO;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.ImageInputStream;
 
 public class AnimatedGIFLoader {
-	private static final String FORMAT_NAME = "gif";
-	
-	public BufferedAnimatedImage loadGIFFrom(InputStream stream) throws IOException {
-		try (ImageInputStream imageIn = ImageIO.createImageInputStream(stream)) {
-			ImageReader reader = ImageIO.getImageReadersByFormatName(FORMAT_NAME).next();
-			reader.setInput(imageIn, false);
-			
-			int imageCount = reader.getNumImages(true);
-			List<BufferedImage> frames = new ArrayList<>(imageCount);
-			
-			for (int i = 0; i < imageCount; i++) {
-				frames.add(reader.read(i));
-			}
-			
-			return new BufferedAnimatedImage(frames);
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Loads a GIF whose frames are decoded on demand. Only the
+	 * encoded bytes and the (bounded) decoded frames are kept in memory.
+	 */
+	public LazyAnimatedGIF loadGIFFrom(InputStream stream) throws IOException {
+		return new LazyAnimatedGIF(readAllBytes(stream));
+	}
+
+	private byte[] readAllBytes(InputStream stream) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int read;
+		while ((read = stream.read(buffer)) >= 0) {
+			bytes.write(buffer, 0, read);
 		}
+		return bytes.toByteArray();
 	}
 }
@@ -0,0 +1,32 @@
+package lighthouse.ui.util;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A sequence of (fully composited) frames, each of
+ * which is displayed for a given delay.
+ */
+public interface AnimatedImage {
+	/** The delay browsers use for frames without a (meaningful) delay. */
+	int DEFAULT_FRAME_DELAY_MILLIS = 100;
+
+	int getFrameCount();
+
+	BufferedImage getFrame(int index);
+
+	default int getFrameDelayMillis(int index) { return DEFAULT_FRAME_DELAY_MILLIS; }
+
+	default int getTotalDurationMillis() {
+		int total = 0;
+		for (int i = 0; i < getFrameCount(); i++) {
+			total += getFrameDelayMillis(i);
+		}
+		return total;
+	}
+
+	/** Fetches an upper bound on the number of bytes this image keeps in memory. */
+	long getMaxRetainedBytes();
+
+	/** Starts decoding the first frames in the background (if the image is decoded lazily). */
+	default void prewarm() {}
+}
@@ -8,17 +8,34 @@ import java.util.stream.Stream;
 /**
  * An in-memory animated image.
  */
-public class BufferedAnimatedImage implements Iterable<BufferedImage> {
+public class BufferedAnimatedImage implements AnimatedImage, Iterable<BufferedImage> {
+	private static final int BYTES_PER_PIXEL = 4;
 	private final List<BufferedImage> frames;
+	private final int frameDelayMillis;
 	
 	public BufferedAnimatedImage(List<BufferedImage> frames) {
+		this(frames, DEFAULT_FRAME_DELAY_MILLIS);
+	}
+	
+	public BufferedAnimatedImage(List<BufferedImage> frames, int frameDelayMillis) {
 		this.frames = frames;
+		this.frameDelayMillis = frameDelayMillis;
 	}
 	
+	@Override
 	public int getFrameCount() { return frames.size(); }
 	
+	@Override
 	public BufferedImage getFrame(int index) { return frames.get(index); }
 	
+	@Override
+	public int getFrameDelayMillis(int index) { return frameDelayMillis; }
+	
+	@Override
+	public long getMaxRetainedBytes() {
+		return frames.stream().mapToLong(frame -> (long) frame.getWidth() * frame.getHeight() * BYTES_PER_PIXEL).sum();
+	}
+	
 	public Stream<BufferedImage> streamFrames() { return frames.stream(); }
 	
 	@Override
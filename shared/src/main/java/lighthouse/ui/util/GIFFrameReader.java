@@ -0,0 +1,192 @@
+package lighthouse.ui.util;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
+
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Sequentially decodes the frames of a GIF and composites
+ * them onto the logical screen, honoring the frame offsets
+ * and disposal methods. Since a frame may depend on all
+ * of its predecessors, frames can only be read in order.
+ */
+class GIFFrameReader implements Closeable {
+	private static final String FORMAT_NAME = "gif";
+	private static final String STREAM_METADATA_FORMAT = "javax_imageio_gif_stream_1.0";
+	private static final String IMAGE_METADATA_FORMAT = "javax_imageio_gif_image_1.0";
+	private final ImageInputStream input;
+	private final ImageReader reader;
+	private final int frameCount;
+	private final int width;
+	private final int height;
+	private final BufferedImage canvas;
+	private final int[] canvasPixels;
+	private int[] savedPixels = null;
+	private int nextIndex = 0;
+	private Disposal pendingDisposal = Disposal.NONE;
+	private int pendingLeft;
+	private int pendingTop;
+	private int pendingWidth;
+	private int pendingHeight;
+
+	public GIFFrameReader(byte[] data) throws IOException {
+		input = ImageIO.createImageInputStream(new ByteArrayInputStream(data));
+		reader = ImageIO.getImageReadersByFormatName(FORMAT_NAME).next();
+		reader.setInput(input, false);
+
+		try {
+			frameCount = reader.getNumImages(true);
+			if (frameCount <= 0) {
+				throw new IOException("GIF does not contain any frames");
+			}
+
+			Node screen = child(metadataTree(reader.getStreamMetadata(), STREAM_METADATA_FORMAT), "LogicalScreenDescriptor");
+			int screenWidth = intAttribute(screen, "logicalScreenWidth", 0);
+			int screenHeight = intAttribute(screen, "logicalScreenHeight", 0);
+			width = (screenWidth > 0) ? screenWidth : reader.getWidth(0);
+			height = (screenHeight > 0) ? screenHeight : reader.getHeight(0);
+		} catch (IOException | RuntimeException e) {
+			close();
+			throw e;
+		}
+
+		canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		canvasPixels = ((DataBufferInt) canvas.getRaster().getDataBuffer()).getData();
+	}
+
+	public int getFrameCount() { return frameCount; }
+
+	public int getWidth() { return width; }
+
+	public int getHeight() { return height; }
+
+	/** Fetches the index of the frame that will be returned by {@link #readNext()}. */
+	public int getNextIndex() { return nextIndex; }
+
+	public boolean hasNext() { return nextIndex < frameCount; }
+
+	/** Reads a frame's delay from its graphic control extension without decoding it. */
+	public int readDelayMillis(int index) throws IOException {
+		Node control = child(metadataTree(reader.getImageMetadata(index), IMAGE_METADATA_FORMAT), "GraphicControlExtension");
+		// GIF delays are specified in hundredths of a second,
+		// like browsers, very short delays are replaced by a default
+		int delay = intAttribute(control, "delayTime", 0) * 10;
+		return (delay <= 10) ? AnimatedImage.DEFAULT_FRAME_DELAY_MILLIS : delay;
+	}
+
+	/** Decodes the next frame and returns a newly allocated, composited copy of it. */
+	public BufferedImage readNext() throws IOException {
+		int index = nextIndex;
+		Node tree = metadataTree(reader.getImageMetadata(index), IMAGE_METADATA_FORMAT);
+		Node descriptor = child(tree, "ImageDescriptor");
+		Disposal disposal = Disposal.of(child(tree, "GraphicControlExtension"));
+		BufferedImage raw = reader.read(index);
+		int left = intAttribute(descriptor, "imageLeftPosition", 0);
+		int top = intAttribute(descriptor, "imageTopPosition", 0);
+
+		disposePrevious();
+		if (disposal == Disposal.RESTORE_TO_PREVIOUS) {
+			if (savedPixels == null) {
+				savedPixels = new int[canvasPixels.length];
+			}
+			System.arraycopy(canvasPixels, 0, savedPixels, 0, canvasPixels.length);
+		}
+
+		Graphics2D g2d = canvas.createGraphics();
+		g2d.drawImage(raw, left, top, null);
+		g2d.dispose();
+
+		BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		System.arraycopy(canvasPixels, 0, ((DataBufferInt) frame.getRaster().getDataBuffer()).getData(), 0, canvasPixels.length);
+
+		pendingDisposal = disposal;
+		pendingLeft = left;
+		pendingTop = top;
+		pendingWidth = raw.getWidth();
+		pendingHeight = raw.getHeight();
+		nextIndex++;
+		return frame;
+	}
+
+	private void disposePrevious() {
+		switch (pendingDisposal) {
+			case RESTORE_TO_BACKGROUND:
+				// Like browsers, the background is treated as transparent
+				Graphics2D g2d = canvas.createGraphics();
+				g2d.setComposite(AlphaComposite.Clear);
+				g2d.fillRect(pendingLeft, pendingTop, pendingWidth, pendingHeight);
+				g2d.dispose();
+				break;
+			case RESTORE_TO_PREVIOUS:
+				System.arraycopy(savedPixels, 0, canvasPixels, 0, canvasPixels.length);
+				break;
+			default:
+				break;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.dispose();
+		input.close();
+	}
+
+	private static Node metadataTree(IIOMetadata metadata, String format) {
+		return (metadata == null) ? null : metadata.getAsTree(format);
+	}
+
+	private static Node child(Node parent, String name) {
+		if (parent != null) {
+			for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+				if (node.getNodeName().equals(name)) {
+					return node;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String attribute(Node node, String name) {
+		if (node == null) return null;
+		NamedNodeMap attributes = node.getAttributes();
+		Node attribute = (attributes == null) ? null : attributes.getNamedItem(name);
+		return (attribute == null) ? null : attribute.getNodeValue();
+	}
+
+	private static int intAttribute(Node node, String name, int fallback) {
+		String value = attribute(node, name);
+		try {
+			return (value == null) ? fallback : Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return fallback;
+		}
+	}
+
+	private static enum Disposal {
+		NONE, RESTORE_TO_BACKGROUND, RESTORE_TO_PREVIOUS;
+
+		public static Disposal of(Node graphicControl) {
+			String method = attribute(graphicControl, "disposalMethod");
+			if ("restoreToBackgroundColor".equals(method)) {
+				return RESTORE_TO_BACKGROUND;
+			} else if ("restoreToPrevious".equals(method)) {
+				return RESTORE_TO_PREVIOUS;
+			} else {
+				// 'none' and 'doNotDispose' both keep the frame on the canvas
+				return NONE;
+			}
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package lighthouse.ui.util;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An animated GIF that only keeps its encoded bytes in memory
+ * and decodes frames on demand. Decoded frames are kept in a
+ * bounded cache and the frames following a requested frame
+ * are prefetched in the background.
+ */
+public class LazyAnimatedGIF implements AnimatedImage {
+	private static final Logger LOG = LoggerFactory.getLogger(LazyAnimatedGIF.class);
+	public static final int DEFAULT_CACHED_FRAMES = 32;
+	private static final int PREFETCHED_FRAMES = 4;
+	private static final int BYTES_PER_PIXEL = 4;
+	private static final ExecutorService PREFETCHER = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "GIF prefetcher");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final byte[] data;
+	private final int frameCount;
+	private final int width;
+	private final int height;
+	private final int[] delaysMillis;
+	private final int maxCachedFrames;
+	private final Map<Integer, BufferedImage> cachedFrames;
+	private final AtomicBoolean prefetching = new AtomicBoolean(false);
+	/** The decoding position, guarded by the lock of this object. */
+	private GIFFrameReader reader;
+
+	public LazyAnimatedGIF(byte[] data) throws IOException {
+		this(data, DEFAULT_CACHED_FRAMES);
+	}
+
+	/** Reads the frame count and delays of the GIF without decoding any frames. */
+	public LazyAnimatedGIF(byte[] data, int maxCachedFrames) throws IOException {
+		this.data = data;
+		this.maxCachedFrames = maxCachedFrames;
+		reader = new GIFFrameReader(data);
+		frameCount = reader.getFrameCount();
+		width = reader.getWidth();
+		height = reader.getHeight();
+		delaysMillis = new int[frameCount];
+
+		try {
+			for (int i = 0; i < frameCount; i++) {
+				delaysMillis[i] = reader.readDelayMillis(i);
+			}
+		} catch (IOException e) {
+			reader.close();
+			throw e;
+		}
+
+		cachedFrames = new LinkedHashMap<Integer, BufferedImage>(16, 0.75F, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+				return size() > LazyAnimatedGIF.this.maxCachedFrames;
+			}
+		};
+	}
+
+	@Override
+	public int getFrameCount() { return frameCount; }
+
+	@Override
+	public int getFrameDelayMillis(int index) { return delaysMillis[index]; }
+
+	/** Accounts for the encoded bytes and a full frame cache. */
+	@Override
+	public long getMaxRetainedBytes() {
+		return data.length + ((long) Math.min(frameCount, maxCachedFrames) * width * height * BYTES_PER_PIXEL);
+	}
+
+	/**
+	 * Fetches a composited frame, decoding it (and all
+	 * uncached predecessors) if needed. The following frames
+	 * are then decoded in the background.
+	 */
+	@Override
+	public BufferedImage getFrame(int index) {
+		if (index < 0 || index >= frameCount) {
+			throw new IndexOutOfBoundsException("Frame " + index + " is out of bounds (count: " + frameCount + ")");
+		}
+		BufferedImage frame = getCached(index);
+		if (frame == null) {
+			try {
+				frame = decode(index);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not decode GIF frame " + index, e);
+			}
+		}
+		prefetch(index + 1, PREFETCHED_FRAMES);
+		return frame;
+	}
+
+	/** Decodes the first frames (that fit into the cache) in the background. */
+	@Override
+	public void prewarm() {
+		prefetch(0, Math.min(frameCount, maxCachedFrames));
+	}
+
+	private void prefetch(int start, int count) {
+		if (prefetching.compareAndSet(false, true)) {
+			PREFETCHER.execute(() -> {
+				try {
+					for (int i = 0; i < count; i++) {
+						int index = (start + i) % frameCount;
+						if (getCached(index) == null) {
+							decode(index);
+						}
+					}
+				} catch (IOException | RuntimeException e) {
+					LOG.warn("Could not prefetch GIF frames:", e);
+				} finally {
+					prefetching.set(false);
+				}
+			});
+		}
+	}
+
+	private BufferedImage getCached(int index) {
+		synchronized (cachedFrames) {
+			return cachedFrames.get(index);
+		}
+	}
+
+	private synchronized BufferedImage decode(int index) throws IOException {
+		// Another thread may have decoded the frame in the meantime
+		BufferedImage frame = getCached(index);
+		if (frame != null) {
+			return frame;
+		}
+
+		if (reader == null || reader.getNextIndex() > index) {
+			// Frames depend on their predecessors, thus decoding restarts at the first frame
+			if (reader != null) {
+				reader.close();
+			}
+			reader = new GIFFrameReader(data);
+		}
+
+		do {
+			frame = reader.readNext();
+			synchronized (cachedFrames) {
+				cachedFrames.put(reader.getNextIndex() - 1, frame);
+			}
+		} while (reader.getNextIndex() <= index);
+
+		if (!reader.hasNext()) {
+			reader.close();
+			reader = null;
+		}
+		return frame;
+	}
+
+	public int getCachedFrameCount() {
+		synchronized (cachedFrames) {
+			return cachedFrames.size();
+		}
+	}
+}
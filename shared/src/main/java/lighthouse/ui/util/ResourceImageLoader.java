@@ -3,8 +3,6 @@ package lighthouse.ui.util;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
@@ -12,16 +10,30 @@ import javax.swing.ImageIcon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import lighthouse.util.WeightedLRUCache;
+
 /**
- * A cache for resource images.
+ * A cache for resource images. Images are weighed by their
+ * pixel bytes and evicted in least-recently-used order once
+ * a memory budget is exceeded, evicted images are kept
+ * softly reachable until the garbage collector needs the memory.
+ * Concurrent requests for the same resource share one decode.
  */
 public class ResourceImageLoader {
 	private static final Logger LOG = LoggerFactory.getLogger(ResourceImageLoader.class);
-	private static final ResourceImageLoader INSTANCE = new ResourceImageLoader();
+	private static final int BYTES_PER_PIXEL = 4;
+	private static final long DEFAULT_IMAGE_BUDGET_BYTES = 32 * 1024 * 1024;
+	private static final long DEFAULT_ANIMATED_IMAGE_BUDGET_BYTES = 64 * 1024 * 1024;
+	private static final ResourceImageLoader INSTANCE = new ResourceImageLoader(DEFAULT_IMAGE_BUDGET_BYTES, DEFAULT_ANIMATED_IMAGE_BUDGET_BYTES);
 	
 	private final AnimatedGIFLoader gifLoader = new AnimatedGIFLoader();
-	private final Map<String, BufferedImage> loadedBufferedImages = new ConcurrentHashMap<>();
-	private final Map<String, BufferedAnimatedImage> loadedAnimatedImages = new ConcurrentHashMap<>();
+	private final WeightedLRUCache<String, BufferedImage> loadedBufferedImages;
+	private final WeightedLRUCache<String, AnimatedImage> loadedAnimatedImages;
+	
+	public ResourceImageLoader(long imageBudgetBytes, long animatedImageBudgetBytes) {
+		loadedBufferedImages = new WeightedLRUCache<>(imageBudgetBytes, image -> (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL, true);
+		loadedAnimatedImages = new WeightedLRUCache<>(animatedImageBudgetBytes, AnimatedImage::getMaxRetainedBytes, true);
+	}
 	
 	public static ResourceImageLoader getInstance() { return INSTANCE; }
 	
@@ -34,7 +46,7 @@ public class ResourceImageLoader {
 		}
 	}
 	
-	private BufferedAnimatedImage loadAnimatedGIFFrom(String resourcePath) {
+	private AnimatedImage loadAnimatedGIFFrom(String resourcePath) {
 		try (InputStream stream = ResourceImageLoader.class.getResourceAsStream(resourcePath)) {
 			return gifLoader.loadGIFFrom(stream);
 		} catch (IOException e) {
@@ -44,28 +56,20 @@ public class ResourceImageLoader {
 	}
 	
 	public BufferedImage get(String resourcePath) {
-		BufferedImage loaded = loadedBufferedImages.get(resourcePath);
-		if (loaded == null) {
-			loaded = loadBufferedImageFrom(resourcePath);
-			if (loaded != null) {
-				loadedBufferedImages.put(resourcePath, loaded);
-			}
-		}
-		return loaded;
+		return loadedBufferedImages.get(resourcePath, this::loadBufferedImageFrom);
 	}
 	
 	public ImageIcon getAsIcon(String resourcePath) {
 		return new ImageIcon(get(resourcePath));
 	}
 	
-	public BufferedAnimatedImage getAsAnimatedGIF(String resourcePath) {
-		BufferedAnimatedImage loaded = loadedAnimatedImages.get(resourcePath);
-		if (loaded == null) {
-			loaded = loadAnimatedGIFFrom(resourcePath);
-			if (loaded != null) {
-				loadedAnimatedImages.put(resourcePath, loaded);
-			}
-		}
-		return loaded;
+	public AnimatedImage getAsAnimatedGIF(String resourcePath) {
+		return loadedAnimatedImages.get(resourcePath, this::loadAnimatedGIFFrom);
 	}
+	
+	/** Fetches the cache of still images, e.g. to inspect its hit, miss and eviction counts. */
+	public WeightedLRUCache<String, BufferedImage> getImageCache() { return loadedBufferedImages; }
+	
+	/** Fetches the cache of animated images, e.g. to inspect its hit, miss and eviction counts. */
+	public WeightedLRUCache<String, AnimatedImage> getAnimatedImageCache() { return loadedAnimatedImages; }
 }
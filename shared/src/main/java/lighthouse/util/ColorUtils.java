@@ -57,6 +57,19 @@ public class ColorUtils {
 		);
 	}
 	
+	/**
+	 * Overlays two packed ARGB colors like {@link #overlay}
+	 * does, but without allocating. The result is opaque.
+	 */
+	public static int overlayRGB(int bg, int fg) {
+		int fgAlpha = fg >>> 24;
+		int bgAlpha = 255 - fgAlpha;
+		int r = ((((fg >> 16) & 0xFF) * fgAlpha) + (((bg >> 16) & 0xFF) * bgAlpha)) / 255;
+		int g = ((((fg >> 8) & 0xFF) * fgAlpha) + (((bg >> 8) & 0xFF) * bgAlpha)) / 255;
+		int b = (((fg & 0xFF) * fgAlpha) + ((bg & 0xFF) * bgAlpha)) / 255;
+		return 0xFF000000 | (r << 16) | (g << 8) | b;
+	}
+	
 	public static Color randomColor() {
 		Random r = ThreadLocalRandom.current();
 		return new Color(r.nextInt(256), r.nextInt(256), r.nextInt(256));
@@ -70,6 +83,11 @@ public class ColorUtils {
 		return withAlpha((int) (255 * newAlpha), color);
 	}
 	
+	/** Packs the color with the given alpha (0-1) into an ARGB value without allocating. */
+	public static int withAlphaPercentRGB(double newAlpha, Color color) {
+		return ((int) (255 * newAlpha) << 24) | (color.getRGB() & 0xFFFFFF);
+	}
+	
 	public static int getBrightness(Color color) {
 		return (color.getRed() + color.getGreen() + color.getBlue()) / 3;
 	}
@@ -78,6 +96,11 @@ public class ColorUtils {
 		return getBrightness(color) / 255.0;
 	}
 	
+	/** Computes the brightness (0-1) of a packed RGB value without allocating. */
+	public static double getBrightnessPercentRGB(int rgb) {
+		return ((((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3) / 255.0;
+	}
+	
 	public static String describe(Color color) {
 		String closestName = "Unknown color";
 		int closestDistance = Integer.MAX_VALUE;
@@ -95,6 +118,22 @@ public class ColorUtils {
 		return closestName;
 	}
 	
+	/**
+	 * Unpacks (A)RGB ints into 3 bytes (red, green, blue)
+	 * per color, dropping the alpha channel.
+	 */
+	public static void unpackRGB(int[] src, int srcOffset, byte[] dest, int destOffset, int count) {
+		int j = destOffset;
+		int end = srcOffset + count;
+		for (int i = srcOffset; i < end; i++) {
+			int rgb = src[i];
+			dest[j] = (byte) (rgb >> 16);
+			dest[j + 1] = (byte) (rgb >> 8);
+			dest[j + 2] = (byte) rgb;
+			j += 3;
+		}
+	}
+	
 	/** Computes the squared euclidean distance between a and b in RGB space. */
 	public static int distance(Color a, Color b) {
 		return MathUtils.square(a.getRed() - b.getRed())
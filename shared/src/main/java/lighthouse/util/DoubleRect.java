@@ -68,6 +68,15 @@ public class DoubleRect {
 		return (bx1 >= ax0) && (bx0 <= ax1) && (by1 >= ay0) && (by0 <= ay1);
 	}
 	
+	/** Finds the smallest rectangle that contains both rectangles. */
+	public DoubleRect union(DoubleRect other) {
+		double minX = Math.min(topLeft.getX(), other.topLeft.getX());
+		double minY = Math.min(topLeft.getY(), other.topLeft.getY());
+		double maxX = Math.max(topLeft.getX() + size.getX(), other.topLeft.getX() + other.size.getX());
+		double maxY = Math.max(topLeft.getY() + size.getY(), other.topLeft.getY() + other.size.getY());
+		return new DoubleRect(minX, minY, maxX - minX, maxY - minY);
+	}
+	
 	@Override
 	public String toString() {
 		return "DoubleRect [topLeft=" + topLeft + ", size=" + size + "]";
@@ -149,6 +149,7 @@ public class DoubleVec implements Serializable {
 	
 	@Override
 	public int hashCode() {
-		return (int) (27 * x * y);
+		// Adding zero maps -0.0 to 0.0, which are equal
+		return (31 * Double.hashCode(x + 0.0)) + Double.hashCode(y + 0.0);
 	}
 }
@@ -144,6 +144,6 @@ public class IntVec implements Serializable {
 	
 	@Override
 	public int hashCode() {
-		return 27 * x * y;
+		return (31 * x) + y;
 	}
 }
@@ -0,0 +1,226 @@
+package lighthouse.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread-safe cache that evicts values in least-recently-used
+ * order once their total weight (e.g. their size in bytes)
+ * exceeds a budget.
+ *
+ * <p>Loading is single-flight: concurrent requests for a missing
+ * key wait for the same load instead of loading it again.
+ * Optionally, evicted values are kept softly reachable and
+ * revived if they are requested before being garbage collected.</p>
+ */
+public class WeightedLRUCache<K, V> {
+	private final long maxWeight;
+	private final ToLongFunction<? super V> weigher;
+	private final boolean softlyRetainEvicted;
+	private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75F, true);
+	private final Map<K, CompletableFuture<V>> loading = new HashMap<>();
+	private final Map<K, SoftEntry<K, V>> evicted = new HashMap<>();
+	private final ReferenceQueue<V> clearedValues = new ReferenceQueue<>();
+	private long weight = 0;
+	private long hits = 0;
+	private long misses = 0;
+	private long sharedLoads = 0;
+	private long evictions = 0;
+
+	public WeightedLRUCache(long maxWeight, ToLongFunction<? super V> weigher) {
+		this(maxWeight, weigher, false);
+	}
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param maxWeight - The maximum total weight of the (strongly) cached values
+	 * @param weigher - Computes the weight of a value, which is assumed to be constant
+	 * @param softlyRetainEvicted - Whether evicted values should be kept as soft references
+	 */
+	public WeightedLRUCache(long maxWeight, ToLongFunction<? super V> weigher, boolean softlyRetainEvicted) {
+		this.maxWeight = maxWeight;
+		this.weigher = weigher;
+		this.softlyRetainEvicted = softlyRetainEvicted;
+	}
+
+	/**
+	 * Fetches the value for a key, loading it if needed. Null
+	 * values (e.g. failed loads) are returned, but not cached.
+	 * Exceptions thrown by the loader are rethrown to all
+	 * requests that share the load.
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		CompletableFuture<V> pending;
+		boolean loads = false;
+
+		synchronized (this) {
+			V value = lookup(key);
+			if (value != null) {
+				hits++;
+				return value;
+			}
+
+			pending = loading.get(key);
+			if (pending != null) {
+				sharedLoads++;
+			} else {
+				misses++;
+				pending = new CompletableFuture<>();
+				loading.put(key, pending);
+				loads = true;
+			}
+		}
+
+		if (!loads) {
+			try {
+				return pending.join();
+			} catch (CompletionException e) {
+				throw (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : e;
+			}
+		}
+
+		// Loads outside of the lock, thus other keys remain accessible
+		try {
+			V value = loader.apply(key);
+			synchronized (this) {
+				loading.remove(key);
+				if (value != null) {
+					put(key, value);
+				}
+			}
+			pending.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			synchronized (this) {
+				loading.remove(key);
+			}
+			pending.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/** Fetches a cached value without loading it or null if absent. */
+	public synchronized V getIfPresent(K key) {
+		V value = lookup(key);
+		if (value != null) {
+			hits++;
+		}
+		return value;
+	}
+
+	public synchronized void put(K key, V value) {
+		Entry<V> previous = entries.remove(key);
+		if (previous != null) {
+			weight -= previous.weight;
+		}
+		evicted.remove(key);
+
+		long valueWeight = weigher.applyAsLong(value);
+		if (valueWeight <= maxWeight) {
+			entries.put(key, new Entry<>(value, valueWeight));
+			weight += valueWeight;
+			evict();
+		} else if (softlyRetainEvicted) {
+			evicted.put(key, new SoftEntry<>(key, value, clearedValues));
+		}
+	}
+
+	private V lookup(K key) {
+		purgeCleared();
+		Entry<V> entry = entries.get(key);
+		if (entry != null) {
+			return entry.value;
+		}
+
+		SoftEntry<K, V> softEntry = evicted.get(key);
+		V revived = (softEntry == null) ? null : softEntry.get();
+		if (revived != null) {
+			put(key, revived);
+		}
+		return revived;
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+		while (weight > maxWeight && iterator.hasNext()) {
+			Map.Entry<K, Entry<V>> eldest = iterator.next();
+			weight -= eldest.getValue().weight;
+			evictions++;
+			iterator.remove();
+
+			if (softlyRetainEvicted) {
+				evicted.put(eldest.getKey(), new SoftEntry<>(eldest.getKey(), eldest.getValue().value, clearedValues));
+			}
+		}
+	}
+
+	/** Removes the keys of softly retained values that have been garbage collected. */
+	@SuppressWarnings("unchecked")
+	private void purgeCleared() {
+		Reference<? extends V> cleared;
+		while ((cleared = clearedValues.poll()) != null) {
+			SoftEntry<K, V> softEntry = (SoftEntry<K, V>) cleared;
+			evicted.remove(softEntry.key, softEntry);
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		evicted.clear();
+		weight = 0;
+	}
+
+	/** Fetches the number of strongly cached values. */
+	public synchronized int getSize() { return entries.size(); }
+
+	/** Fetches the total weight of the strongly cached values. */
+	public synchronized long getWeight() { return weight; }
+
+	public long getMaxWeight() { return maxWeight; }
+
+	/** Fetches the number of requests that were served from the cache (including revived values). */
+	public synchronized long getHits() { return hits; }
+
+	/** Fetches the number of requests that had to load their value. */
+	public synchronized long getMisses() { return misses; }
+
+	/** Fetches the number of requests that waited for a concurrent load of the same key. */
+	public synchronized long getSharedLoads() { return sharedLoads; }
+
+	public synchronized long getEvictions() { return evictions; }
+
+	@Override
+	public synchronized String toString() {
+		return "WeightedLRUCache [size=" + entries.size() + ", weight=" + weight + "/" + maxWeight
+			+ ", hits=" + hits + ", misses=" + misses + ", sharedLoads=" + sharedLoads + ", evictions=" + evictions + "]";
+	}
+
+	private static class Entry<V> {
+		private final V value;
+		private final long weight;
+
+		public Entry(V value, long weight) {
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	private static class SoftEntry<K, V> extends SoftReference<V> {
+		private final K key;
+
+		public SoftEntry(K key, V value, ReferenceQueue<V> queue) {
+			super(value, queue);
+			this.key = key;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package lighthouse.gameapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import lighthouse.ui.scene.viewmodel.graphics.SceneLayer;
+import lighthouse.ui.scene.viewmodel.graphics.SceneRect;
+import lighthouse.ui.scene.viewmodel.graphics.SceneShape;
+import lighthouse.ui.scene.viewmodel.graphics.Shading;
+
+public class GameLoopTest {
+	@Test
+	public void testTicksAtFixedRate() throws Exception {
+		AtomicInteger renders = new AtomicInteger();
+		GameLoop loop = new GameLoop("Test loop", renders::incrementAndGet);
+		AtomicInteger ticks = new AtomicInteger();
+
+		loop.start(100, ticks::incrementAndGet);
+		Thread.sleep(500);
+		loop.stop();
+
+		assertFalse(loop.isRunning());
+		assertTrue("Ticks: " + ticks.get(), ticks.get() >= 30 && ticks.get() <= 60);
+		assertTrue(renders.get() > 0 && renders.get() <= ticks.get());
+	}
+
+	@Test
+	public void testSlowTicksDoNotSpiral() throws Exception {
+		GameLoop loop = new GameLoop("Test loop", () -> {});
+
+		// Every tick takes twice the tick period
+		loop.start(100, () -> sleep(20));
+		Thread.sleep(500);
+		loop.stop();
+
+		assertTrue("Ticks: " + loop.getTicks(), loop.getTicks() <= 30);
+		assertTrue(loop.getDroppedTicks() > 0);
+	}
+
+	@Test
+	public void testLockedActionsDoNotInterleaveWithTicks() throws Exception {
+		AtomicBoolean ticking = new AtomicBoolean();
+		AtomicInteger overlaps = new AtomicInteger();
+		GameLoop loop = new GameLoop("Test loop", () -> {});
+
+		loop.start(200, () -> {
+			ticking.set(true);
+			sleep(2);
+			ticking.set(false);
+		});
+		for (int i = 0; i < 50; i++) {
+			loop.runLocked(() -> {
+				if (ticking.get()) {
+					overlaps.incrementAndGet();
+				}
+			});
+			sleep(1);
+		}
+		loop.stop();
+
+		assertTrue(loop.getTicks() > 0);
+		assertEquals(0, overlaps.get());
+	}
+
+	@Test
+	public void testSnapshotsAreIsolated() throws Exception {
+		List<SceneShape> shapes = new ArrayList<>();
+		SceneLayer source = () -> shapes;
+		SnapshotSceneLayer layer = new SnapshotSceneLayer(source);
+		GameLoop loop = new GameLoop("Test loop", () -> {});
+
+		shapes.add(new SceneRect(0, 0, 1, 1, null, Shading.FILLED));
+		assertEquals(Collections.emptyList(), layer.getShapes());
+
+		loop.start(100, () -> {}, layer);
+		Thread.sleep(100);
+		loop.stop();
+
+		assertEquals(shapes, layer.getShapes());
+	}
+
+	private static void sleep(long ms) {
+		try {
+			Thread.sleep(ms);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package lighthouse.model.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.Color;
+
+import org.junit.Test;
+
+public class PackedColorGridTest {
+	@Test
+	public void testColorAdapters() {
+		PackedColorGrid grid = new PackedColorGrid(2, 3);
+		grid.setColorAt(1, 0, Color.RED);
+		grid.setColorAt(2, 1, new Color(0, 0, 255, 100));
+		grid.setColorAt(-1, 5, Color.GREEN); // Ignored
+
+		assertEquals(Color.RED, grid.getColorAt(1, 0));
+		assertEquals(new Color(0, 0, 255, 100), grid.getColorAt(2, 1));
+		assertNull(grid.getColorAt(0, 0));
+		assertNull(grid.getColorAt(-1, 5));
+		assertEquals(Color.BLACK.getRGB(), grid.getRGBAt(0, 0));
+
+		grid.setColorAt(1, 0, new Color(0, 0, 0, 0));
+		assertNull(grid.getColorAt(1, 0));
+	}
+
+	@Test
+	public void testDrawingNullIsIgnored() {
+		PackedColorGrid grid = new PackedColorGrid(2, 2);
+		grid.setColorAt(1, 1, Color.RED);
+		grid.drawColorAt(1, 1, null);
+		grid.drawColorAt(0, 0, null);
+
+		assertEquals(Color.RED, grid.getColorAt(1, 1));
+		assertNull(grid.getColorAt(0, 0));
+	}
+
+	@Test
+	public void testCompositingMatchesOverlay() {
+		ArrayColorGrid expected = new ArrayColorGrid(1, 4);
+		PackedColorGrid actual = new PackedColorGrid(1, 4);
+		Color[] backgrounds = {null, Color.WHITE, new Color(10, 200, 30), Color.ORANGE};
+		Color[] foregrounds = {new Color(255, 0, 0, 128), new Color(0, 0, 0, 1), new Color(90, 80, 70, 254), Color.CYAN};
+
+		for (int x = 0; x < 4; x++) {
+			expected.setColorAt(x, 0, backgrounds[x]);
+			actual.setColorAt(x, 0, backgrounds[x]);
+			expected.drawColorAt(x, 0, foregrounds[x]);
+			actual.drawColorAt(x, 0, foregrounds[x]);
+			assertEquals("at " + x, expected.getColorAt(x, 0), actual.getColorAt(x, 0));
+		}
+	}
+
+	@Test
+	public void testBulkOperations() {
+		PackedColorGrid grid = new PackedColorGrid(3, 4);
+		grid.fill(Color.BLUE);
+		grid.drawRect(2, 1, 5, 5, Color.RED);
+
+		PackedColorGrid sprite = new PackedColorGrid(2, 2);
+		sprite.setColorAt(0, 0, Color.GREEN);
+		sprite.setColorAt(1, 1, new Color(255, 255, 255, 255));
+		grid.blit(sprite, -1, 1);
+
+		int blue = Color.BLUE.getRGB();
+		int red = Color.RED.getRGB();
+		int white = Color.WHITE.getRGB();
+		int[] pixels = new int[12];
+		grid.copyRGB(4, 3, pixels, 0);
+
+		assertEquals(blue, pixels[0]);
+		assertEquals(blue, pixels[4]); // Sprite cell (1, 0) is empty
+		assertEquals(red, pixels[6]);
+		assertEquals(white, pixels[8]);
+		assertEquals(red, pixels[11]);
+
+		grid.clear();
+		assertNull(grid.getColorAt(3, 2));
+	}
+
+	@Test
+	public void testCopyOf() {
+		ArrayColorGrid source = new ArrayColorGrid(2, 2);
+		source.setColorAt(1, 1, Color.MAGENTA);
+		PackedColorGrid copy = PackedColorGrid.copyOf(source, 2, 2);
+
+		assertNull(copy.getColorAt(0, 0));
+		assertEquals(Color.MAGENTA, copy.getColorAt(1, 1));
+		assertEquals(Color.MAGENTA, PackedColorGrid.copyOf(copy, 2, 2).getColorAt(1, 1));
+	}
+}
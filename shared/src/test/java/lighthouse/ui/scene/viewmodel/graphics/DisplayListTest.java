@@ -0,0 +1,74 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import lighthouse.gameapi.SnapshotSceneLayer;
+import lighthouse.util.DoubleRect;
+import lighthouse.util.DoubleVec;
+
+public class DisplayListTest {
+	@Test
+	public void testToShapes() {
+		DisplayList list = new DisplayList(1);
+		list.addRect(1, 2, 3, 4, Color.RED.getRGB(), Shading.FILLED);
+		list.addOval(new DoubleVec(5, 5), 2, Color.BLUE, Shading.OUTLINED);
+
+		assertEquals(Arrays.asList(
+			new SceneRect(1, 2, 3, 4, Color.RED, Shading.FILLED),
+			new SceneOval(new DoubleVec(5, 5), 2, Color.BLUE, Shading.OUTLINED)
+		), list.toShapes());
+	}
+
+	@Test
+	public void testDiffCoversChangedSlots() {
+		DisplayList previous = new DisplayList();
+		previous.addRect(0, 0, 1, 1, Color.RED.getRGB(), Shading.FILLED);
+		previous.addRect(5, 5, 1, 1, Color.RED.getRGB(), Shading.FILLED);
+		DisplayList next = previous.copy();
+
+		assertTrue(next.contentEquals(previous));
+		assertNull(next.diff(previous));
+
+		next.clear();
+		next.addRect(0, 0, 1, 1, Color.RED.getRGB(), Shading.FILLED);
+		next.addRect(6, 5, 1, 1, Color.RED.getRGB(), Shading.FILLED);
+		next.addOval(2, 2, 1, 1, Color.GREEN.getRGB(), Shading.FILLED);
+
+		assertFalse(next.contentEquals(previous));
+		assertEquals(new DoubleRect(1, 1, 6, 5), next.diff(previous));
+	}
+
+	@Test
+	public void testSnapshotsOfRetainedLayers() {
+		DoubleVec[] position = {DoubleVec.ZERO};
+		DisplayList list = new DisplayList();
+		RetainedSceneLayer source = () -> {
+			list.clear();
+			list.addRect(position[0].getX(), position[0].getY(), 1, 1, Color.WHITE.getRGB(), Shading.FILLED);
+			return list;
+		};
+		SnapshotSceneLayer layer = new SnapshotSceneLayer(source);
+		long version = layer.getVersion();
+
+		layer.capture();
+		assertEquals(version, layer.getVersion());
+
+		position[0] = new DoubleVec(2, 0);
+		layer.capture();
+		assertEquals(version + 1, layer.getVersion());
+		assertEquals(new DoubleRect(0, 0, 3, 1), layer.getDirtyRect());
+		assertEquals(Arrays.asList(new SceneRect(2, 0, 1, 1, Color.WHITE, Shading.FILLED)), layer.getShapes());
+
+		// The snapshot is isolated from the retained list
+		list.clear();
+		assertEquals(1, layer.getShapes().size());
+	}
+}
@@ -0,0 +1,69 @@
+package lighthouse.ui.scene.viewmodel.graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import lighthouse.gameapi.SnapshotSceneLayer;
+import lighthouse.util.DoubleRect;
+
+public class SceneChangeTrackerTest {
+	@Test
+	public void testTracksSnapshotChanges() {
+		List<SceneShape> shapes = new ArrayList<>();
+		shapes.add(new SceneRect(0, 0, 1, 1, Color.RED, Shading.FILLED));
+		shapes.add(new SceneRect(5, 5, 2, 1, Color.BLUE, Shading.FILLED));
+		SnapshotSceneLayer layer = new SnapshotSceneLayer(() -> shapes);
+		SceneViewModel scene = new SceneViewModel();
+		scene.setLayers(layer);
+		SceneChangeTracker tracker = new SceneChangeTracker();
+
+		assertTrue(tracker.update(scene).isAll());
+		assertTrue(tracker.update(scene).isEmpty());
+
+		// Equal shapes do not change the layer
+		shapes.set(0, new SceneRect(0, 0, 1, 1, Color.RED, Shading.FILLED));
+		layer.capture();
+		assertTrue(tracker.update(scene).isEmpty());
+
+		// Moving a shape dirties its old and new bounds
+		shapes.set(0, new SceneRect(2, 1, 1, 1, Color.RED, Shading.FILLED));
+		layer.capture();
+		assertEquals(new DoubleRect(0, 0, 3, 2), tracker.update(scene).getRect());
+
+		// Skipping a version dirties everything
+		shapes.remove(1);
+		layer.capture();
+		shapes.clear();
+		layer.capture();
+		assertTrue(tracker.update(scene).isAll());
+	}
+
+	@Test
+	public void testStructuralChangesDirtyEverything() {
+		SceneViewModel scene = new SceneViewModel();
+		SceneChangeTracker tracker = new SceneChangeTracker();
+		SnapshotSceneLayer layer = new SnapshotSceneLayer(ArrayList::new);
+		scene.setLayers(layer);
+		tracker.update(scene);
+
+		scene.addLayer(new SnapshotSceneLayer(ArrayList::new));
+		assertTrue(tracker.update(scene).isAll());
+		assertTrue(tracker.update(scene).isEmpty());
+
+		// Untracked layers are always dirty
+		scene.addLayer(ArrayList::new);
+		tracker.update(scene);
+		assertTrue(tracker.update(scene).isAll());
+
+		scene.setLayers(layer);
+		tracker.update(scene);
+		tracker.invalidate();
+		assertTrue(tracker.update(scene).isAll());
+	}
+}
@@ -0,0 +1,173 @@
+package lighthouse.ui.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.junit.Test;
+
+import lighthouse.ui.scene.viewmodel.graphics.AnimatedImageAnimation;
+import lighthouse.ui.scene.viewmodel.graphics.SceneImage;
+
+public class LazyAnimatedGIFTest {
+	private static final String METADATA_FORMAT = "javax_imageio_gif_image_1.0";
+	private static final int TRANSPARENT = 0;
+	private static final int RED = 1;
+	private static final int BLUE = 2;
+	private static final int GREEN = 3;
+	private static final IndexColorModel PALETTE = new IndexColorModel(2, 4,
+		new byte[] {0, (byte) 255, 0, 0},
+		new byte[] {0, 0, 0, (byte) 255},
+		new byte[] {0, 0, (byte) 255, 0},
+		TRANSPARENT
+	);
+
+	@Test
+	public void testCompositesDisposalMethods() throws IOException {
+		LazyAnimatedGIF gif = new LazyAnimatedGIF(createGIF());
+		assertEquals(4, gif.getFrameCount());
+		int[][] expected = expectedFrames();
+
+		// Random access has to produce the same frames as sequential decoding
+		for (int index : new int[] {3, 1, 0, 2, 3}) {
+			assertEquals("Frame " + index, Arrays.toString(expected[index]), Arrays.toString(pixels(gif.getFrame(index))));
+		}
+	}
+
+	@Test
+	public void testBoundedFrameCache() throws IOException {
+		LazyAnimatedGIF gif = new LazyAnimatedGIF(createGIF(), 2);
+		int[][] expected = expectedFrames();
+
+		for (int loop = 0; loop < 3; loop++) {
+			for (int index = 0; index < gif.getFrameCount(); index++) {
+				assertEquals(Arrays.toString(expected[index]), Arrays.toString(pixels(gif.getFrame(index))));
+				assertTrue(gif.getCachedFrameCount() <= 2);
+			}
+		}
+	}
+
+	@Test
+	public void testTimingFromMetadata() throws IOException {
+		LazyAnimatedGIF gif = new LazyAnimatedGIF(createGIF());
+		// Zero delays fall back to the default delay
+		assertEquals(Arrays.asList(200, 50, 100, 100), Arrays.asList(
+			gif.getFrameDelayMillis(0), gif.getFrameDelayMillis(1), gif.getFrameDelayMillis(2), gif.getFrameDelayMillis(3)
+		));
+
+		AnimatedImageAnimation animation = new AnimatedImageAnimation(gif);
+		animation.setFrameRate(20);
+		assertEquals(9, animation.getTotalFrames());
+
+		int[] expectedImageFrames = {0, 0, 0, 0, 1, 2, 2, 3, 3};
+		for (int frame = 0; frame < expectedImageFrames.length; frame++) {
+			SceneImage shape = (SceneImage) animation.getShape(frame).get(0);
+			assertSame("Frame " + frame, gif.getFrame(expectedImageFrames[frame]), shape.getImage());
+		}
+	}
+
+	@Test
+	public void testTimingFollowsElapsedTime() throws Exception {
+		LazyAnimatedGIF gif = new LazyAnimatedGIF(createGIF());
+		AnimatedImageAnimation animation = new AnimatedImageAnimation(gif);
+		animation.setFrameRate(20);
+		animation.getShape(0);
+
+		// Simulates dropped ticks, the second tick happens after 300 ms instead of 50 ms
+		Thread.sleep(300);
+		// Counting ticks would still show the first frame (until 200 ms)
+		SceneImage shape = (SceneImage) animation.getShape(1).get(0);
+		assertTrue(shape.getImage() == gif.getFrame(2) || shape.getImage() == gif.getFrame(3));
+	}
+
+	/**
+	 * Creates a 4x4 GIF with a red background frame, a blue square that is
+	 * restored to the previous frame, a green pixel that is restored
+	 * to the (transparent) background and a final blue pixel.
+	 */
+	private byte[] createGIF() throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+			writer.setOutput(output);
+			writer.prepareWriteSequence(null);
+			writeFrame(writer, filled(4, 4, RED), 0, 0, "none", 20);
+			writeFrame(writer, filled(2, 2, BLUE), 1, 1, "restoreToPrevious", 5);
+			writeFrame(writer, filled(1, 1, GREEN), 0, 0, "restoreToBackgroundColor", 0);
+			writeFrame(writer, filled(1, 1, BLUE), 3, 3, "none", 0);
+			writer.endWriteSequence();
+		} finally {
+			writer.dispose();
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private int[][] expectedFrames() {
+		int red = PALETTE.getRGB(RED);
+		int blue = PALETTE.getRGB(BLUE);
+		int green = PALETTE.getRGB(GREEN);
+		int[][] frames = new int[4][16];
+
+		Arrays.fill(frames[0], red);
+		frames[1] = frames[0].clone();
+		for (int i : new int[] {5, 6, 9, 10}) {
+			frames[1][i] = blue;
+		}
+		frames[2] = frames[0].clone();
+		frames[2][0] = green;
+		frames[3] = frames[0].clone();
+		frames[3][0] = 0;
+		frames[3][15] = blue;
+		return frames;
+	}
+
+	private void writeFrame(ImageWriter writer, BufferedImage image, int left, int top, String disposal, int delay) throws IOException {
+		IIOMetadata metadata = writer.getDefaultImageMetadata(new ImageTypeSpecifier(image), null);
+		IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(METADATA_FORMAT);
+
+		IIOMetadataNode descriptor = (IIOMetadataNode) root.getElementsByTagName("ImageDescriptor").item(0);
+		descriptor.setAttribute("imageLeftPosition", Integer.toString(left));
+		descriptor.setAttribute("imageTopPosition", Integer.toString(top));
+		// The interlaced encoding of the writer loses rows of tiny images
+		descriptor.setAttribute("interlaceFlag", "FALSE");
+
+		IIOMetadataNode control = (IIOMetadataNode) root.getElementsByTagName("GraphicControlExtension").item(0);
+		control.setAttribute("disposalMethod", disposal);
+		control.setAttribute("delayTime", Integer.toString(delay));
+		control.setAttribute("transparentColorFlag", "TRUE");
+		control.setAttribute("transparentColorIndex", Integer.toString(TRANSPARENT));
+
+		metadata.setFromTree(METADATA_FORMAT, root);
+		writer.writeToSequence(new IIOImage(image, null, metadata), null);
+	}
+
+	private BufferedImage filled(int width, int height, int colorIndex) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY, PALETTE);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				image.getRaster().setSample(x, y, 0, colorIndex);
+			}
+		}
+		return image;
+	}
+
+	private int[] pixels(BufferedImage image) {
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+}
@@ -0,0 +1,95 @@
+package lighthouse.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class WeightedLRUCacheTest {
+	@Test
+	public void testEvictsLeastRecentlyUsedByWeight() {
+		WeightedLRUCache<String, String> cache = new WeightedLRUCache<>(10, String::length);
+		cache.get("a", key -> "aaaa");
+		cache.get("b", key -> "bbbb");
+		cache.get("a", key -> "unused");
+		assertEquals(1, cache.getHits());
+
+		// Evicts b, which has been used least recently
+		cache.get("c", key -> "cc");
+		cache.get("d", key -> "dd");
+		assertEquals(1, cache.getEvictions());
+		assertEquals(8, cache.getWeight());
+		assertNull(cache.getIfPresent("b"));
+		assertEquals("aaaa", cache.getIfPresent("a"));
+
+		// Values that exceed the budget and failed loads are not cached
+		cache.get("e", key -> "eeeeeeeeeeee");
+		cache.get("f", key -> null);
+		assertEquals(3, cache.getSize());
+		assertEquals(6, cache.getMisses());
+	}
+
+	@Test
+	public void testRevivesSoftlyRetainedValues() {
+		WeightedLRUCache<String, String> cache = new WeightedLRUCache<>(4, String::length, true);
+		cache.get("a", key -> "aaaa");
+		cache.get("b", key -> "bbbb");
+		assertEquals(1, cache.getEvictions());
+
+		// Nothing allocates enough to clear the soft reference
+		assertEquals("aaaa", cache.get("a", key -> "reloaded"));
+		assertEquals(1, cache.getHits());
+		assertEquals(4, cache.getWeight());
+	}
+
+	@Test
+	public void testConcurrentRequestsShareOneLoad() throws Exception {
+		WeightedLRUCache<String, Object> cache = new WeightedLRUCache<>(10, value -> 1);
+		int threads = 4;
+		CountDownLatch requested = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(() -> cache.get("key", key -> {
+					loads.incrementAndGet();
+					requested.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return new Object();
+				})));
+			}
+
+			requested.await();
+			// Waits until the other requests are blocked on the running load
+			while (cache.getSharedLoads() + cache.getHits() < threads - 1) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+
+			Object value = results.get(0).get(5, TimeUnit.SECONDS);
+			for (Future<Object> result : results) {
+				assertEquals(value, result.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, loads.get());
+			assertEquals(1, cache.getMisses());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -1,10 +1,10 @@
 package lighthouse.snake;
 
-import javax.swing.Timer;
-
 import lighthouse.gameapi.Game;
 import lighthouse.gameapi.GameInitializationContext;
+import lighthouse.gameapi.GameLoop;
 import lighthouse.gameapi.SceneInteractionFacade;
+import lighthouse.gameapi.SnapshotSceneLayer;
 import lighthouse.model.GameState;
 import lighthouse.snake.model.SnakeGameState;
 import lighthouse.snake.ui.SnakeController;
@@ -21,20 +21,12 @@ import lighthouse.util.transform.Scaling;
 public class SnakeGame implements Game {
 	// private static final Logger LOG = LoggerFactory.getLogger(SnakeGame.class);
 	private final SnakeGameState gameState = new SnakeGameState();
-	private final SnakeSceneLayer sceneLayer = new SnakeSceneLayer(gameState);
-	private final SnakeControlsViewController controls = new SnakeControlsViewController(gameState);
+	private final SnapshotSceneLayer sceneLayer = new SnapshotSceneLayer(new SnakeSceneLayer(gameState));
+	private SnakeControlsViewController controls = null;
 	private final DoubleVecBijection gridPosToPixels = new Scaling(15, 15);
-	private final Timer timer;
 	private final int maxTPS = 4;
 	private SceneInteractionFacade sceneFacade;
-	
-	public SnakeGame() {
-		timer = new Timer(1000 / maxTPS, e -> {
-			gameState.advance();
-			sceneFacade.update();
-		});
-		timer.setRepeats(true);
-	}
+	private GameLoop gameLoop;
 	
 	@Override
 	public String getName() { return "Snake"; }
@@ -42,17 +34,18 @@ public class SnakeGame implements Game {
 	@Override
 	public void initialize(GameInitializationContext context) {
 		sceneFacade = context.getInteractionFacade();
+		gameLoop = context.getGameLoop();
 	}
 	
 	@Override
 	public void onOpen() {
-		sceneFacade.setResponder(new SnakeController(gameState, sceneFacade));
-		timer.start();
+		sceneFacade.setResponder(gameLoop.synchronize(new SnakeController(gameState, sceneFacade)));
+		gameLoop.start(maxTPS, gameState::advance, sceneLayer);
 	}
 	
 	@Override
 	public void onClose() {
-		timer.stop();
+		gameLoop.stop();
 	}
 	
 	@Override
@@ -65,7 +58,13 @@ public class SnakeGame implements Game {
 	public SceneLayer getGameLayer() { return sceneLayer; }
 
 	@Override
-	public SwingViewController getControlsViewController() { return controls; }
+	public SwingViewController getControlsViewController() {
+		// Created lazily, since the controls are not needed when running headlessly
+		if (controls == null) {
+			controls = new SnakeControlsViewController(gameState, gameLoop);
+		}
+		return controls;
+	}
 	
 	@Override
 	public DoubleVecBijection getGridPosToPixels() { return gridPosToPixels; }
@@ -3,6 +3,7 @@ package lighthouse.snake.ui;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
 
+import lighthouse.gameapi.GameLoop;
 import lighthouse.snake.model.SnakeGameState;
 import lighthouse.ui.SwingViewController;
 import lighthouse.ui.util.LayoutUtils;
@@ -10,8 +11,8 @@ import lighthouse.ui.util.LayoutUtils;
 public class SnakeControlsViewController implements SwingViewController {
     private final JPanel component = new JPanel();
 
-    public SnakeControlsViewController(SnakeGameState gameState) {
-        component.add(LayoutUtils.buttonOf("New Game", gameState::reset));
+    public SnakeControlsViewController(SnakeGameState gameState, GameLoop gameLoop) {
+        component.add(LayoutUtils.buttonOf("New Game", () -> gameLoop.runLocked(gameState::reset)));
     }
 
     @Override
@@ -1,22 +1,19 @@
 package lighthouse.snake.ui;
 
 import java.awt.Color;
-import java.util.ArrayList;
-import java.util.List;
 
 import lighthouse.snake.model.SnakeGameState;
-import lighthouse.ui.scene.viewmodel.graphics.SceneLayer;
-import lighthouse.ui.scene.viewmodel.graphics.SceneRect;
-import lighthouse.ui.scene.viewmodel.graphics.SceneShape;
+import lighthouse.ui.scene.viewmodel.graphics.DisplayList;
+import lighthouse.ui.scene.viewmodel.graphics.RetainedSceneLayer;
 import lighthouse.ui.scene.viewmodel.graphics.Shading;
-import lighthouse.util.DoubleVec;
 import lighthouse.util.IntVec;
 
-public class SnakeSceneLayer implements SceneLayer {
+public class SnakeSceneLayer implements RetainedSceneLayer {
     private static final Color LOSE_COLOR = new Color(0x700013); // dark red
 	private final SnakeGameState gameState;
 	private final Color snakeColor = Color.GREEN;
 	private final Color foodColor = Color.RED;
+	private final DisplayList displayList = new DisplayList();
 	
 	public SnakeSceneLayer(SnakeGameState gameState) {
 		this.gameState = gameState;
@@ -33,17 +30,17 @@ public class SnakeSceneLayer implements SceneLayer {
 	}
 	
 	@Override
-	public List<SceneShape> getShapes() {
-		List<SceneShape> shapes = new ArrayList<>();
-	
+	public DisplayList updateDisplayList() {
+		displayList.clear();
+		
 		for (IntVec snakePos : gameState.getSnake().getBody()) {
-			shapes.add(new SceneRect(snakePos.toDouble(), DoubleVec.ONE_ONE, snakeColor, Shading.FILLED));
+			displayList.addRect(snakePos.getX(), snakePos.getY(), 1, 1, snakeColor.getRGB(), Shading.FILLED);
 		}
 		
 		for (IntVec foodPos : gameState.getFoods()) {
-			shapes.add(new SceneRect(foodPos.toDouble(), DoubleVec.ONE_ONE, foodColor, Shading.FILLED));
+			displayList.addRect(foodPos.getX(), foodPos.getY(), 1, 1, foodColor.getRGB(), Shading.FILLED);
 		}
 		
-		return shapes;
+		return displayList;
 	}
 }
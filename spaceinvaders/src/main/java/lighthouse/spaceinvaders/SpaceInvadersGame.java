@@ -2,11 +2,11 @@ package lighthouse.spaceinvaders;
 
 import java.util.Collection;
 
-import javax.swing.Timer;
-
 import lighthouse.gameapi.Game;
 import lighthouse.gameapi.GameInitializationContext;
+import lighthouse.gameapi.GameLoop;
 import lighthouse.gameapi.SceneInteractionFacade;
+import lighthouse.gameapi.SnapshotSceneLayer;
 import lighthouse.model.GameState;
 import lighthouse.spaceinvaders.model.SpaceInvadersGameState;
 import lighthouse.spaceinvaders.ui.SpaceInvadersController;
@@ -15,49 +15,55 @@ import lighthouse.spaceinvaders.ui.SpaceInvadersSceneLayer;
 import lighthouse.ui.SwingViewController;
 import lighthouse.ui.scene.viewmodel.graphics.AnimatedResourceGIFAnimation;
 import lighthouse.ui.scene.viewmodel.graphics.SceneLayer;
+import lighthouse.ui.util.AnimatedImage;
+import lighthouse.ui.util.ResourceImageLoader;
 import lighthouse.util.DoubleVec;
 import lighthouse.util.transform.DoubleVecBijection;
 import lighthouse.util.transform.Scaling;
 
 public class SpaceInvadersGame implements Game {
+    private static final String EXPLOSION_GIF = "/gifs/explosion.gif";
     private final SpaceInvadersGameState gameState = new SpaceInvadersGameState();
-    private final SpaceInvadersSceneLayer sceneLayer = new SpaceInvadersSceneLayer(gameState);
-    private final SpaceInvadersControlsViewController controls = new SpaceInvadersControlsViewController(gameState);
+    private final SnapshotSceneLayer sceneLayer = new SnapshotSceneLayer(new SpaceInvadersSceneLayer(gameState));
+    private SpaceInvadersControlsViewController controls = null;
+    private volatile boolean particlesEnabled = true;
     private final DoubleVecBijection gridPosToPixels = new Scaling(15, 15);
-    private final Timer timer;
     private final int maxTPS = 60;
     
     private SceneInteractionFacade sceneFacade;
+    private GameLoop gameLoop;
     
-    public SpaceInvadersGame() {
-        timer = new Timer(1000 / maxTPS, e -> {
-            Collection<DoubleVec> collisionPoints = gameState.advance();
-            sceneFacade.update();
-            
-            if (controls.areParticlesEnabled()) {
-                for (DoubleVec collisionPoint : collisionPoints) {
-                    DoubleVec size = new DoubleVec(10, 5);
-                    sceneFacade.play(new AnimatedResourceGIFAnimation("/gifs/explosion.gif", collisionPoint.sub(size.scale(0.5)), size));
-                }
+    private void tick() {
+        Collection<DoubleVec> collisionPoints = gameState.advance();
+        
+        if (particlesEnabled) {
+            for (DoubleVec collisionPoint : collisionPoints) {
+                DoubleVec size = new DoubleVec(10, 5);
+                sceneFacade.play(new AnimatedResourceGIFAnimation(EXPLOSION_GIF, collisionPoint.sub(size.scale(0.5)), size));
             }
-        });
-        timer.setRepeats(true);
+        }
     }
     
     @Override
     public void initialize(GameInitializationContext context) {
         sceneFacade = context.getInteractionFacade();
+        gameLoop = context.getGameLoop();
     }
     
     @Override
     public void onOpen() {
-        timer.start();
-        sceneFacade.setResponder(new SpaceInvadersController(gameState));
+        // Decodes the explosion in the background, thus the first collision does not stall
+        AnimatedImage explosion = ResourceImageLoader.getInstance().getAsAnimatedGIF(EXPLOSION_GIF);
+        if (explosion != null) {
+            explosion.prewarm();
+        }
+        gameLoop.start(maxTPS, this::tick, sceneLayer);
+        sceneFacade.setResponder(gameLoop.synchronize(new SpaceInvadersController(gameState)));
     }
     
     @Override
     public void onClose() {
-        timer.stop();
+        gameLoop.stop();
     }
 
     @Override
@@ -76,5 +82,11 @@ public class SpaceInvadersGame implements Game {
     public DoubleVecBijection getLighthouseToGridPos() { return DoubleVecBijection.IDENTITY; }
     
     @Override
-    public SwingViewController getControlsViewController() { return controls; }
+    public SwingViewController getControlsViewController() {
+        // Created lazily, since the controls are not needed when running headlessly
+        if (controls == null) {
+            controls = new SpaceInvadersControlsViewController(gameState, gameLoop, () -> particlesEnabled = !particlesEnabled);
+        }
+        return controls;
+    }
 }
@@ -3,20 +3,18 @@ package lighthouse.spaceinvaders.ui;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
 
+import lighthouse.gameapi.GameLoop;
 import lighthouse.spaceinvaders.model.SpaceInvadersGameState;
 import lighthouse.ui.SwingViewController;
 import lighthouse.ui.util.LayoutUtils;
 
 public class SpaceInvadersControlsViewController implements SwingViewController {
     private final JPanel component = new JPanel();
-    private boolean particlesEnabled = true;
     
-    public SpaceInvadersControlsViewController(SpaceInvadersGameState gameState) {
-        component.add(LayoutUtils.buttonOf("New Game", () -> gameState.reset()));
-        component.add(LayoutUtils.buttonOf("Toggle Particles", () -> particlesEnabled = !particlesEnabled));
+    public SpaceInvadersControlsViewController(SpaceInvadersGameState gameState, GameLoop gameLoop, Runnable toggleParticles) {
+        component.add(LayoutUtils.buttonOf("New Game", () -> gameLoop.runLocked(gameState::reset)));
+        component.add(LayoutUtils.buttonOf("Toggle Particles", () -> gameLoop.runLocked(toggleParticles)));
     }
-    
-    public boolean areParticlesEnabled() { return particlesEnabled; }
 
     @Override
     public JComponent getComponent() { return component; }
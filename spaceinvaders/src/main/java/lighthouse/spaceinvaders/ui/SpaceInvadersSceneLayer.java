@@ -1,24 +1,24 @@
 package lighthouse.spaceinvaders.ui;
 
 import java.awt.Color;
-import java.util.ArrayList;
-import java.util.List;
 
 import lighthouse.spaceinvaders.model.Alien;
 import lighthouse.spaceinvaders.model.Cannon;
 import lighthouse.spaceinvaders.model.Projectile;
 import lighthouse.spaceinvaders.model.Shield;
 import lighthouse.spaceinvaders.model.SpaceInvadersGameState;
-import lighthouse.ui.scene.viewmodel.graphics.SceneLayer;
-import lighthouse.ui.scene.viewmodel.graphics.SceneRect;
-import lighthouse.ui.scene.viewmodel.graphics.SceneShape;
+import lighthouse.ui.scene.viewmodel.graphics.DisplayList;
+import lighthouse.ui.scene.viewmodel.graphics.RetainedSceneLayer;
 import lighthouse.ui.scene.viewmodel.graphics.Shading;
 import lighthouse.util.ColorUtils;
+import lighthouse.util.DoubleRect;
+import lighthouse.util.DoubleVec;
 
-public class SpaceInvadersSceneLayer implements SceneLayer {
+public class SpaceInvadersSceneLayer implements RetainedSceneLayer {
     private static final Color WIN_COLOR = new Color(0x0f8200); // dark green
     private static final Color LOSE_COLOR = new Color(0x700013); // dark red
     private final SpaceInvadersGameState gameState;
+    private final DisplayList displayList = new DisplayList();
     
     public SpaceInvadersSceneLayer(SpaceInvadersGameState gameState) {
         this.gameState = gameState;
@@ -31,25 +31,29 @@ public class SpaceInvadersSceneLayer implements SceneLayer {
     public Color getBackground() { return gameState.isGameWon() ? WIN_COLOR : LOSE_COLOR; }
 
     @Override
-    public List<SceneShape> getShapes() {
-        List<SceneShape> shapes = new ArrayList<>();
+    public DisplayList updateDisplayList() {
+        displayList.clear();
         
         for (Alien alien : gameState.getSwarm()) {
-            shapes.add(new SceneRect(alien.getBoundingBox(), Color.GREEN, Shading.FILLED));
+            addRect(alien.getBoundingBox(), Color.GREEN.getRGB());
         }
         
         for (Shield shield : gameState.getShields()) {
-            Color baseColor = Color.GREEN;
-            Color color = ColorUtils.withAlphaPercent(shield.getHp().getPercent(), baseColor);
-            shapes.add(new SceneRect(shield.getBoundingBox(), color, Shading.FILLED));
+            addRect(shield.getBoundingBox(), ColorUtils.withAlphaPercentRGB(shield.getHp().getPercent(), Color.GREEN));
         }
         
         for (Projectile projectile : gameState.getFlyingProjectiles()) {
-            shapes.add(new SceneRect(projectile.getBoundingBox(), Color.WHITE, Shading.FILLED));
+            addRect(projectile.getBoundingBox(), Color.WHITE.getRGB());
         }
         
         Cannon cannon = gameState.getCannon();
-        shapes.add(new SceneRect(cannon.getBoundingBox(), ColorUtils.withAlphaPercent(cannon.getHp().getPercent(), Color.WHITE), Shading.FILLED));
-        return shapes;
+        addRect(cannon.getBoundingBox(), ColorUtils.withAlphaPercentRGB(cannon.getHp().getPercent(), Color.WHITE));
+        return displayList;
+    }
+    
+    private void addRect(DoubleRect rect, int argb) {
+        DoubleVec topLeft = rect.getTopLeft();
+        DoubleVec size = rect.getSize();
+        displayList.addRect(topLeft.getX(), topLeft.getY(), size.getX(), size.getY(), argb, Shading.FILLED);
     }
 }